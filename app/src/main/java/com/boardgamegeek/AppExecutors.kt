@@ -7,10 +7,12 @@ import java.util.concurrent.Executor
 import java.util.concurrent.Executors
 
 private const val NETWORK_THREAD_COUNT = 3
+private const val DISK_READ_THREAD_COUNT = 3
 
-class AppExecutors internal constructor(val diskIO: Executor, val networkIO: Executor, val mainThread: Executor) {
+class AppExecutors internal constructor(val diskIO: Executor, val diskRead: Executor, val networkIO: Executor, val mainThread: Executor) {
 
     constructor() : this(Executors.newSingleThreadExecutor(),
+            Executors.newFixedThreadPool(DISK_READ_THREAD_COUNT),
             Executors.newFixedThreadPool(NETWORK_THREAD_COUNT),
             MainThreadExecutor())
 
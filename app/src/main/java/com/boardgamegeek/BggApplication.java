@@ -5,16 +5,24 @@ import android.os.Build.VERSION_CODES;
 import android.os.StrictMode;
 import android.os.StrictMode.ThreadPolicy.Builder;
 import android.os.StrictMode.VmPolicy;
+import android.os.SystemClock;
 import android.text.TextUtils;
 
+import com.boardgamegeek.StartupOrchestrator.Mode;
 import com.boardgamegeek.auth.AccountUtils;
 import com.boardgamegeek.events.BggEventBusIndex;
+import com.boardgamegeek.livedata.QueryEngine;
 import com.boardgamegeek.pref.SyncPrefs;
+import com.boardgamegeek.repository.CommentsRepository;
+import com.boardgamegeek.repository.ImageRepository;
 import com.boardgamegeek.util.CrashReportingTree;
-import com.boardgamegeek.util.HttpUtils;
+import com.boardgamegeek.util.LazyOkHttpDownloader;
 import com.boardgamegeek.util.NotificationUtils;
+import com.boardgamegeek.util.PaletteCache;
 import com.boardgamegeek.util.PreferencesUtils;
 import com.boardgamegeek.util.RemoteConfig;
+import com.boardgamegeek.util.ThumbnailStore;
+import com.boardgamegeek.util.Tracer;
 import com.crashlytics.android.Crashlytics;
 import com.crashlytics.android.answers.Answers;
 import com.crashlytics.android.core.CrashlyticsCore;
@@ -22,7 +30,6 @@ import com.facebook.stetho.Stetho;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.firebase.iid.FirebaseInstanceId;
 import com.google.firebase.iid.InstanceIdResult;
-import com.jakewharton.picasso.OkHttp3Downloader;
 import com.squareup.leakcanary.LeakCanary;
 import com.squareup.picasso.Picasso;
 
@@ -38,56 +45,145 @@ import timber.log.Timber;
 import static timber.log.Timber.DebugTree;
 
 public class BggApplication extends MultiDexApplication {
+	private static final String STARTUP_FABRIC = "fabric";
+	private static final String STARTUP_LOGGING = "logging";
+	private static final String STARTUP_LEAK_CANARY = "leakCanary";
+	private static final String STARTUP_REMOTE_CONFIG = "remoteConfig";
+	private static final String STARTUP_EVENT_BUS = "eventBus";
+	private static final String STARTUP_PICASSO = "picasso";
+	private static final String STARTUP_NOTIFICATION_CHANNELS = "notificationChannels";
+	private static final String STARTUP_MIGRATE_SETTINGS = "migrateSettings";
+	private static final String STARTUP_STETHO = "stetho";
+	private static final String STARTUP_FIREBASE_TOKEN = "firebaseToken";
+	private static final String STARTUP_FIRST_IDLE = "firstIdle";
+
 	private AppExecutors appExecutors;
+	private QueryEngine queryEngine;
+	private ImageRepository imageRepository;
+	private CommentsRepository commentsRepository;
+	private ThumbnailStore thumbnailStore;
+	private PaletteCache paletteCache;
+	private StartupOrchestrator startupOrchestrator;
+	private long startTime;
 
 	@Override
 	@DebugLog
 	public void onCreate() {
+		startTime = SystemClock.elapsedRealtime();
 		super.onCreate();
 		appExecutors = new AppExecutors();
-		initializeFabric();
-		if (BuildConfig.DEBUG) {
-			Timber.plant(new DebugTree());
-			enableStrictMode();
-			Stetho.initialize(
-				Stetho.newInitializerBuilder(this)
-					.enableDumpapp(Stetho.defaultDumperPluginsProvider(this))
-					.enableWebKitInspector(Stetho.defaultInspectorModulesProvider(this))
+		queryEngine = new QueryEngine(this);
+		imageRepository = new ImageRepository(this);
+		commentsRepository = new CommentsRepository(this);
+		thumbnailStore = new ThumbnailStore(this);
+		paletteCache = new PaletteCache(this);
+		startupOrchestrator = new StartupOrchestrator(appExecutors.getDiskRead());
+		addStartupTasks(startupOrchestrator);
+		startupOrchestrator.start();
+	}
+
+	/**
+	 * Most tasks run on the main thread before the first activity is created, since the activity, a notification, or a
+	 * sync may need them immediately; Picasso's downloader defers building its HTTP client until the first image is
+	 * requested. Stetho, which only debug builds use, initializes in the background. Looking up the Firebase token and
+	 * timing the first idle wait until the first frame is drawn.
+	 */
+	protected void addStartupTasks(StartupOrchestrator orchestrator) {
+		orchestrator.add(STARTUP_FABRIC, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				initializeFabric();
+			}
+		});
+		orchestrator.add(STARTUP_LOGGING, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				if (BuildConfig.DEBUG) {
+					Timber.plant(new DebugTree());
+					enableStrictMode();
+				} else {
+					String username = AccountUtils.getUsername(BggApplication.this);
+					if (!TextUtils.isEmpty(username)) {
+						Crashlytics.setUserIdentifier(String.valueOf(username.hashCode()));
+					}
+					Crashlytics.setString("BUILD_TIME", BuildConfig.BUILD_TIME);
+					Crashlytics.setString("GIT_SHA", BuildConfig.GIT_SHA);
+					Timber.plant(new CrashReportingTree());
+				}
+			}
+		}, STARTUP_FABRIC);
+		orchestrator.add(STARTUP_LEAK_CANARY, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				LeakCanary.install(BggApplication.this);
+			}
+		});
+		orchestrator.add(STARTUP_REMOTE_CONFIG, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				RemoteConfig.init();
+			}
+		}, STARTUP_LOGGING);
+		orchestrator.add(STARTUP_EVENT_BUS, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				EventBus.builder()
+					.logNoSubscriberMessages(BuildConfig.DEBUG)
+					.throwSubscriberException(BuildConfig.DEBUG)
+					.addIndex(new BggEventBusIndex())
+					.installDefaultEventBus();
+			}
+		});
+		orchestrator.add(STARTUP_PICASSO, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				Picasso.setSingletonInstance(new Picasso.Builder(BggApplication.this)
+					.downloader(new LazyOkHttpDownloader(BggApplication.this))
 					.build());
-		} else {
-			String username = AccountUtils.getUsername(this);
-			if (!TextUtils.isEmpty(username)) {
-				Crashlytics.setUserIdentifier(String.valueOf(username.hashCode()));
 			}
-			Crashlytics.setString("BUILD_TIME", BuildConfig.BUILD_TIME);
-			Crashlytics.setString("GIT_SHA", BuildConfig.GIT_SHA);
-			Timber.plant(new CrashReportingTree());
-		}
-		LeakCanary.install(this);
-
-		RemoteConfig.init();
-
-		EventBus.builder()
-			.logNoSubscriberMessages(BuildConfig.DEBUG)
-			.throwSubscriberException(BuildConfig.DEBUG)
-			.addIndex(new BggEventBusIndex())
-			.installDefaultEventBus();
-
-		Picasso.setSingletonInstance(new Picasso.Builder(this)
-			.downloader(new OkHttp3Downloader(HttpUtils.getHttpClientWithCache(this)))
-			.build());
-
-		if (VERSION.SDK_INT >= VERSION_CODES.O)
-			NotificationUtils.createNotificationChannels(getApplicationContext());
-
-		migrateCollectionStatusSettings();
-		SyncPrefs.migrate(this);
-
-		FirebaseInstanceId.getInstance().getInstanceId().addOnSuccessListener(new OnSuccessListener<InstanceIdResult>() {
+		});
+		orchestrator.add(STARTUP_NOTIFICATION_CHANNELS, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				if (VERSION.SDK_INT >= VERSION_CODES.O)
+					NotificationUtils.createNotificationChannels(getApplicationContext());
+			}
+		}, STARTUP_LOGGING);
+		orchestrator.add(STARTUP_MIGRATE_SETTINGS, Mode.MAIN, new Runnable() {
+			@Override
+			public void run() {
+				migrateCollectionStatusSettings();
+				SyncPrefs.migrate(BggApplication.this);
+			}
+		}, STARTUP_LOGGING);
+		orchestrator.add(STARTUP_STETHO, Mode.BACKGROUND, new Runnable() {
+			@Override
+			public void run() {
+				if (BuildConfig.DEBUG) {
+					Stetho.initialize(
+						Stetho.newInitializerBuilder(BggApplication.this)
+							.enableDumpapp(Stetho.defaultDumperPluginsProvider(BggApplication.this))
+							.enableWebKitInspector(Stetho.defaultInspectorModulesProvider(BggApplication.this))
+							.build());
+				}
+			}
+		}, STARTUP_LOGGING);
+		orchestrator.add(STARTUP_FIREBASE_TOKEN, Mode.IDLE, new Runnable() {
 			@Override
-			public void onSuccess(InstanceIdResult instanceIdResult) {
-				String deviceToken = instanceIdResult.getToken();
-				Timber.i("Firebase token is %s", deviceToken);
+			public void run() {
+				FirebaseInstanceId.getInstance().getInstanceId().addOnSuccessListener(new OnSuccessListener<InstanceIdResult>() {
+					@Override
+					public void onSuccess(InstanceIdResult instanceIdResult) {
+						String deviceToken = instanceIdResult.getToken();
+						Timber.i("Firebase token is %s", deviceToken);
+					}
+				});
+			}
+		}, STARTUP_LOGGING);
+		orchestrator.add(STARTUP_FIRST_IDLE, Mode.IDLE, new Runnable() {
+			@Override
+			public void run() {
+				Tracer.record("startup:toFirstIdle", SystemClock.elapsedRealtime() - startTime);
 			}
 		});
 	}
@@ -130,4 +226,28 @@ public class BggApplication extends MultiDexApplication {
 	public AppExecutors getAppExecutors() {
 		return appExecutors;
 	}
+
+	public QueryEngine getQueryEngine() {
+		return queryEngine;
+	}
+
+	public ImageRepository getImageRepository() {
+		return imageRepository;
+	}
+
+	public CommentsRepository getCommentsRepository() {
+		return commentsRepository;
+	}
+
+	public ThumbnailStore getThumbnailStore() {
+		return thumbnailStore;
+	}
+
+	public PaletteCache getPaletteCache() {
+		return paletteCache;
+	}
+
+	public StartupOrchestrator getStartupOrchestrator() {
+		return startupOrchestrator;
+	}
 }
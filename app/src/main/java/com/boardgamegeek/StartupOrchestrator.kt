@@ -0,0 +1,115 @@
+package com.boardgamegeek
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import com.boardgamegeek.util.Tracer
+import timber.log.Timber
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Runs the application's startup work as named tasks, each after the tasks it depends on.
+ *
+ * - [Mode.MAIN] tasks run on the main thread during [start], before the first activity is created. Keep these to the
+ * work an activity needs immediately; they may only depend on other main tasks.
+ * - [Mode.BACKGROUND] tasks run on the executor as soon as their dependencies finish, in parallel with each other.
+ * - [Mode.IDLE] tasks run on the main thread once it is first idle, which is after the first frame is drawn.
+ *
+ * The duration of each task is recorded, see [getTimings], and traced as "startup:" followed by its name.
+ */
+class StartupOrchestrator(private val executor: Executor) {
+    enum class Mode { MAIN, BACKGROUND, IDLE }
+
+    data class Timing(val name: String, val mode: Mode, val startMillis: Long, val durationMillis: Long)
+
+    private class Task(val name: String, val mode: Mode, val dependencies: List<String>, val runnable: Runnable) {
+        val dependents = mutableListOf<Task>()
+        val remainingDependencies = AtomicInteger(dependencies.size)
+    }
+
+    private val tasks = linkedMapOf<String, Task>()
+    private val timings = mutableListOf<Timing>()
+    private val handler = Handler(Looper.getMainLooper())
+    private var startTime = 0L
+
+    fun add(name: String, mode: Mode, runnable: Runnable, vararg dependencies: String): StartupOrchestrator {
+        if (tasks.containsKey(name)) throw IllegalArgumentException("Startup task $name was already added")
+        tasks[name] = Task(name, mode, dependencies.toList(), runnable)
+        return this
+    }
+
+    /**
+     * Run the main tasks and schedule the rest. Must be called on the main thread.
+     */
+    fun start() {
+        startTime = SystemClock.elapsedRealtime()
+        for (task in tasks.values) {
+            for (dependency in task.dependencies) {
+                val dependencyTask = tasks[dependency]
+                        ?: throw IllegalStateException("Startup task ${task.name} depends on unknown task $dependency")
+                if (task.mode == Mode.MAIN && dependencyTask.mode != Mode.MAIN)
+                    throw IllegalStateException("Main startup task ${task.name} can't depend on ${dependencyTask.mode} task $dependency")
+                dependencyTask.dependents += task
+            }
+        }
+        checkForCycles()
+        tasks.values.filter { it.dependencies.isEmpty() }.forEach { dispatch(it) }
+    }
+
+    /**
+     * Returns the timings of the tasks that have finished, in the order they started.
+     */
+    fun getTimings(): List<Timing> {
+        synchronized(timings) {
+            return timings.sortedBy { it.startMillis }
+        }
+    }
+
+    private fun dispatch(task: Task) {
+        when (task.mode) {
+            Mode.MAIN -> execute(task)
+            Mode.BACKGROUND -> executor.execute { execute(task) }
+            Mode.IDLE -> handler.post {
+                Looper.myQueue().addIdleHandler {
+                    execute(task)
+                    false
+                }
+            }
+        }
+    }
+
+    private fun execute(task: Task) {
+        val sectionName = "startup:${task.name}"
+        val start = Tracer.beginSection(sectionName)
+        try {
+            task.runnable.run()
+        } catch (e: Exception) {
+            if (task.mode == Mode.MAIN) throw e
+            Timber.e(e, "Startup task %s failed", task.name)
+        } finally {
+            Tracer.endSection(sectionName, start)
+        }
+        val duration = SystemClock.elapsedRealtime() - start
+        Timber.i("Startup task %s took %,d ms on %s", task.name, duration, Thread.currentThread().name)
+        synchronized(timings) {
+            timings += Timing(task.name, task.mode, start - startTime, duration)
+        }
+        task.dependents
+                .filter { it.remainingDependencies.decrementAndGet() == 0 }
+                .forEach { dispatch(it) }
+    }
+
+    private fun checkForCycles() {
+        val visited = mutableSetOf<String>()
+        val visiting = mutableSetOf<String>()
+        fun visit(task: Task) {
+            if (task.name in visited) return
+            if (!visiting.add(task.name)) throw IllegalStateException("Startup task ${task.name} depends on itself")
+            task.dependents.forEach { visit(it) }
+            visiting -= task.name
+            visited += task.name
+        }
+        tasks.values.forEach { visit(it) }
+    }
+}
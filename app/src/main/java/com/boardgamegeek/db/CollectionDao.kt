@@ -1,5 +1,6 @@
 package com.boardgamegeek.db
 
+import android.content.ContentProviderOperation
 import android.content.ContentResolver
 import android.content.ContentValues
 import android.database.Cursor
@@ -158,7 +159,7 @@ class CollectionDao(private val context: BggApplication) {
                 Collection.PRIVATE_INFO_INVENTORY_LOCATION,
                 Collection.PRIVATE_INFO_COMMENT
         )
-        return RegisteredLiveData(context, uri, true) {
+        return RegisteredLiveData(context, uri, true, queryKey = "collection:game:$gameId:$includeDeletedItems") {
             val list = arrayListOf<CollectionItemEntity>()
             resolver.load(
                     uri,
@@ -256,17 +257,136 @@ class CollectionDao(private val context: BggApplication) {
 
     @DebugLog
     fun saveItem(item: CollectionItemEntity, game: CollectionItemGameEntity, timestamp: Long, includeStats: Boolean = true, includePrivateInfo: Boolean = true, isBrief: Boolean = false): Int {
+        val unchangedItems = UnchangedItems()
+        val collectionId = save(item, game, timestamp, includeStats, includePrivateInfo, isBrief, unchangedItems)
+        updateSyncTimestamps(unchangedItems, timestamp)
+        return collectionId
+    }
+
+    /**
+     * Save a page of synced items. The items that haven't changed since the last sync only get new sync timestamps,
+     * touched together after the rest are saved. Returns the collection ID of each item, in order.
+     */
+    @DebugLog
+    fun saveItems(items: List<Pair<CollectionItemEntity, CollectionItemGameEntity>>, timestamp: Long): List<Int> {
+        val unchangedItems = UnchangedItems()
+        val collectionIds = items.map { save(it.first, it.second, timestamp, unchangedItems = unchangedItems) }
+        updateSyncTimestamps(unchangedItems, timestamp)
+        return collectionIds
+    }
+
+    /**
+     * Save the item, unless it hasn't changed since the last sync; then it's added to [unchangedItems] instead.
+     */
+    private fun save(item: CollectionItemEntity, game: CollectionItemGameEntity, timestamp: Long, includeStats: Boolean = true, includePrivateInfo: Boolean = true, isBrief: Boolean = false, unchangedItems: UnchangedItems): Int {
         val candidate = SyncCandidate.find(resolver, item.collectionId, item.gameId)
         if (candidate.dirtyTimestamp != NOT_DIRTY) {
             Timber.i("Local copy of the collection item is dirty, skipping sync.")
         } else {
-            upsertGame(item.gameId, toGameValues(game, includeStats, isBrief, timestamp), isBrief)
-            upsertItem(candidate, toCollectionValues(item, includeStats, includePrivateInfo, isBrief, timestamp), isBrief)
-            Timber.i("Saved collection item '%s' [ID=%s, collection ID=%s]", item.gameName, item.gameId, item.collectionId)
+            val isComplete = !isBrief && includeStats && includePrivateInfo
+            val syncHashCode = if (isComplete && !candidate.isPartiallyDirty()) generateSyncHashCode(item, game) else 0
+            if (syncHashCode != 0 && candidate.internalId != BggContract.INVALID_ID.toLong() && candidate.syncHashCode == syncHashCode) {
+                unchangedItems.internalIds.add(candidate.internalId)
+                unchangedItems.gameIds.add(item.gameId)
+                Timber.i("Unchanged collection item '%s' [ID=%s, collection ID=%s]", item.gameName, item.gameId, item.collectionId)
+            } else {
+                upsertGame(item.gameId, toGameValues(game, includeStats, isBrief, timestamp), isBrief)
+                val values = toCollectionValues(item, includeStats, includePrivateInfo, isBrief, timestamp)
+                values.put(Collection.SYNC_HASH_CODE, syncHashCode)
+                upsertItem(candidate, values, isBrief)
+                Timber.i("Saved collection item '%s' [ID=%s, collection ID=%s]", item.gameName, item.gameId, item.collectionId)
+            }
         }
         return item.collectionId
     }
 
+    /**
+     * Items (and their games) whose content hasn't changed since the last sync.
+     */
+    private class UnchangedItems {
+        val internalIds = linkedSetOf<Long>()
+        val gameIds = linkedSetOf<Int>()
+    }
+
+    /**
+     * Touch only the sync timestamps of the unchanged items and their games, with one update per table (per
+     * [MAX_SELECTION_ARGS] IDs) in a single batch, so observers are notified once.
+     */
+    @DebugLog
+    private fun updateSyncTimestamps(unchangedItems: UnchangedItems, timestamp: Long) {
+        if (unchangedItems.internalIds.isEmpty()) return
+        val batch = arrayListOf<ContentProviderOperation>()
+        unchangedItems.internalIds.chunked(MAX_SELECTION_ARGS).forEach { ids ->
+            batch.add(ContentProviderOperation
+                    .newUpdate(Collection.CONTENT_URI)
+                    .withSelection("${Collection._ID} IN (${ids.joinToString(",") { "?" }})", ids.map { it.toString() }.toTypedArray())
+                    .withValue(Collection.UPDATED, timestamp)
+                    .withValue(Collection.UPDATED_LIST, timestamp)
+                    .build())
+        }
+        unchangedItems.gameIds.chunked(MAX_SELECTION_ARGS).forEach { ids ->
+            batch.add(ContentProviderOperation
+                    .newUpdate(Games.CONTENT_URI)
+                    .withSelection("${Games.GAME_ID} IN (${ids.joinToString(",") { "?" }})", ids.map { it.toString() }.toTypedArray())
+                    .withValue(Games.UPDATED_LIST, timestamp)
+                    .build())
+        }
+        resolver.applyBatch(context, batch, "Collection sync timestamps for ${unchangedItems.internalIds.size} unchanged items")
+    }
+
+    /**
+     * Hash of every synced value of the item and its game. When this matches the stored hash, the row only needs new
+     * timestamps. A hash of 0 is never trusted.
+     */
+    private fun generateSyncHashCode(item: CollectionItemEntity, game: CollectionItemGameEntity): Int {
+        val sb = StringBuilder()
+        sb.append(item.collectionName).append("\n")
+        sb.append(item.sortName).append("\n")
+        sb.append(item.own).append("\n")
+        sb.append(item.previouslyOwned).append("\n")
+        sb.append(item.forTrade).append("\n")
+        sb.append(item.wantInTrade).append("\n")
+        sb.append(item.wantToPlay).append("\n")
+        sb.append(item.wantToBuy).append("\n")
+        sb.append(item.wishList).append("\n")
+        sb.append(item.wishListPriority).append("\n")
+        sb.append(item.preOrdered).append("\n")
+        sb.append(item.lastModifiedDate).append("\n")
+        sb.append(item.yearPublished).append("\n")
+        sb.append(item.imageUrl).append("\n")
+        sb.append(item.thumbnailUrl).append("\n")
+        sb.append(item.comment).append("\n")
+        sb.append(item.conditionText).append("\n")
+        sb.append(item.wantPartsList).append("\n")
+        sb.append(item.hasPartsList).append("\n")
+        sb.append(item.wishListComment).append("\n")
+        sb.append(item.pricePaidCurrency).append("\n")
+        sb.append(item.pricePaid).append("\n")
+        sb.append(item.currentValueCurrency).append("\n")
+        sb.append(item.currentValue).append("\n")
+        sb.append(item.quantity).append("\n")
+        sb.append(item.acquisitionDate).append("\n")
+        sb.append(item.acquiredFrom).append("\n")
+        sb.append(item.privateComment).append("\n")
+        sb.append(item.inventoryLocation).append("\n")
+        sb.append(item.rating).append("\n")
+        sb.append(game.gameName).append("\n")
+        sb.append(game.sortName).append("\n")
+        sb.append(game.numberOfPlays).append("\n")
+        sb.append(game.minNumberOfPlayers).append("\n")
+        sb.append(game.maxNumberOfPlayers).append("\n")
+        sb.append(game.playingTime).append("\n")
+        sb.append(game.minPlayingTime).append("\n")
+        sb.append(game.maxPlayingTime).append("\n")
+        sb.append(game.numberOwned).append("\n")
+        sb.append(game.average).append("\n")
+        sb.append(game.bayesAverage).append("\n")
+        sb.append(game.numberOfUsersRated).append("\n")
+        sb.append(game.standardDeviation).append("\n")
+        sb.append(game.median).append("\n")
+        return sb.toString().hashCode()
+    }
+
     @DebugLog
     private fun toGameValues(game: CollectionItemGameEntity, includeStats: Boolean, isBrief: Boolean, timestamp: Long): ContentValues {
         val values = ContentValues()
@@ -429,10 +549,22 @@ class CollectionDao(private val context: BggApplication) {
             val wishListCommentDirtyTimestamp: Long = 0,
             val tradeConditionDirtyTimestamp: Long = 0,
             val wantPartsDirtyTimestamp: Long = 0,
-            val hasPartsDirtyTimestamp: Long = 0
+            val hasPartsDirtyTimestamp: Long = 0,
+            val syncHashCode: Int = 0
     ) {
+        fun isPartiallyDirty(): Boolean {
+            return statusDirtyTimestamp != NOT_DIRTY ||
+                    ratingDirtyTimestamp != NOT_DIRTY ||
+                    commentDirtyTimestamp != NOT_DIRTY ||
+                    privateInfoDirtyTimestamp != NOT_DIRTY ||
+                    wishListCommentDirtyTimestamp != NOT_DIRTY ||
+                    tradeConditionDirtyTimestamp != NOT_DIRTY ||
+                    wantPartsDirtyTimestamp != NOT_DIRTY ||
+                    hasPartsDirtyTimestamp != NOT_DIRTY
+        }
+
         companion object {
-            val PROJECTION = arrayOf(Collection._ID, Collection.COLLECTION_DIRTY_TIMESTAMP, Collection.STATUS_DIRTY_TIMESTAMP, Collection.RATING_DIRTY_TIMESTAMP, Collection.COMMENT_DIRTY_TIMESTAMP, Collection.PRIVATE_INFO_DIRTY_TIMESTAMP, Collection.WISHLIST_COMMENT_DIRTY_TIMESTAMP, Collection.TRADE_CONDITION_DIRTY_TIMESTAMP, Collection.WANT_PARTS_DIRTY_TIMESTAMP, Collection.HAS_PARTS_DIRTY_TIMESTAMP)
+            val PROJECTION = arrayOf(Collection._ID, Collection.COLLECTION_DIRTY_TIMESTAMP, Collection.STATUS_DIRTY_TIMESTAMP, Collection.RATING_DIRTY_TIMESTAMP, Collection.COMMENT_DIRTY_TIMESTAMP, Collection.PRIVATE_INFO_DIRTY_TIMESTAMP, Collection.WISHLIST_COMMENT_DIRTY_TIMESTAMP, Collection.TRADE_CONDITION_DIRTY_TIMESTAMP, Collection.WANT_PARTS_DIRTY_TIMESTAMP, Collection.HAS_PARTS_DIRTY_TIMESTAMP, Collection.SYNC_HASH_CODE)
 
             fun find(resolver: ContentResolver, collectionId: Int, gameId: Int): SyncCandidate {
                 if (collectionId != BggContract.INVALID_ID) {
@@ -465,7 +597,8 @@ class CollectionDao(private val context: BggApplication) {
                         cursor.getLongOrZero(Collection.WISHLIST_COMMENT_DIRTY_TIMESTAMP),
                         cursor.getLongOrZero(Collection.TRADE_CONDITION_DIRTY_TIMESTAMP),
                         cursor.getLongOrZero(Collection.WANT_PARTS_DIRTY_TIMESTAMP),
-                        cursor.getLongOrZero(Collection.HAS_PARTS_DIRTY_TIMESTAMP)
+                        cursor.getLongOrZero(Collection.HAS_PARTS_DIRTY_TIMESTAMP),
+                        cursor.getIntOrZero(Collection.SYNC_HASH_CODE)
                 )
             }
         }
@@ -473,5 +606,6 @@ class CollectionDao(private val context: BggApplication) {
 
     companion object {
         private const val NOT_DIRTY = 0L
+        private const val MAX_SELECTION_ARGS = 500
     }
 }
@@ -6,6 +6,7 @@ import android.content.ContentResolver
 import android.content.ContentValues
 import android.graphics.Color
 import android.net.Uri
+import androidx.core.content.contentValuesOf
 import androidx.lifecycle.LiveData
 import com.boardgamegeek.BggApplication
 import com.boardgamegeek.entities.*
@@ -27,7 +28,7 @@ class GameDao(private val context: BggApplication) {
     fun load(gameId: Int): LiveData<GameEntity> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildGameUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId", retain = true) {
             val projection = arrayOf(
                     Games.GAME_ID,
                     Games.STATS_AVERAGE,
@@ -119,7 +120,7 @@ class GameDao(private val context: BggApplication) {
     fun loadRanks(gameId: Int): LiveData<List<GameRankEntity>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildRanksUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:ranks") {
             val ranks = arrayListOf<GameRankEntity>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -143,7 +144,7 @@ class GameDao(private val context: BggApplication) {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         if (pollType !in arrayOf(BggContract.POLL_TYPE_SUGGESTED_PLAYER_AGE, BggContract.POLL_TYPE_LANGUAGE_DEPENDENCE)) return AbsentLiveData.create()
         val uri = Games.buildPollResultsResultUri(gameId, pollType)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:poll:$pollType") {
             val results = arrayListOf<GamePollResultEntity>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -162,7 +163,7 @@ class GameDao(private val context: BggApplication) {
     fun loadPlayerPoll(gameId: Int): LiveData<GamePlayerPollEntity> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildSuggestedPlayerCountPollResultsUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:playerPoll") {
             val results = arrayListOf<GamePlayerPollResultsEntity>()
             val projection = arrayOf(
                     GameSuggestedPlayerCountPollPollResults.SUGGESTED_PLAYER_COUNT_POLL_VOTE_TOTAL,
@@ -192,7 +193,7 @@ class GameDao(private val context: BggApplication) {
     fun loadDesigners(gameId: Int): LiveData<List<GameDetailEntity>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildDesignersUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:designers") {
             val results = arrayListOf<GameDetailEntity>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -211,7 +212,7 @@ class GameDao(private val context: BggApplication) {
     fun loadArtists(gameId: Int): LiveData<List<GameDetailEntity>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildArtistsUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:artists") {
             val results = arrayListOf<GameDetailEntity>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -230,7 +231,7 @@ class GameDao(private val context: BggApplication) {
     fun loadPublishers(gameId: Int): LiveData<List<GameDetailEntity>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildPublishersUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:publishers") {
             val results = arrayListOf<GameDetailEntity>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -249,7 +250,7 @@ class GameDao(private val context: BggApplication) {
     fun loadCategories(gameId: Int): LiveData<List<GameDetailEntity>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildCategoriesUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:categories") {
             val results = arrayListOf<GameDetailEntity>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -268,7 +269,7 @@ class GameDao(private val context: BggApplication) {
     fun loadMechanics(gameId: Int): LiveData<List<GameDetailEntity>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildMechanicsUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:mechanics") {
             val results = arrayListOf<GameDetailEntity>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -287,7 +288,7 @@ class GameDao(private val context: BggApplication) {
     fun loadExpansions(gameId: Int, inbound: Boolean = false): LiveData<List<GameExpansionsEntity>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildExpansionsUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:expansions:$inbound") {
             val results = arrayListOf<GameExpansionsEntity>()
             context.contentResolver.load(uri,
                     selection = "${GamesExpansions.INBOUND}=?",
@@ -349,7 +350,7 @@ class GameDao(private val context: BggApplication) {
     fun loadPlayColors(gameId: Int): LiveData<List<String>> {
         if (gameId == BggContract.INVALID_ID) return AbsentLiveData.create()
         val uri = Games.buildColorsUri(gameId)
-        return RegisteredLiveData(context, uri) {
+        return RegisteredLiveData(context, uri, queryKey = "game:$gameId:colors") {
             val results = arrayListOf<String>()
             context.contentResolver.load(uri)?.use {
                 if (it.moveToFirst()) {
@@ -432,13 +433,30 @@ class GameDao(private val context: BggApplication) {
             return
         }
 
+        var rowExists = false
+        var storedSyncHashCode = 0
+        resolver.load(Games.buildGameUri(game.id), arrayOf(Games.GAME_SYNC_HASH_CODE))?.use {
+            if (it.moveToFirst()) {
+                rowExists = true
+                storedSyncHashCode = it.getIntOrZero(Games.GAME_SYNC_HASH_CODE)
+            }
+        }
+        val syncHashCode = generateSyncHashCode(game)
+        if (rowExists && syncHashCode != 0 && syncHashCode == storedSyncHashCode) {
+            val values = contentValuesOf(Games.UPDATED to updateTime, Games.UPDATED_LIST to updateTime)
+            resolver.update(Games.buildGameUri(game.id), values, null, null)
+            Timber.i("Unchanged game %s (%s)", game.name, game.id)
+            return
+        }
+
         Timber.i("Saving game %s (%s)", game.name, game.id)
 
         val batch = arrayListOf<ContentProviderOperation>()
 
         val cpoBuilder: Builder
         val values = toValues(game, updateTime)
-        cpoBuilder = if (resolver.rowExists(Games.buildGameUri(game.id))) {
+        values.put(Games.GAME_SYNC_HASH_CODE, syncHashCode)
+        cpoBuilder = if (rowExists) {
             values.remove(Games.GAME_ID)
             if (shouldClearHeroImageUrl(game)) {
                 values.put(Games.HERO_IMAGE_URL, "")
@@ -512,6 +530,59 @@ class GameDao(private val context: BggApplication) {
         return values
     }
 
+    /**
+     * Hash of every synced value of the game, including its ranks, polls, expansions, and references. When this
+     * matches the stored hash, the game only needs new timestamps. A hash of 0 is never trusted.
+     */
+    private fun generateSyncHashCode(game: GameEntity): Int {
+        val sb = StringBuilder()
+        sb.append(game.name).append("\n")
+        sb.append(game.sortName).append("\n")
+        sb.append(game.subtype).append("\n")
+        sb.append(game.thumbnailUrl).append("\n")
+        sb.append(game.imageUrl).append("\n")
+        sb.append(game.description).append("\n")
+        sb.append(game.yearPublished).append("\n")
+        sb.append(game.minPlayers).append("\n")
+        sb.append(game.maxPlayers).append("\n")
+        sb.append(game.playingTime).append("\n")
+        sb.append(game.minPlayingTime).append("\n")
+        sb.append(game.maxPlayingTime).append("\n")
+        sb.append(game.minimumAge).append("\n")
+        sb.append(game.hasStatistics).append("\n")
+        if (game.hasStatistics) {
+            sb.append(game.rating).append("\n")
+            sb.append(game.bayesAverage).append("\n")
+            sb.append(game.standardDeviation).append("\n")
+            sb.append(game.median).append("\n")
+            sb.append(game.numberOfRatings).append("\n")
+            sb.append(game.numberOfUsersOwned).append("\n")
+            sb.append(game.numberOfUsersTrading).append("\n")
+            sb.append(game.numberOfUsersWanting).append("\n")
+            sb.append(game.numberOfUsersWishListing).append("\n")
+            sb.append(game.numberOfComments).append("\n")
+            sb.append(game.numberOfUsersWeighting).append("\n")
+            sb.append(game.averageWeight).append("\n")
+        }
+        sb.append(game.overallRank).append("\n")
+        game.ranks.forEach { sb.append(it).append("\n") }
+        game.polls.forEach { poll ->
+            sb.append(poll.name).append("|").append(poll.totalVotes).append("\n")
+            poll.results.forEach { results ->
+                sb.append(results.numberOfPlayers).append("\n")
+                results.result.forEach { sb.append(it).append("\n") }
+            }
+        }
+        game.playerPoll?.results?.forEach { sb.append(it).append("\n") }
+        game.expansions.forEach { sb.append(it).append("\n") }
+        game.designers.forEach { sb.append(it).append("\n") }
+        game.artists.forEach { sb.append(it).append("\n") }
+        game.publishers.forEach { sb.append(it).append("\n") }
+        game.categories.forEach { sb.append(it).append("\n") }
+        game.mechanics.forEach { sb.append(it).append("\n") }
+        return sb.toString().hashCode()
+    }
+
     private fun shouldClearHeroImageUrl(game: GameEntity): Boolean {
         val cursor = resolver.query(Games.buildGameUri(game.id), arrayOf(Games.IMAGE_URL, Games.THUMBNAIL_URL), null, null, null)
         cursor?.use { c ->
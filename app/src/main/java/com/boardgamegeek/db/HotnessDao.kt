@@ -0,0 +1,62 @@
+package com.boardgamegeek.db
+
+import android.content.ContentProviderOperation
+import androidx.core.content.contentValuesOf
+import androidx.lifecycle.LiveData
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.entities.HotGameEntity
+import com.boardgamegeek.extensions.*
+import com.boardgamegeek.livedata.RegisteredLiveData
+import com.boardgamegeek.provider.BggContract.Hotness
+
+class HotnessDao(private val context: BggApplication) {
+    fun loadAsLiveData(): LiveData<List<HotGameEntity>> {
+        return RegisteredLiveData(context, Hotness.CONTENT_URI, queryKey = "hotness", retain = true) {
+            return@RegisteredLiveData load()
+        }
+    }
+
+    fun load(): List<HotGameEntity> {
+        val list = arrayListOf<HotGameEntity>()
+        context.contentResolver.load(Hotness.CONTENT_URI,
+                arrayOf(Hotness.HOTNESS_RANK,
+                        Hotness.GAME_ID,
+                        Hotness.NAME,
+                        Hotness.YEAR_PUBLISHED,
+                        Hotness.THUMBNAIL_URL,
+                        Hotness.UPDATED)
+        )?.use {
+            while (it.moveToNext()) {
+                list += HotGameEntity(
+                        it.getIntOrZero(Hotness.HOTNESS_RANK),
+                        it.getIntOrZero(Hotness.GAME_ID),
+                        it.getStringOrEmpty(Hotness.NAME),
+                        it.getIntOrZero(Hotness.YEAR_PUBLISHED),
+                        it.getStringOrEmpty(Hotness.THUMBNAIL_URL),
+                        it.getLongOrZero(Hotness.UPDATED)
+                )
+            }
+        }
+        return list
+    }
+
+    /**
+     * Replace the saved list with these games in a single batch, so observers are notified once and never see a
+     * partial list.
+     */
+    fun save(games: List<HotGameEntity>, timestamp: Long) {
+        val batch = arrayListOf<ContentProviderOperation>()
+        batch += ContentProviderOperation.newDelete(Hotness.CONTENT_URI).build()
+        games.forEach {
+            batch += ContentProviderOperation.newInsert(Hotness.CONTENT_URI).withValues(contentValuesOf(
+                    Hotness.HOTNESS_RANK to it.rank,
+                    Hotness.GAME_ID to it.id,
+                    Hotness.NAME to it.name,
+                    Hotness.YEAR_PUBLISHED to it.yearPublished,
+                    Hotness.THUMBNAIL_URL to it.thumbnailUrl,
+                    Hotness.UPDATED to timestamp
+            )).build()
+        }
+        context.contentResolver.applyBatch(context, batch, "Hotness")
+    }
+}
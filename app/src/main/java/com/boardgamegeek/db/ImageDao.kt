@@ -0,0 +1,90 @@
+package com.boardgamegeek.db
+
+import android.content.ContentValues
+import androidx.core.content.contentValuesOf
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.entities.ImageUrlsEntity
+import com.boardgamegeek.extensions.getIntOrZero
+import com.boardgamegeek.extensions.getStringOrEmpty
+import com.boardgamegeek.extensions.getStringOrNull
+import com.boardgamegeek.extensions.load
+import com.boardgamegeek.extensions.use
+import com.boardgamegeek.provider.BggContract.ImagePalettes
+import com.boardgamegeek.provider.BggContract.ImageUrls
+
+class ImageDao(private val context: BggApplication) {
+    /**
+     * Load the URLs of each of the images that have been resolved, keyed by image ID. Images that haven't been
+     * resolved are missing from the map.
+     */
+    fun load(imageIds: Collection<Int>): Map<Int, ImageUrlsEntity> {
+        val results = mutableMapOf<Int, ImageUrlsEntity>()
+        imageIds.distinct().chunked(MAX_SELECTION_ARGS).forEach { ids ->
+            context.contentResolver.load(
+                    ImageUrls.CONTENT_URI,
+                    arrayOf(ImageUrls.IMAGE_ID, ImageUrls.SMALL_URL, ImageUrls.MEDIUM_URL, ImageUrls.ORIGINAL_URL),
+                    "${ImageUrls.IMAGE_ID} IN (${ids.joinToString(",") { "?" }})",
+                    ids.map { it.toString() }.toTypedArray()
+            )?.use {
+                while (it.moveToNext()) {
+                    val entity = ImageUrlsEntity(
+                            it.getIntOrZero(ImageUrls.IMAGE_ID),
+                            it.getStringOrEmpty(ImageUrls.SMALL_URL),
+                            it.getStringOrEmpty(ImageUrls.MEDIUM_URL),
+                            it.getStringOrEmpty(ImageUrls.ORIGINAL_URL)
+                    )
+                    results[entity.imageId] = entity
+                }
+            }
+        }
+        return results
+    }
+
+    /**
+     * Save the URLs of the images, replacing any previously saved for the same image ID.
+     */
+    fun save(images: Collection<ImageUrlsEntity>): Int {
+        if (images.isEmpty()) return 0
+        val now = System.currentTimeMillis()
+        val values = images.map {
+            contentValuesOf(
+                    ImageUrls.IMAGE_ID to it.imageId,
+                    ImageUrls.SMALL_URL to it.smallUrl,
+                    ImageUrls.MEDIUM_URL to it.mediumUrl,
+                    ImageUrls.ORIGINAL_URL to it.originalUrl,
+                    ImageUrls.UPDATED to now
+            )
+        }
+        return context.contentResolver.bulkInsert(ImageUrls.CONTENT_URI, values.toTypedArray<ContentValues>())
+    }
+
+    /**
+     * Load the serialized palette swatches of the image at this URL, or null if they were never saved.
+     */
+    fun loadPaletteSwatches(imageUrl: String): String? {
+        return context.contentResolver.load(
+                ImagePalettes.CONTENT_URI,
+                arrayOf(ImagePalettes.SWATCHES),
+                "${ImagePalettes.IMAGE_URL}=?",
+                arrayOf(imageUrl)
+        )?.use {
+            if (it.moveToFirst()) it.getStringOrNull(ImagePalettes.SWATCHES) else null
+        }
+    }
+
+    /**
+     * Save the serialized palette swatches of the image at this URL, replacing any previously saved.
+     */
+    fun savePaletteSwatches(imageUrl: String, swatches: String) {
+        context.contentResolver.insert(ImagePalettes.CONTENT_URI, contentValuesOf(
+                ImagePalettes.IMAGE_URL to imageUrl,
+                ImagePalettes.SWATCHES to swatches,
+                ImagePalettes.UPDATED to System.currentTimeMillis()
+        ))
+    }
+
+    companion object {
+        // SQLite allows 999 host parameters per statement
+        private const val MAX_SELECTION_ARGS = 500
+    }
+}
@@ -33,6 +33,35 @@ class PlayDao(private val context: BggApplication) {
         }
     }
 
+    /**
+     * Loads the total quantity of plays, summed by the database instead of by loading each play.
+     */
+    fun loadPlayCountAsLiveData(): LiveData<Int> {
+        return RegisteredLiveData(context, Plays.CONTENT_URI, true, queryKey = "plays.count") {
+            return@RegisteredLiveData context.contentResolver.queryInt(
+                    Plays.CONTENT_URI.buildUpon().fragment(BggContract.FRAGMENT_SIMPLE).build(),
+                    Plays.SUM_QUANTITY,
+                    selection = Plays.DELETE_TIMESTAMP.whereZeroOrNull())
+        }
+    }
+
+    fun loadPlaysInProgressAsLiveData(): LiveData<List<PlayEntity>> {
+        return RegisteredLiveData(context, Plays.CONTENT_URI, true, queryKey = "plays.inProgress") {
+            return@RegisteredLiveData loadPlays(Plays.CONTENT_URI,
+                    "${Plays.DIRTY_TIMESTAMP}>0 AND ${Plays.DELETE_TIMESTAMP.whereZeroOrNull()}" to emptyArray())
+        }
+    }
+
+    /**
+     * Loads the most recent plays that aren't in progress, at most [limit] of them.
+     */
+    fun loadRecentPlaysAsLiveData(limit: Int): LiveData<List<PlayEntity>> {
+        return RegisteredLiveData(context, Plays.CONTENT_URI, true, queryKey = "plays.recent.$limit") {
+            return@RegisteredLiveData loadPlays(Plays.CONTENT_URI.withLimit(limit),
+                    "${Plays.DIRTY_TIMESTAMP.whereZeroOrNull()} AND ${Plays.DELETE_TIMESTAMP.whereZeroOrNull()}" to emptyArray())
+        }
+    }
+
     private fun loadPlays(uri: Uri, selection: Pair<String, Array<String>>): ArrayList<PlayEntity> {
         val list = arrayListOf<PlayEntity>()
         context.contentResolver.load(uri,
@@ -238,31 +267,44 @@ class PlayDao(private val context: BggApplication) {
     }
 
     fun loadLocationsAsLiveData(sortBy: LocationSortBy = LocationSortBy.NAME): LiveData<List<LocationEntity>> {
-        return RegisteredLiveData(context, Plays.buildLocationsUri(), false) {
+        return RegisteredLiveData(context, Plays.CONTENT_URI, true, queryKey = "plays.locations.$sortBy") {
             return@RegisteredLiveData loadLocations(sortBy)
         }
     }
 
-    private fun loadLocations(sortBy: LocationSortBy = LocationSortBy.NAME): List<LocationEntity> {
+    /**
+     * Loads the named locations played at most often, at most [limit] of them.
+     */
+    fun loadTopLocationsAsLiveData(limit: Int): LiveData<List<LocationEntity>> {
+        return RegisteredLiveData(context, Plays.CONTENT_URI, true, queryKey = "plays.locations.top.$limit") {
+            return@RegisteredLiveData loadLocations(LocationSortBy.PLAY_COUNT, limit, "TRIM(${PlayLocations.LOCATION})!=''")
+        }
+    }
+
+    /**
+     * Loads locations from the play counts kept by the database, rather than aggregating every play.
+     */
+    private fun loadLocations(sortBy: LocationSortBy = LocationSortBy.NAME, limit: Int = 0, selection: String? = null): List<LocationEntity> {
         val results = arrayListOf<LocationEntity>()
         val sortOrder = when (sortBy) {
             LocationSortBy.NAME -> ""
-            LocationSortBy.PLAY_COUNT -> Plays.SUM_QUANTITY.descending()
+            LocationSortBy.PLAY_COUNT -> PlayLocations.PLAY_COUNT.descending()
         }
         context.contentResolver.load(
-                Plays.buildLocationsUri(),
+                Plays.buildLocationsUri().withLimit(limit),
                 arrayOf(
-                        Plays._ID,
-                        Plays.LOCATION,
-                        Plays.SUM_QUANTITY
+                        PlayLocations._ID,
+                        PlayLocations.LOCATION,
+                        PlayLocations.PLAY_COUNT
                 ),
+                selection,
                 sortOrder = sortOrder
         )?.use {
             if (it.moveToFirst()) {
                 do {
                     results += LocationEntity(
-                            it.getStringOrEmpty(BggContract.Plays.LOCATION),
-                            it.getIntOrNull(BggContract.Plays.SUM_QUANTITY) ?: 0
+                            it.getStringOrEmpty(PlayLocations.LOCATION),
+                            it.getIntOrNull(PlayLocations.PLAY_COUNT) ?: 0
                     )
                 } while (it.moveToNext())
             }
@@ -280,7 +322,21 @@ class PlayDao(private val context: BggApplication) {
         }
     }
 
-    private fun loadPlayers(sortBy: PlayerSortBy = PlayerSortBy.NAME): List<PlayerEntity> {
+    /**
+     * Loads the players played with most often, at most [limit] of them, excluding the user.
+     */
+    fun loadTopPlayersAsLiveData(limit: Int, username: String?): LiveData<List<PlayerEntity>> {
+        return RegisteredLiveData(context, Plays.CONTENT_URI, true, queryKey = "plays.players.top.$limit.$username") {
+            return@RegisteredLiveData if (username.isNullOrBlank()) {
+                loadPlayers(PlayerSortBy.PLAY_COUNT, limit)
+            } else {
+                loadPlayers(PlayerSortBy.PLAY_COUNT, limit,
+                        "${PlayPlayers.USER_NAME} IS NULL OR ${PlayPlayers.USER_NAME}!=?" to arrayOf(username))
+            }
+        }
+    }
+
+    private fun loadPlayers(sortBy: PlayerSortBy = PlayerSortBy.NAME, limit: Int = 0, selection: Pair<String, Array<String>>? = null): List<PlayerEntity> {
         val results = arrayListOf<PlayerEntity>()
         val sortOrder = when (sortBy) {
             PlayerSortBy.NAME -> PlayPlayers.NAME.collateNoCase()
@@ -288,7 +344,7 @@ class PlayDao(private val context: BggApplication) {
             PlayerSortBy.WIN_COUNT -> Plays.SUM_WINS.descending()
         }
         context.contentResolver.load(
-                Plays.buildPlayersByUniquePlayerUri(),
+                Plays.buildPlayersByUniquePlayerUri().withLimit(limit),
                 arrayOf(
                         PlayPlayers._ID,
                         PlayPlayers.NAME,
@@ -296,6 +352,8 @@ class PlayDao(private val context: BggApplication) {
                         PlayPlayers.SUM_QUANTITY,
                         PlayPlayers.SUM_WINS
                 ),
+                selection?.first,
+                selection?.second,
                 sortOrder = sortOrder
         )?.use {
             if (it.moveToFirst()) {
@@ -473,6 +531,11 @@ class PlayDao(private val context: BggApplication) {
         return ContentProviderOperation.newDelete(BggContract.PlayerColors.buildPlayerUri(playerName)).build()
     }
 
+    private fun Uri.withLimit(limit: Int): Uri {
+        if (limit <= 0) return this
+        return buildUpon().appendQueryParameter(BggContract.QUERY_KEY_LIMIT, limit.toString()).build()
+    }
+
     /**
      * Select a player with the specified username AND nick name
      */
@@ -0,0 +1,79 @@
+package com.boardgamegeek.db
+
+import android.content.ContentProviderOperation
+import androidx.core.content.contentValuesOf
+import androidx.lifecycle.LiveData
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.entities.TopGameEntity
+import com.boardgamegeek.extensions.*
+import com.boardgamegeek.livedata.RegisteredLiveData
+import com.boardgamegeek.provider.BggContract.TopGames
+
+class TopGamesDao(private val context: BggApplication) {
+    fun loadAsLiveData(): LiveData<List<TopGameEntity>> {
+        return RegisteredLiveData(context, TopGames.CONTENT_URI, queryKey = "topgames", retain = true) {
+            return@RegisteredLiveData load()
+        }
+    }
+
+    fun load(): List<TopGameEntity> {
+        val list = arrayListOf<TopGameEntity>()
+        context.contentResolver.load(TopGames.CONTENT_URI,
+                arrayOf(TopGames.TOP_GAME_RANK,
+                        TopGames.GAME_ID,
+                        TopGames.NAME,
+                        TopGames.YEAR_PUBLISHED,
+                        TopGames.THUMBNAIL_URL,
+                        TopGames.PREVIOUS_RANK,
+                        TopGames.UPDATED)
+        )?.use {
+            while (it.moveToNext()) {
+                list += TopGameEntity(
+                        it.getIntOrZero(TopGames.TOP_GAME_RANK),
+                        it.getIntOrZero(TopGames.GAME_ID),
+                        it.getStringOrEmpty(TopGames.NAME),
+                        it.getIntOrZero(TopGames.YEAR_PUBLISHED),
+                        it.getStringOrEmpty(TopGames.THUMBNAIL_URL),
+                        it.getIntOrZero(TopGames.PREVIOUS_RANK),
+                        it.getLongOrZero(TopGames.UPDATED)
+                )
+            }
+        }
+        return list
+    }
+
+    /**
+     * Replace the saved ranking with this snapshot in a single batch, recording each game's rank in the snapshot
+     * being replaced so the change can be shown. In the first snapshot, no game is new.
+     */
+    fun save(games: List<TopGameEntity>, timestamp: Long) {
+        val previousRanks = loadRanks()
+        val batch = arrayListOf<ContentProviderOperation>()
+        batch += ContentProviderOperation.newDelete(TopGames.CONTENT_URI).build()
+        games.forEach {
+            batch += ContentProviderOperation.newInsert(TopGames.CONTENT_URI).withValues(contentValuesOf(
+                    TopGames.TOP_GAME_RANK to it.rank,
+                    TopGames.GAME_ID to it.id,
+                    TopGames.NAME to it.name,
+                    TopGames.YEAR_PUBLISHED to it.yearPublished,
+                    TopGames.THUMBNAIL_URL to it.thumbnailUrl,
+                    TopGames.PREVIOUS_RANK to (previousRanks[it.id] ?: if (previousRanks.isEmpty()) it.rank else 0),
+                    TopGames.UPDATED to timestamp
+            )).build()
+        }
+        context.contentResolver.applyBatch(context, batch, "Top games")
+    }
+
+    /**
+     * Load the rank of each saved game, keyed by game ID.
+     */
+    private fun loadRanks(): Map<Int, Int> {
+        val ranks = mutableMapOf<Int, Int>()
+        context.contentResolver.load(TopGames.CONTENT_URI, arrayOf(TopGames.GAME_ID, TopGames.TOP_GAME_RANK))?.use {
+            while (it.moveToNext()) {
+                ranks[it.getIntOrZero(TopGames.GAME_ID)] = it.getIntOrZero(TopGames.TOP_GAME_RANK)
+            }
+        }
+        return ranks
+    }
+}
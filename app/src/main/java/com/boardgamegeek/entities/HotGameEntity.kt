@@ -0,0 +1,10 @@
+package com.boardgamegeek.entities
+
+data class HotGameEntity(
+        val rank: Int,
+        val id: Int,
+        val name: String,
+        val yearPublished: Int,
+        val thumbnailUrl: String,
+        val updated: Long = 0L
+)
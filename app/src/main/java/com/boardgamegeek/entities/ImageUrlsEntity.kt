@@ -0,0 +1,8 @@
+package com.boardgamegeek.entities
+
+data class ImageUrlsEntity(
+        val imageId: Int,
+        val smallUrl: String,
+        val mediumUrl: String,
+        val originalUrl: String
+)
@@ -0,0 +1,23 @@
+package com.boardgamegeek.entities
+
+data class TopGameEntity(
+        val rank: Int,
+        val id: Int,
+        val name: String,
+        val yearPublished: Int,
+        val thumbnailUrl: String,
+        val previousRank: Int = 0,
+        val updated: Long = 0L
+) {
+    /**
+     * True if the game wasn't in the previous snapshot of the ranking.
+     */
+    val isNew: Boolean
+        get() = previousRank == 0
+
+    /**
+     * The number of places the game moved up since the previous snapshot; negative if it moved down.
+     */
+    val rankChange: Int
+        get() = if (isNew) 0 else previousRank - rank
+}
@@ -9,6 +9,7 @@ import android.widget.ImageView
 import android.widget.LinearLayout
 import androidx.annotation.ColorInt
 import androidx.core.view.setMargins
+import com.boardgamegeek.BggApplication
 import com.boardgamegeek.R
 import com.boardgamegeek.util.ImageUtils
 import com.boardgamegeek.util.PaletteTransformation
@@ -18,11 +19,25 @@ fun ImageView.setOrClearColorFilter(@ColorInt color: Int) {
     if (color == Color.TRANSPARENT) clearColorFilter() else setColorFilter(color)
 }
 
+/**
+ * Loads the image at the URL. If the palette of the image has been cached, the callback receives it right away, so
+ * views can be tinted before the image is loaded; otherwise it receives the palette once the image is loaded.
+ */
 fun ImageView.loadUrl(url: String, callback: ImageUtils.Callback? = null) {
     val isSameImage = getTag(R.id.image) == ImageUtils.getImageId(url)
+    val paletteCache = (context.applicationContext as BggApplication).paletteCache
+    var isPaletteDelivered = false
+    if (callback != null && !isSameImage) {
+        paletteCache.load(url) { palette ->
+            if (palette != null && !isPaletteDelivered) {
+                isPaletteDelivered = true
+                callback.onSuccessfulImageLoad(palette)
+            }
+        }
+    }
     val requestCreator = Picasso.with(context)
             .load(url.ensureHttpsScheme())
-            .transform(PaletteTransformation.instance())
+            .transform(if (callback == null) PaletteTransformation.instance() else PaletteTransformation.forUrl(paletteCache, url))
     if (isSameImage) {
         requestCreator.noFade().noPlaceholder()
     }
@@ -30,9 +45,10 @@ fun ImageView.loadUrl(url: String, callback: ImageUtils.Callback? = null) {
             .into(this, object : com.squareup.picasso.Callback {
                 override fun onSuccess() {
                     setTag(R.id.image, ImageUtils.getImageId(url))
-                    if (callback != null) {
+                    if (callback != null && !isPaletteDelivered) {
+                        isPaletteDelivered = true
                         val bitmap = (drawable as BitmapDrawable).bitmap
-                        val palette = PaletteTransformation.getPalette(bitmap)
+                        val palette = PaletteTransformation.getPalette(bitmap) ?: paletteCache.getCached(url)
                         callback.onSuccessfulImageLoad(palette)
                     }
                 }
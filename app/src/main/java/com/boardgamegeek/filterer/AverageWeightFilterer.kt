@@ -4,6 +4,7 @@ import android.content.Context
 import androidx.annotation.StringRes
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import java.util.*
 
 class AverageWeightFilterer(context: Context) : CollectionFilterer(context) {
@@ -46,6 +47,13 @@ class AverageWeightFilterer(context: Context) : CollectionFilterer(context) {
         return String.format(format, columnName)
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        val value = snapshot.getDouble(columnName, row)
+        if (snapshot.isNull(columnName, row)) return includeUndefined
+        if (includeUndefined && value == 0.0) return true
+        return if (min == max) value == min else value in min..max
+    }
+
     override fun getSelectionArgs() = when (min) {
         max -> arrayOf(min.toString())
         else -> arrayOf(min.toString(), max.toString())
@@ -2,8 +2,9 @@ package com.boardgamegeek.filterer
 
 import android.content.Context
 import androidx.annotation.StringRes
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
-abstract class CollectionFilterer(protected val context: Context) {
+abstract class CollectionFilterer(protected val context: Context) : CollectionSnapshot.RowFilter {
 
     @get:StringRes
     abstract val typeResourceId: Int
@@ -24,6 +25,11 @@ abstract class CollectionFilterer(protected val context: Context) {
 
     open fun getHaving(): String? = null
 
+    /**
+     * Whether the row of the snapshot matches this filter, mirroring [getSelection] and [getHaving].
+     */
+    abstract override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean
+
     val isValid: Boolean
         get() = toShortDescription().isNotEmpty() &&
                 (getSelection().isNotEmpty() || !getHaving().isNullOrEmpty())
@@ -4,6 +4,7 @@ import android.content.Context
 
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
 class CollectionNameFilter(context: Context) : CollectionFilterer(context) {
     var filterText = ""
@@ -32,4 +33,9 @@ class CollectionNameFilter(context: Context) : CollectionFilterer(context) {
     override fun getSelection() = "${Collection.COLLECTION_NAME} LIKE ?"
 
     override fun getSelectionArgs() = if (startsWith) arrayOf("$filterText%") else arrayOf("%$filterText%")
+
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        val name = snapshot.getString(Collection.COLLECTION_NAME, row) ?: return false
+        return if (startsWith) name.startsWith(filterText, true) else name.contains(filterText, true)
+    }
 }
@@ -2,10 +2,12 @@ package com.boardgamegeek.filterer
 
 import android.content.Context
 import com.boardgamegeek.R
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
 class CollectionStatusFilterer(context: Context) : CollectionFilterer(context) {
     var selectedStatuses: BooleanArray = BooleanArray(0)
     var shouldJoinWithOr: Boolean = false
+    private val statusValues by lazy { context.resources.getStringArray(R.array.collection_status_filter_values) }
 
     override val typeResourceId = R.string.collection_filter_type_collection_status
 
@@ -46,14 +48,13 @@ class CollectionStatusFilterer(context: Context) : CollectionFilterer(context) {
     }
 
     override fun getSelection(): String {
-        val values = context.resources.getStringArray(R.array.collection_status_filter_values)
         val selection = StringBuilder()
 
         selectedStatuses
                 .forEachIndexed { i, selected ->
                     if (selected) {
                         if (selection.isNotEmpty()) selection.append(if (shouldJoinWithOr) " OR " else " AND ")
-                        selection.append(values[i]).append("=1")
+                        selection.append(statusValues[i]).append("=1")
                     }
                 }
         return selection.toString()
@@ -62,4 +63,16 @@ class CollectionStatusFilterer(context: Context) : CollectionFilterer(context) {
     override fun getSelectionArgs(): Array<String>? {
         return null
     }
+
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        val matches = selectedStatuses
+                .withIndex()
+                .filter { it.value }
+                .map { snapshot.getInt(statusValues[it.index], row) == 1 }
+        return when {
+            matches.isEmpty() -> true
+            shouldJoinWithOr -> matches.any { it }
+            else -> matches.all { it }
+        }
+    }
 }
@@ -3,9 +3,11 @@ package com.boardgamegeek.filterer
 import android.content.Context
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
 class ExpansionStatusFilterer(context: Context) : CollectionFilterer(context) {
     var selectedSubtype = ALL
+    private val subtypeValues by lazy { context.resources.getStringArray(R.array.expansion_status_filter_values) }
 
     override val typeResourceId = R.string.collection_filter_type_subtype
 
@@ -18,11 +20,18 @@ class ExpansionStatusFilterer(context: Context) : CollectionFilterer(context) {
     override fun toShortDescription() = getFromArray(R.array.expansion_status_filter)
 
     override fun getSelection(): String {
-        val value = getFromArray(R.array.expansion_status_filter_values)
+        val value = getSelectedValue()
         return if (value.isNotEmpty()) "${Games.SUBTYPE}=?" else ""
     }
 
-    override fun getSelectionArgs() = arrayOf(getFromArray(R.array.expansion_status_filter_values))
+    override fun getSelectionArgs() = arrayOf(getSelectedValue())
+
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        val value = getSelectedValue()
+        return value.isEmpty() || snapshot.getString(Games.SUBTYPE, row) == value
+    }
+
+    private fun getSelectedValue() = subtypeValues.getOrNull(selectedSubtype) ?: ""
 
     private fun getFromArray(resId: Int): String {
         return context.resources.getStringArray(resId).getOrNull(selectedSubtype) ?: ""
@@ -4,6 +4,7 @@ import android.content.Context
 import com.boardgamegeek.R
 import com.boardgamegeek.extensions.whereZeroOrNull
 import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
 class FavoriteFilterer(context: Context) : CollectionFilterer(context) {
     var isFavorite = false
@@ -26,6 +27,11 @@ class FavoriteFilterer(context: Context) : CollectionFilterer(context) {
 
     override fun getSelectionArgs() = if (isFavorite) arrayOf(FAVORITE) else null
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        val starred = snapshot.getInt(Collection.STARRED, row)
+        return if (isFavorite) starred == 1 else starred == 0
+    }
+
     companion object {
         private const val FAVORITE = "1"
         private const val NOT_FAVORITE = "0"
@@ -4,6 +4,7 @@ import android.content.Context
 import androidx.annotation.StringRes
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import java.util.*
 
 class GeekRankingFilterer(context: Context) : CollectionFilterer(context) {
@@ -57,6 +58,18 @@ class GeekRankingFilterer(context: Context) : CollectionFilterer(context) {
         }
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        if (snapshot.isNull(Collection.GAME_RANK, row)) return includeUnranked
+        val value = snapshot.getInt(Collection.GAME_RANK, row)
+        if (includeUnranked && value == 0) return true
+        return when {
+            max == upperBound -> value >= min
+            min == max -> value == min
+            min == lowerBound -> value <= max
+            else -> value in min..max
+        }
+    }
+
     companion object {
         const val lowerBound = 1
         const val upperBound = 2000
@@ -3,6 +3,7 @@ package com.boardgamegeek.filterer
 import android.content.Context
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import java.util.*
 
 class PlayCountFilterer(context: Context) : CollectionFilterer(context) {
@@ -44,6 +45,15 @@ class PlayCountFilterer(context: Context) : CollectionFilterer(context) {
         }
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        if (snapshot.isNull(Collection.NUM_PLAYS, row)) return false
+        val value = snapshot.getInt(Collection.NUM_PLAYS, row)
+        return when {
+            max >= upperBound -> value >= min
+            else -> value in min..max
+        }
+    }
+
     companion object {
         const val lowerBound = 0
         const val upperBound = 25
@@ -7,6 +7,7 @@ import com.boardgamegeek.extensions.andLess
 import com.boardgamegeek.extensions.andMore
 import com.boardgamegeek.extensions.asTime
 import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
 class PlayTimeFilterer(context: Context) : CollectionFilterer(context) {
     var min by IntervalDelegate(lowerBound, lowerBound, upperBound)
@@ -58,6 +59,16 @@ class PlayTimeFilterer(context: Context) : CollectionFilterer(context) {
         }
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        if (snapshot.isNull(Games.PLAYING_TIME, row)) return includeUndefined
+        val value = snapshot.getInt(Games.PLAYING_TIME, row)
+        return when {
+            min == lowerBound -> value <= max
+            max == upperBound -> value >= min
+            else -> value in min..max
+        }
+    }
+
     companion object {
         const val lowerBound = 0
         const val upperBound = 360 // 6 hours
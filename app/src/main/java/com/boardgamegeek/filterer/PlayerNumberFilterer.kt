@@ -3,6 +3,7 @@ package com.boardgamegeek.filterer
 import android.content.Context
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import java.util.*
 
 class PlayerNumberFilterer(context: Context) : CollectionFilterer(context) {
@@ -41,6 +42,16 @@ class PlayerNumberFilterer(context: Context) : CollectionFilterer(context) {
         return arrayOf(min.toString(), max.toString())
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        if (snapshot.isNull(Games.MIN_PLAYERS, row)) return false
+        val minPlayers = snapshot.getInt(Games.MIN_PLAYERS, row)
+        val maxPlayers = snapshot.getInt(Games.MAX_PLAYERS, row)
+        return when {
+            isExact -> minPlayers == min && !snapshot.isNull(Games.MAX_PLAYERS, row) && maxPlayers == max
+            else -> minPlayers <= min && (snapshot.isNull(Games.MAX_PLAYERS, row) || maxPlayers >= max)
+        }
+    }
+
     companion object {
         const val lowerBound = 1
         const val upperBound = 12
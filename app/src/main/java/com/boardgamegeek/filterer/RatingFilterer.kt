@@ -4,6 +4,7 @@ import android.content.Context
 import androidx.annotation.StringRes
 import com.boardgamegeek.extensions.andLess
 import com.boardgamegeek.extensions.andMore
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import java.util.*
 
 abstract class RatingFilterer(context: Context) : CollectionFilterer(context) {
@@ -44,6 +45,13 @@ abstract class RatingFilterer(context: Context) : CollectionFilterer(context) {
         return String.format(format, columnName)
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        val value = snapshot.getDouble(columnName, row)
+        if (snapshot.isNull(columnName, row)) return includeUndefined
+        if (includeUndefined && value == 0.0) return true
+        return if (min == max) value == min else value in min..max
+    }
+
     override fun getSelectionArgs() = when (min) {
         max -> arrayOf(min.toString())
         else -> arrayOf(min.toString(), max.toString())
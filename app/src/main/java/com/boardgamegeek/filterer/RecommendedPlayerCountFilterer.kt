@@ -3,6 +3,7 @@ package com.boardgamegeek.filterer
 import android.content.Context
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
 class RecommendedPlayerCountFilterer(context: Context) : CollectionFilterer(context) {
     var playerCount = 4
@@ -49,6 +50,13 @@ class RecommendedPlayerCountFilterer(context: Context) : CollectionFilterer(cont
         return Games.createRecommendedPlayerCountColumn(playerCount.toString()) + if (recommendation == BEST) "=2" else ">0"
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        val column = Games.createRecommendedPlayerCountColumn(playerCount.toString())
+        if (snapshot.isNull(column, row)) return false
+        val value = snapshot.getInt(column, row)
+        return if (recommendation == BEST) value == 2 else value > 0
+    }
+
     companion object {
         const val RECOMMENDED = 1
         const val BEST = 2
@@ -4,6 +4,7 @@ import android.content.Context
 import androidx.annotation.StringRes
 import com.boardgamegeek.R
 import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import java.util.*
 
 class SuggestedAgeFilterer(context: Context) : CollectionFilterer(context) {
@@ -52,6 +53,16 @@ class SuggestedAgeFilterer(context: Context) : CollectionFilterer(context) {
         }
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        if (snapshot.isNull(Games.MINIMUM_AGE, row)) return includeUndefined
+        val value = snapshot.getInt(Games.MINIMUM_AGE, row)
+        if (includeUndefined && value == 0) return true
+        return when (max) {
+            upperBound -> value >= min
+            else -> value in min..max
+        }
+    }
+
     companion object {
         const val lowerBound = 1
         const val upperBound = 21
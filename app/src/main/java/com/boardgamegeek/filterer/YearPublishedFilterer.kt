@@ -6,6 +6,7 @@ import com.boardgamegeek.R
 import com.boardgamegeek.extensions.andLess
 import com.boardgamegeek.extensions.andMore
 import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import java.util.*
 
 class YearPublishedFilterer(context: Context) : CollectionFilterer(context) {
@@ -78,6 +79,17 @@ class YearPublishedFilterer(context: Context) : CollectionFilterer(context) {
         }
     }
 
+    override fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean {
+        if (min == lowerBound && max == upperBound) return true
+        if (snapshot.isNull(Games.YEAR_PUBLISHED, row)) return false
+        val value = snapshot.getInt(Games.YEAR_PUBLISHED, row)
+        return when {
+            min == lowerBound -> value <= max
+            max == upperBound -> value >= min
+            else -> value in min..max
+        }
+    }
+
     companion object {
         const val lowerBound = 1970
         @JvmStatic
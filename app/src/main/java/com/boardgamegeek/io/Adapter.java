@@ -4,6 +4,7 @@ import android.content.Context;
 
 import com.boardgamegeek.util.HttpUtils;
 
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 import retrofit2.converter.simplexml.SimpleXmlConverterFactory;
@@ -30,6 +31,12 @@ public class Adapter {
 		return builder.build().create(BggService.class);
 	}
 
+	public static BggService createForXml(OkHttpClient httpClient) {
+		Retrofit.Builder builder = createBuilderWithoutConverterFactory(httpClient);
+		builder.addConverterFactory(SimpleXmlConverterFactory.createNonStrict());
+		return builder.build().create(BggService.class);
+	}
+
 	public static BggService createForJson() {
 		Retrofit.Builder builder = createBuilderWithoutConverterFactory(null);
 		builder.addConverterFactory(GsonConverterFactory.create());
@@ -37,12 +44,16 @@ public class Adapter {
 	}
 
 	private static Retrofit.Builder createBuilderWithoutConverterFactory(Context context) {
-		okhttp3.OkHttpClient httpClient;
+		OkHttpClient httpClient;
 		if (context == null) {
 			httpClient = HttpUtils.getHttpClient();
 		} else {
 			httpClient = HttpUtils.getHttpClientWithAuth(context);
 		}
+		return createBuilderWithoutConverterFactory(httpClient);
+	}
+
+	private static Retrofit.Builder createBuilderWithoutConverterFactory(OkHttpClient httpClient) {
 		return new Retrofit.Builder()
 			.baseUrl("https://www.boardgamegeek.com/")
 			.client(httpClient);
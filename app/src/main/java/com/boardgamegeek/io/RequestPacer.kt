@@ -0,0 +1,44 @@
+package com.boardgamegeek.io
+
+import android.os.SystemClock
+import okhttp3.Interceptor
+import okhttp3.Response
+import timber.log.Timber
+import java.io.IOException
+import java.io.InterruptedIOException
+
+/**
+ * Starts requests at least [intervalMillis] apart, across every client it's added to. The sync tasks that run at the
+ * same time share one, so together they request no faster than a single task would.
+ *
+ * Each request reserves the next free slot, so requests go out in the order they arrived.
+ */
+class RequestPacer(private val intervalMillis: Long) : Interceptor {
+    private var nextRequestTime = 0L
+
+    @Throws(IOException::class)
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val waitMillis = reserveSlot()
+        if (waitMillis > 0) {
+            Timber.d("Pacing request for %,d ms", waitMillis)
+            try {
+                Thread.sleep(waitMillis)
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+                throw InterruptedIOException("Interrupted while pacing the request")
+            }
+        }
+        return chain.proceed(chain.request())
+    }
+
+    /**
+     * Returns how long to wait before the request can start.
+     */
+    @Synchronized
+    private fun reserveSlot(): Long {
+        val now = SystemClock.elapsedRealtime()
+        val startTime = Math.max(now, nextRequestTime)
+        nextRequestTime = startTime + intervalMillis
+        return startTime - now
+    }
+}
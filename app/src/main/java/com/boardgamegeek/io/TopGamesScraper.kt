@@ -0,0 +1,81 @@
+package com.boardgamegeek.io
+
+import com.boardgamegeek.entities.TopGameEntity
+import org.jsoup.Jsoup
+import org.jsoup.nodes.Element
+import timber.log.Timber
+import java.io.IOException
+
+/**
+ * Scrapes the ranked games from the first page of BGG's board game browser, which has no API.
+ *
+ * Only the rank table is parsed. The rest of the page (navigation, scripts, ads) is several times the size of the
+ * table, so it's cut from the HTML before Jsoup builds a document, and the rows are found with a single selector.
+ */
+class TopGamesScraper {
+    @Throws(IOException::class)
+    fun scrape(): List<TopGameEntity> {
+        val html = Jsoup.connect(URL)
+                .timeout(TIMEOUT_MILLIS)
+                .maxBodySize(0)
+                .execute()
+                .body()
+        val document = Jsoup.parseBodyFragment(extractRankTable(html), URL)
+        val games = ArrayList<TopGameEntity>(MAX_GAMES)
+        for (row in document.select(ROW_SELECTOR)) {
+            val game = parseRow(row, games.size + 1)
+            if (game != null) games += game
+        }
+        return games
+    }
+
+    /**
+     * Returns the HTML of the rank table, or the whole page if the table can't be found.
+     */
+    private fun extractRankTable(html: String): String {
+        val idIndex = html.indexOf(RANK_TABLE_ID)
+        if (idIndex == -1) return html
+        val start = html.lastIndexOf("<table", idIndex)
+        val end = html.indexOf("</table>", idIndex)
+        if (start == -1 || end == -1) return html
+        return html.substring(start, end + "</table>".length)
+    }
+
+    private fun parseRow(row: Element, defaultRank: Int): TopGameEntity? {
+        return try {
+            val link = row.selectFirst("td.collection_thumbnail a") ?: return null
+            val nameCell = row.selectFirst("td.collection_objectname") ?: return null
+            val yearText = nameCell.selectFirst("span")?.text().orEmpty().trim('(', ')', ' ')
+            TopGameEntity(
+                    row.selectFirst("td.collection_rank")?.text()?.trim()?.toIntOrNull() ?: defaultRank,
+                    getGameIdFromLink(link.attr("href")),
+                    nameCell.selectFirst("a")?.text().orEmpty(),
+                    yearText.toIntOrNull() ?: 0,
+                    link.selectFirst("img")?.attr("src").orEmpty()
+            )
+        } catch (e: NumberFormatException) {
+            Timber.w(e, "Skipping a top game row that couldn't be parsed")
+            null
+        }
+    }
+
+    private fun getGameIdFromLink(href: String): Int {
+        val boardGameIndex = href.indexOf("/boardgame/")
+        val afterBoardGameString = if (boardGameIndex != -1) {
+            href.substring(boardGameIndex + 11)
+        } else {
+            val boardGameExpansionIndex = href.indexOf("/boardgameexpansion/")
+            href.substring(boardGameExpansionIndex + 20)
+        }
+        val slashIndex = afterBoardGameString.indexOf("/")
+        return afterBoardGameString.substring(0, if (slashIndex == -1) afterBoardGameString.length else slashIndex).toInt()
+    }
+
+    companion object {
+        private const val URL = "https://www.boardgamegeek.com/browse/boardgame"
+        private const val TIMEOUT_MILLIS = 10000
+        private const val MAX_GAMES = 100
+        private const val RANK_TABLE_ID = "collectionitems"
+        private const val ROW_SELECTOR = "tr[id^=row_]"
+    }
+}
@@ -39,7 +39,7 @@ public class Image {
 		ImageData imagepage;
 		ImageData crop100;
 		ImageData square200;
-		ImageData original;
+		public ImageData original;
 	}
 
 	public class ImageData {
@@ -0,0 +1,157 @@
+package com.boardgamegeek.livedata
+
+import android.database.ContentObserver
+import android.net.Uri
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import androidx.core.os.postAtTime
+import com.boardgamegeek.AppExecutors
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.util.Tracer
+
+/**
+ * Runs the queries behind [RegisteredLiveData].
+ *
+ * - Queries registered with the same key share one load and one result.
+ * - Each URI gets a single content observer, registered while at least one query is watching it. A change to the URI
+ * invalidates all of its queries at once, and each query is reloaded at most once per throttle period.
+ * - Loads run on [AppExecutors.diskRead], so unrelated queries don't wait on each other.
+ * - Loads are traced per query name with [Tracer].
+ * - Queries that ask to be retained keep their result (and their content observer) for a while after their last
+ * subscriber leaves, so subscribing again delivers it without a load. A change to the URI discards it instead of
+ * reloading it. At most [MAX_RETAINED_QUERIES] are retained, least recently used first out.
+ *
+ * Subscribing and unsubscribing must happen on the main thread, which is where results are delivered.
+ */
+class QueryEngine(private val application: BggApplication) {
+    private val handler = Handler(Looper.getMainLooper())
+    private val queries = mutableMapOf<String, SharedQuery<*>>()
+    private val observers = mutableMapOf<ObserverKey, UriObserver>()
+    private val retainedQueries = linkedMapOf<String, SharedQuery<*>>()
+
+    /**
+     * Start delivering the results of the query with this key to the subscriber, loading it if it isn't already
+     * active. The name groups the load times of similar queries.
+     */
+    fun <T> subscribe(key: String, name: String, uri: Uri, notifyForDescendants: Boolean, throttleMillis: Long, retain: Boolean, loadData: () -> T?, subscriber: (T?) -> Unit) {
+        @Suppress("UNCHECKED_CAST")
+        val query = queries.getOrPut(key) {
+            SharedQuery(key, name, ObserverKey(uri, notifyForDescendants), throttleMillis, retain, loadData).also { attach(it) }
+        } as SharedQuery<T>
+        val wasRetained = retainedQueries.remove(key) != null
+        query.subscribers += subscriber
+        if (wasRetained) {
+            subscriber(query.value)
+        } else if (query.subscribers.size == 1) {
+            load(query)
+        } else if (query.hasValue) {
+            subscriber(query.value)
+        }
+    }
+
+    fun <T> unsubscribe(key: String, subscriber: (T?) -> Unit) {
+        @Suppress("UNCHECKED_CAST")
+        val query = queries[key] as? SharedQuery<T> ?: return
+        query.subscribers -= subscriber
+        if (query.subscribers.isEmpty()) {
+            if (query.retain && query.hasValue && !query.isLoading && !query.isScheduled) {
+                retainedQueries[key] = query
+                if (retainedQueries.size > MAX_RETAINED_QUERIES) release(retainedQueries.values.first())
+            } else {
+                handler.removeCallbacksAndMessages(query)
+                release(query)
+            }
+        }
+    }
+
+    private fun release(query: SharedQuery<*>) {
+        queries.remove(query.key)
+        retainedQueries.remove(query.key)
+        detach(query)
+    }
+
+    private fun attach(query: SharedQuery<*>) {
+        val observer = observers.getOrPut(query.observerKey) {
+            UriObserver(query.observerKey).also {
+                application.contentResolver.registerContentObserver(it.key.uri, it.key.notifyForDescendants, it)
+            }
+        }
+        observer.queries += query
+    }
+
+    private fun detach(query: SharedQuery<*>) {
+        val observer = observers[query.observerKey] ?: return
+        observer.queries -= query
+        if (observer.queries.isEmpty()) {
+            application.contentResolver.unregisterContentObserver(observer)
+            observers.remove(query.observerKey)
+        }
+    }
+
+    private fun invalidate(query: SharedQuery<*>) {
+        if (query.subscribers.isEmpty()) {
+            release(query)
+            return
+        }
+        if (query.isScheduled) return
+        val loadAt = query.lastLoadedAt + query.throttleMillis
+        if (query.lastLoadedAt == 0L || SystemClock.uptimeMillis() >= loadAt) {
+            load(query)
+        } else {
+            query.isScheduled = true
+            handler.postAtTime(loadAt, query) {
+                query.isScheduled = false
+                load(query)
+            }
+        }
+    }
+
+    private fun <T> load(query: SharedQuery<T>) {
+        if (query.isLoading) {
+            query.isInvalidated = true
+            return
+        }
+        query.isLoading = true
+        query.lastLoadedAt = SystemClock.uptimeMillis()
+        application.appExecutors.diskRead.execute {
+            val value = Tracer.trace("query:${query.name}") { query.loadData() }
+            handler.post {
+                query.isLoading = false
+                if (queries[query.key] === query) {
+                    query.value = value
+                    query.hasValue = true
+                    query.subscribers.toList().forEach { it(value) }
+                    if (query.isInvalidated) {
+                        query.isInvalidated = false
+                        invalidate(query)
+                    }
+                }
+            }
+        }
+    }
+
+    private data class ObserverKey(val uri: Uri, val notifyForDescendants: Boolean)
+
+    private inner class UriObserver(val key: ObserverKey) : ContentObserver(handler) {
+        val queries = mutableListOf<SharedQuery<*>>()
+
+        override fun onChange(selfChange: Boolean) {
+            queries.toList().forEach { invalidate(it) }
+        }
+    }
+
+    private class SharedQuery<T>(val key: String, val name: String, val observerKey: ObserverKey, val throttleMillis: Long, val retain: Boolean, val loadData: () -> T?) {
+        val subscribers = mutableListOf<(T?) -> Unit>()
+        var value: T? = null
+        var hasValue = false
+        var isLoading = false
+        var isInvalidated = false
+        var isScheduled = false
+        var lastLoadedAt = 0L
+    }
+
+    companion object {
+        private const val MAX_RETAINED_QUERIES = 20
+    }
+}
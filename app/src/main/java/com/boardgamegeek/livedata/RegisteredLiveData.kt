@@ -1,53 +1,39 @@
 package com.boardgamegeek.livedata
 
-import android.database.ContentObserver
 import android.net.Uri
-import android.os.Handler
-import androidx.core.os.postAtTime
 import androidx.lifecycle.MutableLiveData
 import com.boardgamegeek.BggApplication
-import com.boardgamegeek.util.RateLimiter
 import java.util.concurrent.TimeUnit
 
+/**
+ * Loads data while active, reloading it when the URI changes. Loading is done by the application's [QueryEngine];
+ * instances with the same [queryKey] share a single query. Leave the key null if the data can't be shared.
+ *
+ * Set [retain] for data that's often revisited, e.g. a game as the user navigates away from and back to it; the
+ * engine keeps the last result while it's unchanged, so coming back doesn't query the database again. It requires a
+ * [queryKey].
+ */
 open class RegisteredLiveData<T>(val application: BggApplication,
                                  val uri: Uri,
                                  private val notifyForDescendants: Boolean = false,
                                  throttleTimeout: Int = 1,
                                  throttleTimeUnit: TimeUnit = TimeUnit.SECONDS,
+                                 queryKey: String? = null,
+                                 retain: Boolean = false,
                                  private val loadData: () -> T?) : MutableLiveData<T>() {
-    private val contentObserver = Observer()
-    private val rateLimiter = RateLimiter<Int>(throttleTimeout, throttleTimeUnit)
-    val handler = Handler()
-    private val key = 0
-    private val token = "RegisteredLiveData"
+    private val key = queryKey ?: "$uri#${System.identityHashCode(this)}"
+    private val name = queryKey ?: uri.toString()
+    private val throttleMillis = throttleTimeUnit.toMillis(throttleTimeout.toLong())
+    private val isRetained = retain && queryKey != null
+    private val subscriber: (T?) -> Unit = { value = it }
 
     override fun onActive() {
         super.onActive()
-        updateData()
-        application.contentResolver.registerContentObserver(uri, notifyForDescendants, contentObserver)
+        application.queryEngine.subscribe(key, name, uri, notifyForDescendants, throttleMillis, isRetained, loadData, subscriber)
     }
 
     override fun onInactive() {
         super.onInactive()
-        application.contentResolver.unregisterContentObserver(contentObserver)
-        rateLimiter.reset(key)
+        application.queryEngine.unsubscribe(key, subscriber)
     }
-
-    internal inner class Observer : ContentObserver(null) {
-        override fun onChange(selfChange: Boolean) {
-            if (rateLimiter.shouldProcess(key)) {
-                updateData()
-            } else {
-                handler.removeCallbacksAndMessages(token)
-                handler.postAtTime(rateLimiter.willProcessAt(key), token) { updateData() }
-            }
-        }
-    }
-
-    private fun updateData() {
-        rateLimiter.reset(key)
-        application.appExecutors.diskIO.execute {
-            postValue(loadData())
-        }
-    }
-}
\ No newline at end of file
+}
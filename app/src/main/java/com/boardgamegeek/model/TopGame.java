@@ -1,49 +0,0 @@
-package com.boardgamegeek.model;
-
-public class TopGame {
-	private int id;
-	private int rank;
-	private String thumbnailUrl;
-	private String name;
-	private int yearPublished;
-
-	public int getId() {
-		return id;
-	}
-
-	public void setId(int id) {
-		this.id = id;
-	}
-
-	public int getRank() {
-		return rank;
-	}
-
-	public void setRank(int rank) {
-		this.rank = rank;
-	}
-
-	public String getThumbnailUrl() {
-		return thumbnailUrl == null ? "" : thumbnailUrl;
-	}
-
-	public void setThumbnailUrl(String thumbnailUrl) {
-		this.thumbnailUrl = thumbnailUrl;
-	}
-
-	public String getName() {
-		return name;
-	}
-
-	public void setName(String name) {
-		this.name = name;
-	}
-
-	public int getYearPublished() {
-		return yearPublished;
-	}
-
-	public void setYearPublished(int yearPublished) {
-		this.yearPublished = yearPublished;
-	}
-}
@@ -23,7 +23,11 @@ import com.boardgamegeek.util.ResolverUtils;
 import com.boardgamegeek.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import timber.log.Timber;
 
@@ -31,11 +35,13 @@ public class PlayPersister {
 	private final Context context;
 	private final ContentResolver resolver;
 	private final ArrayList<ContentProviderOperation> batch;
+	private final Set<String> insertedColors;
 
 	public PlayPersister(Context context) {
 		this.context = context;
 		resolver = context.getContentResolver();
 		batch = new ArrayList<>();
+		insertedColors = new HashSet<>();
 	}
 
 	/*
@@ -45,81 +51,118 @@ public class PlayPersister {
 		return resolver.delete(Plays.buildPlayUri(internalId), null, null) > 0;
 	}
 
+	/**
+	 * Save a page of plays from the sync. The existing plays are found with a single query; unchanged plays only have
+	 * their sync timestamp updated (in a single statement) and only changed plays are rewritten. All of this is written
+	 * in a single batch, so the page is saved in one transaction.
+	 */
 	public void save(List<Play> plays, long startTime) {
 		int updateCount = 0;
 		int insertCount = 0;
 		int unchangedCount = 0;
 		int dirtyCount = 0;
 		int errorCount = 0;
+		batch.clear();
+		insertedColors.clear();
 		if (plays != null) {
+			Map<Integer, PlaySyncCandidate> candidates = PlaySyncCandidate.findAll(resolver, plays);
+			List<Long> unchangedIds = new ArrayList<>();
 			for (Play play : plays) {
 				if (play.playId <= 0) {
 					Timber.i("Can't sync a play without a play ID.");
 					errorCount++;
 				} else {
 					play.syncTimestamp = startTime;
-					PlaySyncCandidate candidate = PlaySyncCandidate.find(resolver, play.playId);
-					if (candidate.getInternalId() == BggContract.INVALID_ID) {
-						save(play, BggContract.INVALID_ID, true);
+					PlaySyncCandidate candidate = candidates.get(play.playId);
+					if (candidate == null) {
+						if (canSave(play, BggContract.INVALID_ID)) {
+							addPlayToBatch(play, BggContract.INVALID_ID, true);
+						}
 						insertCount++;
 					} else {
 						if (candidate.isDirty()) {
 							Timber.i("Not saving during the sync; local play is modified.");
 							dirtyCount++;
 						} else if (candidate.getSyncHashCode() == generateSyncHashCode(play)) {
-							updateSyncTimestamp(candidate.getInternalId(), startTime);
+							unchangedIds.add(candidate.getInternalId());
 							unchangedCount++;
 						} else {
-							save(play, candidate.getInternalId(), true);
+							if (canSave(play, candidate.getInternalId())) {
+								addPlayToBatch(play, candidate.getInternalId(), true);
+							}
 							updateCount++;
 						}
 					}
 				}
 			}
+			addSyncTimestampsToBatch(unchangedIds, startTime);
 		}
+		ResolverUtils.applyBatch(context, batch, "Saving a page of " + (plays == null ? 0 : plays.size()) + " plays");
+		batch.clear();
 
 		Timber.i("Updated %1$,d, inserted %2$,d, %3$,d unchanged, %4$,d dirty, %5$,d",
 			updateCount, insertCount, unchangedCount, dirtyCount, errorCount);
 	}
 
 	public long save(Play play, long internalId, boolean includePlayers) {
-		if (play == null) return BggContract.INVALID_ID;
-		if (!isBoardgameSubtype(play)) return BggContract.INVALID_ID;
+		if (!canSave(play, internalId)) return BggContract.INVALID_ID;
+
+		batch.clear();
+		insertedColors.clear();
+		String debugMessage = internalId == BggContract.INVALID_ID ? "Inserting new play" : "Updating play _ID " + internalId;
+		internalId = addPlayToBatch(play, internalId, includePlayers);
 
+		ContentProviderResult[] results = ResolverUtils.applyBatch(context, batch, debugMessage);
 		batch.clear();
+		long insertedId = internalId;
+		if (insertedId == BggContract.INVALID_ID && results != null && results.length > 0) {
+			insertedId = StringUtils.parseLong(results[0].uri.getLastPathSegment(), BggContract.INVALID_ID);
+		}
+		Timber.i("Saved play _ID=%s", insertedId);
+		return insertedId;
+	}
+
+	private boolean canSave(Play play, long internalId) {
+		if (play == null) return false;
+		if (!isBoardgameSubtype(play)) return false;
+		if (internalId == BggContract.INVALID_ID && play.deleteTimestamp > 0) {
+			Timber.i("Skipping inserting a deleted play");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the operations to save the play to the batch. Returns the internal ID of the play, or INVALID_ID if the play
+	 * is inserted by the batch.
+	 */
+	private long addPlayToBatch(Play play, long internalId, boolean includePlayers) {
 		ContentValues values = createContentValues(play);
 
-		String debugMessage;
+		int playIndex = batch.size();
 		if (internalId != BggContract.INVALID_ID) {
-			debugMessage = "Updating play _ID " + internalId;
 			batch.add(ContentProviderOperation
 				.newUpdate(Plays.buildPlayUri(internalId))
 				.withValues(values)
 				.build());
-		} else if (play.deleteTimestamp > 0) {
-			Timber.i("Skipping inserting a deleted play");
-			return BggContract.INVALID_ID;
-		} else {
-			debugMessage = "Inserting new play";
-			if (PreferencesUtils.getAvoidBatching(context)) {
-				Uri uri = resolver.insert(Plays.CONTENT_URI, values);
-				if (uri == null) {
-					Timber.w("Unable to insert new play.");
-					return BggContract.INVALID_ID;
-				}
-				internalId = StringUtils.parseInt(uri.getLastPathSegment(), BggContract.INVALID_ID);
-			} else {
-				batch.add(ContentProviderOperation
-					.newInsert(Plays.CONTENT_URI)
-					.withValues(values)
-					.build());
+		} else if (PreferencesUtils.getAvoidBatching(context)) {
+			Uri uri = resolver.insert(Plays.CONTENT_URI, values);
+			if (uri == null) {
+				Timber.w("Unable to insert new play.");
+				return BggContract.INVALID_ID;
 			}
+			internalId = StringUtils.parseInt(uri.getLastPathSegment(), BggContract.INVALID_ID);
+		} else {
+			batch.add(ContentProviderOperation
+				.newInsert(Plays.CONTENT_URI)
+				.withValues(values)
+				.build());
 		}
 
 		if (includePlayers) {
 			deletePlayerWithEmptyUserNameInBatch(internalId);
 			List<String> existingPlayerIds = removeDuplicateUserNamesFromBatch(internalId);
-			addPlayersToBatch(play, existingPlayerIds, internalId);
+			addPlayersToBatch(play, existingPlayerIds, internalId, playIndex);
 			removeUnusedPlayersFromBatch(internalId, existingPlayerIds);
 
 			if (play.playId > 0 || play.updateTimestamp > 0) {
@@ -128,20 +171,33 @@ public class PlayPersister {
 				saveBuddyNicknamesToBatch(play);
 			}
 		}
+		return internalId;
+	}
 
-		ContentProviderResult[] results = ResolverUtils.applyBatch(context, batch, debugMessage);
-		long insertedId = internalId;
-		if (insertedId == BggContract.INVALID_ID && results != null && results.length > 0) {
-			insertedId = StringUtils.parseLong(results[0].uri.getLastPathSegment(), BggContract.INVALID_ID);
+	private void addSyncTimestampsToBatch(List<Long> internalIds, long startTime) {
+		if (internalIds.isEmpty()) return;
+		batch.add(ContentProviderOperation
+			.newUpdate(Plays.CONTENT_URI)
+			.withSelection(Plays._ID + " IN (" + createPlaceholders(internalIds.size()) + ")", toStringArray(internalIds))
+			.withValue(Plays.SYNC_TIMESTAMP, startTime)
+			.build());
+	}
+
+	private static String createPlaceholders(int count) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) sb.append(",");
+			sb.append("?");
 		}
-		Timber.i("Saved play _ID=%s", insertedId);
-		return insertedId;
+		return sb.toString();
 	}
 
-	private void updateSyncTimestamp(long internalId, long startTime) {
-		ContentValues values = new ContentValues(1);
-		values.put(Plays.SYNC_TIMESTAMP, startTime);
-		resolver.update(Plays.buildPlayUri(internalId), values, null, null);
+	private static String[] toStringArray(List<? extends Number> ids) {
+		String[] args = new String[ids.size()];
+		for (int i = 0; i < ids.size(); i++) {
+			args[i] = String.valueOf(ids.get(i));
+		}
+		return args;
 	}
 
 	private boolean isBoardgameSubtype(Play play) {
@@ -242,7 +298,7 @@ public class PlayPersister {
 		return uniqueUserNames;
 	}
 
-	private void addPlayersToBatch(Play play, List<String> playerUserNames, long internalId) {
+	private void addPlayersToBatch(Play play, List<String> playerUserNames, long internalId, int playIndex) {
 		for (Player player : play.getPlayers()) {
 			String userName = player.username;
 			ContentValues values = new ContentValues();
@@ -266,7 +322,7 @@ public class PlayPersister {
 				if (internalId == BggContract.INVALID_ID) {
 					batch.add(ContentProviderOperation
 						.newInsert(Plays.buildPlayerUri())
-						.withValueBackReference(PlayPlayers._PLAY_ID, 0)
+						.withValueBackReference(PlayPlayers._PLAY_ID, playIndex)
 						.withValues(values)
 						.build());
 				} else {
@@ -308,7 +364,8 @@ public class PlayPersister {
 	}
 
 	/**
-	 * Add the current players' team/colors to the permanent list for the game.
+	 * Add the current players' team/colors to the permanent list for the game. Colors already added to the batch (by
+	 * another play in the same page) are skipped, since the duplicate insert would fail the batch.
 	 */
 	private void updateColorsInBatch(Play play) {
 		// There are no players, so there are no colors to save
@@ -318,18 +375,17 @@ public class PlayPersister {
 		if (!ResolverUtils.rowExists(resolver, Games.buildGameUri(play.gameId))) return;
 
 		Uri insertUri = Games.buildColorsUri(play.gameId);
-		List<String> insertedColors = new ArrayList<>();
 
 		for (Player player : play.getPlayers()) {
 			String color = player.color;
 			if (!TextUtils.isEmpty(color) &&
-				!insertedColors.contains(color) &&
+				!insertedColors.contains(play.gameId + "|" + color) &&
 				!ResolverUtils.rowExists(resolver, Games.buildColorsUri(play.gameId, color))) {
 				batch.add(ContentProviderOperation
 					.newInsert(insertUri)
 					.withValue(GameColors.COLOR, color)
 					.build());
-				insertedColors.add(color);
+				insertedColors.add(play.gameId + "|" + color);
 			}
 		}
 	}
@@ -353,25 +409,9 @@ public class PlayPersister {
 	}
 
 	static class PlaySyncCandidate {
-		public static final PlaySyncCandidate NULL = new PlaySyncCandidate() {
-			@Override
-			public long getInternalId() {
-				return BggContract.INVALID_ID;
-			}
-
-			@Override
-			public int getSyncHashCode() {
-				return 0;
-			}
-
-			@Override
-			public boolean isDirty() {
-				return false;
-			}
-		};
-
 		public static final String[] PROJECTION = {
 			Plays._ID,
+			Plays.PLAY_ID,
 			Plays.SYNC_HASH_CODE,
 			Plays.DELETE_TIMESTAMP,
 			Plays.UPDATE_TIMESTAMP,
@@ -384,21 +424,32 @@ public class PlayPersister {
 		private long updateTimestamp;
 		private long dirtyTimestamp;
 
-		public static PlaySyncCandidate find(ContentResolver resolver, int playId) {
+		/**
+		 * Find the candidates for all of the plays with a play ID, keyed by play ID. Plays not in the database are
+		 * missing from the map.
+		 */
+		public static Map<Integer, PlaySyncCandidate> findAll(ContentResolver resolver, List<Play> plays) {
+			List<Integer> playIds = new ArrayList<>(plays.size());
+			for (Play play : plays) {
+				if (play.playId > 0 && !playIds.contains(play.playId)) playIds.add(play.playId);
+			}
+			Map<Integer, PlaySyncCandidate> candidates = new HashMap<>(playIds.size());
+			if (playIds.isEmpty()) return candidates;
+
 			Cursor cursor = resolver.query(Plays.CONTENT_URI,
 				PROJECTION,
-				Plays.PLAY_ID + "=?",
-				new String[] { String.valueOf(playId) },
+				Plays.PLAY_ID + " IN (" + createPlaceholders(playIds.size()) + ")",
+				toStringArray(playIds),
 				null);
 			try {
-				if (cursor != null && cursor.moveToFirst()) {
-					return fromCursor(cursor);
+				while (cursor != null && cursor.moveToNext()) {
+					int playId = CursorUtils.getInt(cursor, Plays.PLAY_ID);
+					if (!candidates.containsKey(playId)) candidates.put(playId, fromCursor(cursor));
 				}
-				return NULL;
+				return candidates;
 			} finally {
 				if (cursor != null) cursor.close();
 			}
-
 		}
 
 		public static PlaySyncCandidate fromCursor(Cursor cursor) {
@@ -80,23 +80,29 @@ public abstract class BaseProvider {
 		throw new UnsupportedOperationException("Unknown uri inserting: " + uri);
 	}
 
+	/**
+	 * Update the rows at the URI. {@link BggProvider} notifies observers of the URI when this returns a positive count,
+	 * or those of its root URI if {@link #isUpdateOfRoot()}.
+	 */
 	@DebugLog
 	protected int update(Context context, SQLiteDatabase db, Uri uri, ContentValues values, String selection, String[] selectionArgs) {
-		int rowCount = buildSimpleSelection(uri).where(selection, selectionArgs).update(db, values);
-		if (rowCount > 0) notifyChange(context, uri);
-		return rowCount;
+		return buildSimpleSelection(uri).where(selection, selectionArgs).update(db, values);
 	}
 
-	@DebugLog
-	protected int delete(Context context, SQLiteDatabase db, Uri uri, String selection, String[] selectionArgs) {
-		int rowCount = buildSimpleSelection(uri).where(selection, selectionArgs).delete(db);
-		if (rowCount > 0) notifyChange(context, uri);
-		return rowCount;
+	/**
+	 * Whether an update at the URI changes the rows of its root URI (e.g. content://com.boardgamegeek/plays), so their
+	 * observers need to be notified as well.
+	 */
+	protected boolean isUpdateOfRoot() {
+		return false;
 	}
 
+	/**
+	 * Delete the rows at the URI. {@link BggProvider} notifies observers of the URI when this returns a positive count.
+	 */
 	@DebugLog
-	protected void notifyChange(Context context, Uri uri) {
-		context.getContentResolver().notifyChange(uri, null);
+	protected int delete(Context context, SQLiteDatabase db, Uri uri, String selection, String[] selectionArgs) {
+		return buildSimpleSelection(uri).where(selection, selectionArgs).delete(db);
 	}
 
 	@DebugLog
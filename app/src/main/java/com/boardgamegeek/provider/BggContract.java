@@ -65,6 +65,7 @@ public class BggContract {
 		String WINS_COLOR = "WINS_COLOR";
 		String WINNABLE_PLAYS_COLOR = "WINNABLE_PLAYS_COLOR";
 		String ALL_PLAYS_COLOR = "ALL_PLAYS_COLOR";
+		String GAME_SYNC_HASH_CODE = "game_sync_hash_code";
 	}
 
 	interface GameRanksColumns {
@@ -153,6 +154,7 @@ public class BggContract {
 		String HAS_PARTS_DIRTY_TIMESTAMP = "has_parts_dirty_timestamp";
 		String COLLECTION_HERO_IMAGE_URL = "collection_hero_image_url";
 		String PRIVATE_INFO_INVENTORY_LOCATION = "inventory_location";
+		String SYNC_HASH_CODE = "sync_hash_code";
 	}
 
 	interface BuddiesColumns {
@@ -173,6 +175,44 @@ public class BggContract {
 		String PLAYER_COLOR_SORT_ORDER = "player_color_sort";
 	}
 
+	interface ImageUrlsColumns {
+		String IMAGE_ID = "image_id";
+		String SMALL_URL = "small_url";
+		String MEDIUM_URL = "medium_url";
+		String ORIGINAL_URL = "original_url";
+		String UPDATED = "updated";
+	}
+
+	interface ImagePalettesColumns {
+		String IMAGE_URL = "image_url";
+		String SWATCHES = "swatches";
+		String UPDATED = "updated";
+	}
+
+	interface HotnessColumns {
+		String HOTNESS_RANK = "hotness_rank";
+		String GAME_ID = "game_id";
+		String NAME = "name";
+		String YEAR_PUBLISHED = "year_published";
+		String THUMBNAIL_URL = "thumbnail_url";
+		String UPDATED = "updated";
+	}
+
+	interface PlayLocationsColumns {
+		String LOCATION = "location";
+		String PLAY_COUNT = "play_count";
+	}
+
+	interface TopGamesColumns {
+		String TOP_GAME_RANK = "top_game_rank";
+		String GAME_ID = "game_id";
+		String NAME = "name";
+		String YEAR_PUBLISHED = "year_published";
+		String THUMBNAIL_URL = "thumbnail_url";
+		String PREVIOUS_RANK = "previous_rank";
+		String UPDATED = "updated";
+	}
+
 	interface GamePollsColumns {
 		String POLL_NAME = "poll_name";
 		String POLL_TITLE = "poll_title";
@@ -284,6 +324,10 @@ public class BggContract {
 	public static final String PATH_AVATARS = "avatars";
 	public static final String PATH_COLORS = "colors";
 	public static final String PATH_PLAYER_COLORS = "playercolors";
+	public static final String PATH_IMAGE_URLS = "imageurls";
+	public static final String PATH_IMAGE_PALETTES = "imagepalettes";
+	public static final String PATH_HOTNESS = "hotness";
+	public static final String PATH_TOP_GAMES = "topgames";
 	public static final String PATH_PLAYS = "plays";
 	public static final String PATH_PLAYERS = "players";
 	private static final String PATH_LOCATIONS = "locations";
@@ -811,6 +855,42 @@ public class BggContract {
 		}
 	}
 
+	public static class ImageUrls implements ImageUrlsColumns, BaseColumns {
+		public static final Uri CONTENT_URI = BASE_CONTENT_URI.buildUpon().appendPath(PATH_IMAGE_URLS).build();
+
+		public static final String CONTENT_TYPE = "vnd.android.cursor.dir/vnd.boardgamegeek.imageurl";
+		public static final String CONTENT_ITEM_TYPE = "vnd.android.cursor.item/vnd.boardgamegeek.imageurl";
+
+		public static final String DEFAULT_SORT = ImageUrls.IMAGE_ID + " ASC";
+	}
+
+	public static class ImagePalettes implements ImagePalettesColumns, BaseColumns {
+		public static final Uri CONTENT_URI = BASE_CONTENT_URI.buildUpon().appendPath(PATH_IMAGE_PALETTES).build();
+
+		public static final String CONTENT_TYPE = "vnd.android.cursor.dir/vnd.boardgamegeek.imagepalette";
+		public static final String CONTENT_ITEM_TYPE = "vnd.android.cursor.item/vnd.boardgamegeek.imagepalette";
+
+		public static final String DEFAULT_SORT = ImagePalettes.IMAGE_URL + " ASC";
+	}
+
+	public static class Hotness implements HotnessColumns, BaseColumns {
+		public static final Uri CONTENT_URI = BASE_CONTENT_URI.buildUpon().appendPath(PATH_HOTNESS).build();
+
+		public static final String CONTENT_TYPE = "vnd.android.cursor.dir/vnd.boardgamegeek.hotness";
+		public static final String CONTENT_ITEM_TYPE = "vnd.android.cursor.item/vnd.boardgamegeek.hotness";
+
+		public static final String DEFAULT_SORT = Hotness.HOTNESS_RANK + " ASC";
+	}
+
+	public static class TopGames implements TopGamesColumns, BaseColumns {
+		public static final Uri CONTENT_URI = BASE_CONTENT_URI.buildUpon().appendPath(PATH_TOP_GAMES).build();
+
+		public static final String CONTENT_TYPE = "vnd.android.cursor.dir/vnd.boardgamegeek.topgame";
+		public static final String CONTENT_ITEM_TYPE = "vnd.android.cursor.item/vnd.boardgamegeek.topgame";
+
+		public static final String DEFAULT_SORT = TopGames.TOP_GAME_RANK + " ASC";
+	}
+
 	public static class GameSuggestedPlayerCountPollPollResults implements GameSuggestedPlayerCountPollResultsColumns, GamesColumns, BaseColumns {
 		public static final String CONTENT_TYPE = "vnd.android.cursor.dir/vnd.boardgamegeek.boardgamepoll.playercount";
 		public static final String CONTENT_ITEM_TYPE = "vnd.android.cursor.item/vnd.boardgamegeek.boardgamepoll.playercount";
@@ -935,8 +1015,13 @@ public class BggContract {
 		}
 	}
 
-	public static final class PlayLocations {
-		public static final String DEFAULT_SORT = PlaysColumns.LOCATION + COLLATE_NOCASE + " ASC";
+	/**
+	 * The distinct locations of plays, each with the total quantity of plays there. The table is maintained by triggers
+	 * on the plays table, so it's never written directly. Updating it renames the location of plays, which merges it
+	 * into the new location if that's already used.
+	 */
+	public static final class PlayLocations implements PlayLocationsColumns, BaseColumns {
+		public static final String DEFAULT_SORT = PlayLocations.LOCATION + COLLATE_NOCASE + " ASC";
 		public static final String SORT_BY_SUM_QUANTITY = PlaysColumns.SUM_QUANTITY +  " DESC, " + DEFAULT_SORT;
 	}
 
@@ -5,6 +5,7 @@ import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 import android.os.Environment;
+import android.text.TextUtils;
 
 import com.boardgamegeek.extensions.TaskUtils;
 import com.boardgamegeek.pref.SyncPrefs;
@@ -23,11 +24,16 @@ import com.boardgamegeek.provider.BggContract.GameRanks;
 import com.boardgamegeek.provider.BggContract.GameSuggestedPlayerCountPollPollResults;
 import com.boardgamegeek.provider.BggContract.Games;
 import com.boardgamegeek.provider.BggContract.GamesExpansions;
+import com.boardgamegeek.provider.BggContract.Hotness;
+import com.boardgamegeek.provider.BggContract.ImagePalettes;
+import com.boardgamegeek.provider.BggContract.ImageUrls;
 import com.boardgamegeek.provider.BggContract.Mechanics;
+import com.boardgamegeek.provider.BggContract.PlayLocations;
 import com.boardgamegeek.provider.BggContract.PlayPlayers;
 import com.boardgamegeek.provider.BggContract.PlayerColors;
 import com.boardgamegeek.provider.BggContract.Plays;
 import com.boardgamegeek.provider.BggContract.Publishers;
+import com.boardgamegeek.provider.BggContract.TopGames;
 import com.boardgamegeek.service.SyncService;
 import com.boardgamegeek.tasks.ResetGameTask;
 import com.boardgamegeek.tasks.ResetPlaysTask;
@@ -97,7 +103,15 @@ public class BggDatabase extends SQLiteOpenHelper {
 	private static final int VER_COLLECTION_HERO_IMAGE_URL = 49;
 	private static final int VER_GAME_PALETTE_COLORS = 50;
 	private static final int VER_PRIVATE_INFO_INVENTORY_LOCATION = 51;
-	private static final int DATABASE_VERSION = VER_PRIVATE_INFO_INVENTORY_LOCATION;
+	private static final int VER_COLLECTION_SYNC_HASH_CODE = 52;
+	private static final int VER_IMAGE_URLS = 53;
+	private static final int VER_IMAGE_PALETTES = 54;
+	private static final int VER_GAME_SYNC_HASH_CODE = 55;
+	private static final int VER_HOTNESS = 56;
+	private static final int VER_TOP_GAMES = 57;
+	private static final int VER_PLAY_LOCATIONS = 58;
+	private static final int VER_PRODUCER_INDEXES = 59;
+	private static final int DATABASE_VERSION = VER_PRODUCER_INDEXES;
 
 	private final Context context;
 
@@ -152,6 +166,11 @@ public class BggDatabase extends SQLiteOpenHelper {
 		String COLLECTION_VIEWS = "collection_filters";
 		String COLLECTION_VIEW_FILTERS = "collection_filters_details";
 		String PLAYER_COLORS = "player_colors";
+		String IMAGE_URLS = "image_urls";
+		String IMAGE_PALETTES = "image_palettes";
+		String HOTNESS = "hotness";
+		String TOP_GAMES = "top_games";
+		String PLAY_LOCATIONS = "play_locations";
 
 		String GAMES_JOIN_COLLECTION = createJoin(GAMES, COLLECTION, Games.GAME_ID);
 		String GAMES_DESIGNERS_JOIN_DESIGNERS = createJoin(GAMES_DESIGNERS, DESIGNERS, Designers.DESIGNER_ID);
@@ -237,6 +256,14 @@ public class BggDatabase extends SQLiteOpenHelper {
 
 		buildCollectionViewsTable().create(db);
 		buildCollectionViewFiltersTable().create(db);
+
+		buildImageUrlsTable().create(db);
+		buildImagePalettesTable().create(db);
+		buildHotnessTable().create(db);
+		buildTopGamesTable().create(db);
+		buildPlayLocationsTable().create(db);
+		createPlayLocationsTriggers(db);
+		createProducerIndexes(db);
 	}
 
 	private TableBuilder buildDesignersTable() {
@@ -318,6 +345,7 @@ public class BggDatabase extends SQLiteOpenHelper {
 			.addColumn(Games.WINS_COLOR, COLUMN_TYPE.INTEGER)
 			.addColumn(Games.WINNABLE_PLAYS_COLOR, COLUMN_TYPE.INTEGER)
 			.addColumn(Games.ALL_PLAYS_COLOR, COLUMN_TYPE.INTEGER)
+			.addColumn(Games.GAME_SYNC_HASH_CODE, COLUMN_TYPE.INTEGER)
 			.setConflictResolution(CONFLICT_RESOLUTION.ABORT);
 	}
 
@@ -341,6 +369,17 @@ public class BggDatabase extends SQLiteOpenHelper {
 			.addColumn(GamesDesigners.DESIGNER_ID, COLUMN_TYPE.INTEGER, true, true, Tables.DESIGNERS, Designers.DESIGNER_ID);
 	}
 
+	/**
+	 * The unique constraints of the association tables index them by game. These index them by producer, covering the
+	 * game ID, so the games of a producer, and the producers of the games in the collection, are found without reading
+	 * the table.
+	 */
+	private void createProducerIndexes(SQLiteDatabase db) {
+		createIndex(db, Tables.GAMES_DESIGNERS, GamesDesigners.DESIGNER_ID, GamesDesigners.GAME_ID);
+		createIndex(db, Tables.GAMES_ARTISTS, GamesArtists.ARTIST_ID, GamesArtists.GAME_ID);
+		createIndex(db, Tables.GAMES_PUBLISHERS, GamesPublishers.PUBLISHER_ID, GamesPublishers.GAME_ID);
+	}
+
 	private TableBuilder buildGamesArtistsTable() {
 		return new TableBuilder().setTable(Tables.GAMES_ARTISTS).useDefaultPrimaryKey()
 			.addColumn(GamesArtists.GAME_ID, COLUMN_TYPE.INTEGER, true, true, Tables.GAMES, Games.GAME_ID, true)
@@ -416,6 +455,7 @@ public class BggDatabase extends SQLiteOpenHelper {
 			.addColumn(Collection.HAS_PARTS_DIRTY_TIMESTAMP, COLUMN_TYPE.INTEGER)
 			.addColumn(Collection.COLLECTION_HERO_IMAGE_URL, COLUMN_TYPE.TEXT)
 			.addColumn(Collection.PRIVATE_INFO_INVENTORY_LOCATION, COLUMN_TYPE.TEXT)
+			.addColumn(Collection.SYNC_HASH_CODE, COLUMN_TYPE.INTEGER)
 			.setConflictResolution(CONFLICT_RESOLUTION.ABORT);
 	}
 
@@ -557,6 +597,80 @@ public class BggDatabase extends SQLiteOpenHelper {
 			.addColumn(PlayerColors.PLAYER_COLOR_SORT_ORDER, COLUMN_TYPE.INTEGER, true);
 	}
 
+	private TableBuilder buildImageUrlsTable() {
+		return new TableBuilder().setTable(Tables.IMAGE_URLS)
+			.setConflictResolution(CONFLICT_RESOLUTION.REPLACE)
+			.useDefaultPrimaryKey()
+			.addColumn(ImageUrls.IMAGE_ID, COLUMN_TYPE.INTEGER, true, true)
+			.addColumn(ImageUrls.SMALL_URL, COLUMN_TYPE.TEXT)
+			.addColumn(ImageUrls.MEDIUM_URL, COLUMN_TYPE.TEXT)
+			.addColumn(ImageUrls.ORIGINAL_URL, COLUMN_TYPE.TEXT)
+			.addColumn(ImageUrls.UPDATED, COLUMN_TYPE.INTEGER);
+	}
+
+	private TableBuilder buildImagePalettesTable() {
+		return new TableBuilder().setTable(Tables.IMAGE_PALETTES)
+			.setConflictResolution(CONFLICT_RESOLUTION.REPLACE)
+			.useDefaultPrimaryKey()
+			.addColumn(ImagePalettes.IMAGE_URL, COLUMN_TYPE.TEXT, true, true)
+			.addColumn(ImagePalettes.SWATCHES, COLUMN_TYPE.TEXT, true)
+			.addColumn(ImagePalettes.UPDATED, COLUMN_TYPE.INTEGER);
+	}
+
+	private TableBuilder buildHotnessTable() {
+		return new TableBuilder().setTable(Tables.HOTNESS)
+			.setConflictResolution(CONFLICT_RESOLUTION.REPLACE)
+			.useDefaultPrimaryKey()
+			.addColumn(Hotness.HOTNESS_RANK, COLUMN_TYPE.INTEGER, true, true)
+			.addColumn(Hotness.GAME_ID, COLUMN_TYPE.INTEGER, true)
+			.addColumn(Hotness.NAME, COLUMN_TYPE.TEXT, true)
+			.addColumn(Hotness.YEAR_PUBLISHED, COLUMN_TYPE.INTEGER)
+			.addColumn(Hotness.THUMBNAIL_URL, COLUMN_TYPE.TEXT)
+			.addColumn(Hotness.UPDATED, COLUMN_TYPE.INTEGER, true);
+	}
+
+	private TableBuilder buildTopGamesTable() {
+		return new TableBuilder().setTable(Tables.TOP_GAMES)
+			.setConflictResolution(CONFLICT_RESOLUTION.REPLACE)
+			.useDefaultPrimaryKey()
+			.addColumn(TopGames.TOP_GAME_RANK, COLUMN_TYPE.INTEGER, true, true)
+			.addColumn(TopGames.GAME_ID, COLUMN_TYPE.INTEGER, true)
+			.addColumn(TopGames.NAME, COLUMN_TYPE.TEXT, true)
+			.addColumn(TopGames.YEAR_PUBLISHED, COLUMN_TYPE.INTEGER)
+			.addColumn(TopGames.THUMBNAIL_URL, COLUMN_TYPE.TEXT)
+			.addColumn(TopGames.PREVIOUS_RANK, COLUMN_TYPE.INTEGER)
+			.addColumn(TopGames.UPDATED, COLUMN_TYPE.INTEGER, true);
+	}
+
+	private TableBuilder buildPlayLocationsTable() {
+		return new TableBuilder().setTable(Tables.PLAY_LOCATIONS)
+			.useDefaultPrimaryKey()
+			.addColumn(PlayLocations.LOCATION, COLUMN_TYPE.TEXT, true, true)
+			.addColumn(PlayLocations.PLAY_COUNT, COLUMN_TYPE.INTEGER, true);
+	}
+
+	/**
+	 * Keep the play count of each location in step with the plays table. A location with no plays left is removed.
+	 * Plays without a location are counted under an empty location.
+	 */
+	private void createPlayLocationsTriggers(SQLiteDatabase db) {
+		String oldLocation = "IFNULL(OLD." + Plays.LOCATION + ",'')";
+		String newLocation = "IFNULL(NEW." + Plays.LOCATION + ",'')";
+		String add = "INSERT OR IGNORE INTO " + Tables.PLAY_LOCATIONS + " (" + PlayLocations.LOCATION + "," + PlayLocations.PLAY_COUNT + ") VALUES (" + newLocation + ",0);" +
+			"UPDATE " + Tables.PLAY_LOCATIONS + " SET " + PlayLocations.PLAY_COUNT + "=" + PlayLocations.PLAY_COUNT + "+NEW." + Plays.QUANTITY +
+			" WHERE " + PlayLocations.LOCATION + "=" + newLocation + ";";
+		String remove = "UPDATE " + Tables.PLAY_LOCATIONS + " SET " + PlayLocations.PLAY_COUNT + "=" + PlayLocations.PLAY_COUNT + "-OLD." + Plays.QUANTITY +
+			" WHERE " + PlayLocations.LOCATION + "=" + oldLocation + ";" +
+			"DELETE FROM " + Tables.PLAY_LOCATIONS + " WHERE " + PlayLocations.LOCATION + "=" + oldLocation + " AND " + PlayLocations.PLAY_COUNT + "<=0;";
+		db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Tables.PLAY_LOCATIONS + "_insert AFTER INSERT ON " + Tables.PLAYS +
+			" BEGIN " + add + " END");
+		db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Tables.PLAY_LOCATIONS + "_delete AFTER DELETE ON " + Tables.PLAYS +
+			" BEGIN " + remove + " END");
+		db.execSQL("CREATE TRIGGER IF NOT EXISTS " + Tables.PLAY_LOCATIONS + "_update AFTER UPDATE OF " + Plays.LOCATION + "," + Plays.QUANTITY + " ON " + Tables.PLAYS +
+			" WHEN " + oldLocation + "!=" + newLocation + " OR OLD." + Plays.QUANTITY + "!=NEW." + Plays.QUANTITY +
+			" BEGIN " + remove + add + " END");
+	}
+
 	@SuppressWarnings("UnusedAssignment")
 	@Override
 	public void onUpgrade(@NonNull SQLiteDatabase db, int oldVersion, int newVersion) {
@@ -810,6 +924,34 @@ public class BggDatabase extends SQLiteOpenHelper {
 				case VER_GAME_PALETTE_COLORS:
 					addColumn(db, Tables.COLLECTION, Collection.PRIVATE_INFO_INVENTORY_LOCATION, COLUMN_TYPE.TEXT);
 					version = VER_PRIVATE_INFO_INVENTORY_LOCATION;
+				case VER_PRIVATE_INFO_INVENTORY_LOCATION:
+					addColumn(db, Tables.COLLECTION, Collection.SYNC_HASH_CODE, COLUMN_TYPE.INTEGER);
+					version = VER_COLLECTION_SYNC_HASH_CODE;
+				case VER_COLLECTION_SYNC_HASH_CODE:
+					buildImageUrlsTable().create(db);
+					version = VER_IMAGE_URLS;
+				case VER_IMAGE_URLS:
+					buildImagePalettesTable().create(db);
+					version = VER_IMAGE_PALETTES;
+				case VER_IMAGE_PALETTES:
+					addColumn(db, Tables.GAMES, Games.GAME_SYNC_HASH_CODE, COLUMN_TYPE.INTEGER);
+					version = VER_GAME_SYNC_HASH_CODE;
+				case VER_GAME_SYNC_HASH_CODE:
+					buildHotnessTable().create(db);
+					version = VER_HOTNESS;
+				case VER_HOTNESS:
+					buildTopGamesTable().create(db);
+					version = VER_TOP_GAMES;
+				case VER_TOP_GAMES:
+					buildPlayLocationsTable().create(db);
+					db.execSQL("INSERT INTO " + Tables.PLAY_LOCATIONS + " (" + PlayLocations.LOCATION + "," + PlayLocations.PLAY_COUNT + ")" +
+						" SELECT IFNULL(" + Plays.LOCATION + ",''), SUM(" + Plays.QUANTITY + ") FROM " + Tables.PLAYS +
+						" GROUP BY IFNULL(" + Plays.LOCATION + ",'')");
+					createPlayLocationsTriggers(db);
+					version = VER_PLAY_LOCATIONS;
+				case VER_PLAY_LOCATIONS:
+					createProducerIndexes(db);
+					version = VER_PRODUCER_INDEXES;
 			}
 
 			if (version != DATABASE_VERSION) {
@@ -848,6 +990,11 @@ public class BggDatabase extends SQLiteOpenHelper {
 		dropTable(db, Tables.COLLECTION_VIEWS);
 		dropTable(db, Tables.COLLECTION_VIEW_FILTERS);
 		dropTable(db, Tables.PLAYER_COLORS);
+		dropTable(db, Tables.IMAGE_URLS);
+		dropTable(db, Tables.IMAGE_PALETTES);
+		dropTable(db, Tables.HOTNESS);
+		dropTable(db, Tables.TOP_GAMES);
+		dropTable(db, Tables.PLAY_LOCATIONS);
 
 		onCreate(db);
 	}
@@ -856,6 +1003,10 @@ public class BggDatabase extends SQLiteOpenHelper {
 		db.execSQL("DROP TABLE IF EXISTS " + tableName);
 	}
 
+	private void createIndex(@NonNull SQLiteDatabase db, String table, String... columns) {
+		db.execSQL("CREATE INDEX IF NOT EXISTS " + table + "_" + columns[0] + " ON " + table + " (" + TextUtils.join(",", columns) + ")");
+	}
+
 	private void addColumn(@NonNull SQLiteDatabase db, String table, String column, COLUMN_TYPE type) {
 		try {
 			db.execSQL("ALTER TABLE " + table + " ADD COLUMN " + column + " " + type);
@@ -1,24 +1,39 @@
 package com.boardgamegeek.provider;
 
 import android.content.ContentProvider;
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentValues;
+import android.content.OperationApplicationException;
 import android.content.UriMatcher;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.net.Uri;
 import android.os.ParcelFileDescriptor;
+import android.os.SystemClock;
 import androidx.annotation.NonNull;
 import androidx.collection.SimpleArrayMap;
 
+import com.boardgamegeek.util.Tracer;
+
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import hugo.weaving.DebugLog;
 
 public class BggProvider extends ContentProvider {
 	private static final UriMatcher URI_MATCHER = new UriMatcher(UriMatcher.NO_MATCH);
 	private static final SimpleArrayMap<Integer, BaseProvider> PROVIDERS = buildProviderMap();
+	private static final String SECTION_APPLY_BATCH = "provider.applyBatch";
 	private static int URI_MATCH_CODE = 1;
 	private BggDatabase openHelper;
+	/**
+	 * The root URIs changed by the batch running on the current thread, or null when no batch is running.
+	 */
+	private final ThreadLocal<Set<Uri>> batchChangedUris = new ThreadLocal<>();
 
 	@DebugLog
 	private static SimpleArrayMap<Integer, BaseProvider> buildProviderMap() {
@@ -114,6 +129,11 @@ public class BggProvider extends ContentProvider {
 		addProvider(map, new PlayersNameColorsProvider());
 		addProvider(map, new PlayersNameColorsOrderProvider());
 
+		addProvider(map, new ImageUrlsProvider());
+		addProvider(map, new ImagePalettesProvider());
+		addProvider(map, new HotnessProvider());
+		addProvider(map, new TopGamesProvider());
+
 		return map;
 	}
 
@@ -142,9 +162,12 @@ public class BggProvider extends ContentProvider {
 	public Cursor query(@NonNull Uri uri, String[] projection, String selection, String[] selectionArgs, String sortOrder) {
 		SQLiteDatabase db = openHelper.getReadableDatabase();
 		if (getContext() != null) {
-			Cursor cursor = getProvider(uri).query(getContext().getContentResolver(), db, uri, projection, selection, selectionArgs, sortOrder);
+			BaseProvider provider = getProvider(uri);
+			long startTime = SystemClock.elapsedRealtime();
+			Cursor cursor = provider.query(getContext().getContentResolver(), db, uri, projection, selection, selectionArgs, sortOrder);
+			if (cursor == null) return null;
 			cursor.setNotificationUri(getContext().getContentResolver(), uri);
-			return cursor;
+			return new TracedCursor(cursor, "provider.query:" + provider.getClass().getSimpleName(), SystemClock.elapsedRealtime() - startTime);
 		} else {
 			return null;
 		}
@@ -155,23 +178,113 @@ public class BggProvider extends ContentProvider {
 	public Uri insert(@NonNull Uri uri, ContentValues values) {
 		SQLiteDatabase db = openHelper.getWritableDatabase();
 		Uri newUri = getProvider(uri).insert(getContext(), db, uri, values);
-		if (newUri != null & getContext() != null) {
-			getContext().getContentResolver().notifyChange(newUri, null);
-		}
+		if (newUri != null) notifyChange(newUri);
 		return newUri;
 	}
 
 	@DebugLog
 	@Override
 	public int update(@NonNull Uri uri, ContentValues values, String selection, String[] selectionArgs) {
-		return getProvider(uri).update(getContext(), openHelper.getWritableDatabase(), uri, values, selection, selectionArgs);
+		BaseProvider provider = getProvider(uri);
+		int rowCount = provider.update(getContext(), openHelper.getWritableDatabase(), uri, values, selection, selectionArgs);
+		if (rowCount > 0) notifyChange(provider.isUpdateOfRoot() ? getRootUri(uri) : uri);
+		return rowCount;
 	}
 
 	@DebugLog
 	@Override
 	public int delete(@NonNull Uri uri, String selection, String[] selectionArgs) {
 		BaseProvider provider = getProvider(uri);
-		return provider.delete(getContext(), openHelper.getWritableDatabase(), uri, selection, selectionArgs);
+		int rowCount = provider.delete(getContext(), openHelper.getWritableDatabase(), uri, selection, selectionArgs);
+		if (rowCount > 0) notifyChange(uri);
+		return rowCount;
+	}
+
+	/**
+	 * Apply the operations in a single transaction. Observers are notified once per changed root URI (e.g.
+	 * content://com.boardgamegeek/games) after the transaction commits, instead of once per changed row.
+	 */
+	@DebugLog
+	@NonNull
+	@Override
+	public ContentProviderResult[] applyBatch(@NonNull ArrayList<ContentProviderOperation> operations) throws OperationApplicationException {
+		if (batchChangedUris.get() != null) return super.applyBatch(operations);
+
+		Set<Uri> changedUris = new LinkedHashSet<>();
+		SQLiteDatabase db = openHelper.getWritableDatabase();
+		ContentProviderResult[] results;
+		batchChangedUris.set(changedUris);
+		long startTime = Tracer.beginSection(SECTION_APPLY_BATCH);
+		db.beginTransaction();
+		try {
+			results = super.applyBatch(operations);
+			db.setTransactionSuccessful();
+		} finally {
+			db.endTransaction();
+			batchChangedUris.remove();
+			Tracer.endSection(SECTION_APPLY_BATCH, startTime);
+		}
+		notifyChanges(changedUris);
+		return results;
+	}
+
+	/**
+	 * Insert the values in a single transaction, notifying observers once per changed root URI after it commits.
+	 */
+	@DebugLog
+	@Override
+	public int bulkInsert(@NonNull Uri uri, @NonNull ContentValues[] values) {
+		if (batchChangedUris.get() != null) return super.bulkInsert(uri, values);
+
+		Set<Uri> changedUris = new LinkedHashSet<>();
+		SQLiteDatabase db = openHelper.getWritableDatabase();
+		int count;
+		batchChangedUris.set(changedUris);
+		db.beginTransaction();
+		try {
+			count = super.bulkInsert(uri, values);
+			db.setTransactionSuccessful();
+		} finally {
+			db.endTransaction();
+			batchChangedUris.remove();
+		}
+		notifyChanges(changedUris);
+		return count;
+	}
+
+	/**
+	 * Notify observers of a change to the URI, or defer it until the batch running on this thread commits.
+	 */
+	@DebugLog
+	private void notifyChange(Uri uri) {
+		Set<Uri> changedUris = batchChangedUris.get();
+		if (changedUris != null) {
+			changedUris.add(getRootUri(uri));
+		} else if (getContext() != null) {
+			getContext().getContentResolver().notifyChange(uri, null);
+		}
+	}
+
+	@DebugLog
+	private void notifyChanges(Set<Uri> uris) {
+		if (getContext() == null) return;
+		for (Uri uri : uris) {
+			getContext().getContentResolver().notifyChange(uri, null);
+		}
+	}
+
+	/**
+	 * Strips the URI down to its authority and first path segment. Notifying this URI reaches every observer
+	 * registered at or below it.
+	 */
+	private static Uri getRootUri(Uri uri) {
+		List<String> pathSegments = uri.getPathSegments();
+		if (pathSegments == null || pathSegments.isEmpty()) return uri;
+		return new Uri.Builder()
+			.scheme(uri.getScheme())
+			.authority(uri.getAuthority())
+			.appendPath(pathSegments.get(0))
+			.build();
 	}
 
 	@DebugLog
@@ -0,0 +1,28 @@
+package com.boardgamegeek.provider;
+
+import android.net.Uri;
+
+import com.boardgamegeek.provider.BggContract.Hotness;
+import com.boardgamegeek.provider.BggDatabase.Tables;
+
+public class HotnessProvider extends BasicProvider {
+	@Override
+	protected String getDefaultSortOrder() {
+		return Hotness.DEFAULT_SORT;
+	}
+
+	@Override
+	protected String getPath() {
+		return BggContract.PATH_HOTNESS;
+	}
+
+	@Override
+	public String getTable() {
+		return Tables.HOTNESS;
+	}
+
+	@Override
+	protected String getType(Uri uri) {
+		return Hotness.CONTENT_TYPE;
+	}
+}
@@ -0,0 +1,28 @@
+package com.boardgamegeek.provider;
+
+import android.net.Uri;
+
+import com.boardgamegeek.provider.BggContract.ImagePalettes;
+import com.boardgamegeek.provider.BggDatabase.Tables;
+
+public class ImagePalettesProvider extends BasicProvider {
+	@Override
+	protected String getDefaultSortOrder() {
+		return ImagePalettes.DEFAULT_SORT;
+	}
+
+	@Override
+	protected String getPath() {
+		return BggContract.PATH_IMAGE_PALETTES;
+	}
+
+	@Override
+	public String getTable() {
+		return Tables.IMAGE_PALETTES;
+	}
+
+	@Override
+	protected String getType(Uri uri) {
+		return ImagePalettes.CONTENT_TYPE;
+	}
+}
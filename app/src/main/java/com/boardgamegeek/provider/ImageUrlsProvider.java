@@ -0,0 +1,28 @@
+package com.boardgamegeek.provider;
+
+import android.net.Uri;
+
+import com.boardgamegeek.provider.BggContract.ImageUrls;
+import com.boardgamegeek.provider.BggDatabase.Tables;
+
+public class ImageUrlsProvider extends BasicProvider {
+	@Override
+	protected String getDefaultSortOrder() {
+		return ImageUrls.DEFAULT_SORT;
+	}
+
+	@Override
+	protected String getPath() {
+		return BggContract.PATH_IMAGE_URLS;
+	}
+
+	@Override
+	public String getTable() {
+		return Tables.IMAGE_URLS;
+	}
+
+	@Override
+	protected String getType(Uri uri) {
+		return ImageUrls.CONTENT_TYPE;
+	}
+}
@@ -1,6 +1,11 @@
 package com.boardgamegeek.provider;
 
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.net.Uri;
+import android.text.TextUtils;
 
 import com.boardgamegeek.provider.BggContract.PlayLocations;
 import com.boardgamegeek.provider.BggContract.Plays;
@@ -12,9 +17,8 @@ public class PlaysLocationsProvider extends BaseProvider {
 	@Override
 	protected SelectionBuilder buildSimpleSelection(Uri uri) {
 		return new SelectionBuilder()
-			.table(Tables.PLAYS)
-			.groupBy(Plays.LOCATION)
-			.mapAsSum(Plays.SUM_QUANTITY, Plays.QUANTITY);
+			.table(Tables.PLAY_LOCATIONS)
+			.map(Plays.SUM_QUANTITY, PlayLocations.PLAY_COUNT);
 	}
 
 	@Override
@@ -26,4 +30,51 @@ public class PlaysLocationsProvider extends BaseProvider {
 	protected String getPath() {
 		return "plays/locations";
 	}
+
+	/**
+	 * The plays themselves change, so {@link BggProvider} notifies the observers of {@link Plays#CONTENT_URI}, which
+	 * include those of the locations.
+	 */
+	@Override
+	protected boolean isUpdateOfRoot() {
+		return true;
+	}
+
+	/**
+	 * Renames the location of the plays matching the selection to {@link Plays#LOCATION} in a single statement. Plays
+	 * that are synced and unmodified are also marked as updated at {@link Plays#UPDATE_TIMESTAMP}, so the change is
+	 * uploaded; plays waiting to be deleted are left alone. The triggers on the plays table move the play counts to
+	 * the new location, merging them if it's already used.
+	 */
+	@Override
+	protected int update(Context context, SQLiteDatabase db, Uri uri, ContentValues values, String selection, String[] selectionArgs) {
+		String location = values.getAsString(Plays.LOCATION);
+		Long updateTimestamp = values.getAsLong(Plays.UPDATE_TIMESTAMP);
+		if (location == null || updateTimestamp == null) {
+			throw new IllegalArgumentException("Renaming a location requires a location and an update timestamp");
+		}
+
+		String isUnmodified = SelectionBuilder.whereZeroOrNull(Plays.UPDATE_TIMESTAMP) + " AND " +
+			SelectionBuilder.whereZeroOrNull(Plays.DELETE_TIMESTAMP) + " AND " +
+			SelectionBuilder.whereZeroOrNull(Plays.DIRTY_TIMESTAMP);
+		String sql = "UPDATE " + Tables.PLAYS +
+			" SET " + Plays.LOCATION + "=?, " +
+			Plays.UPDATE_TIMESTAMP + "=CASE WHEN " + isUnmodified + " THEN ? ELSE " + Plays.UPDATE_TIMESTAMP + " END" +
+			" WHERE (" + Plays.UPDATE_TIMESTAMP + ">0 OR " + Plays.DIRTY_TIMESTAMP + ">0 OR (" + isUnmodified + "))" +
+			(TextUtils.isEmpty(selection) ? "" : " AND (" + selection + ")");
+
+		SQLiteStatement statement = db.compileStatement(sql);
+		try {
+			statement.bindString(1, location);
+			statement.bindLong(2, updateTimestamp);
+			if (selectionArgs != null) {
+				for (int i = 0; i < selectionArgs.length; i++) {
+					statement.bindString(i + 3, selectionArgs[i]);
+				}
+			}
+			return statement.executeUpdateDelete();
+		} finally {
+			statement.close();
+		}
+	}
 }
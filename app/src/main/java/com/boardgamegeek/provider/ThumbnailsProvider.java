@@ -4,6 +4,7 @@ import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.net.Uri;
 
+import com.boardgamegeek.BggApplication;
 import com.boardgamegeek.util.FileUtils;
 
 import java.io.IOException;
@@ -22,6 +23,11 @@ public class ThumbnailsProvider extends BaseProvider {
 		} catch (IOException e) {
 			Timber.e(e, "Couldn't delete thumbnails");
 			return 0;
+		} finally {
+			// the thumbnail store is kept in a subdirectory
+			if (context.getApplicationContext() instanceof BggApplication) {
+				((BggApplication) context.getApplicationContext()).getThumbnailStore().invalidate();
+			}
 		}
 	}
 }
@@ -0,0 +1,28 @@
+package com.boardgamegeek.provider;
+
+import android.net.Uri;
+
+import com.boardgamegeek.provider.BggContract.TopGames;
+import com.boardgamegeek.provider.BggDatabase.Tables;
+
+public class TopGamesProvider extends BasicProvider {
+	@Override
+	protected String getDefaultSortOrder() {
+		return TopGames.DEFAULT_SORT;
+	}
+
+	@Override
+	protected String getPath() {
+		return BggContract.PATH_TOP_GAMES;
+	}
+
+	@Override
+	public String getTable() {
+		return Tables.TOP_GAMES;
+	}
+
+	@Override
+	protected String getType(Uri uri) {
+		return TopGames.CONTENT_TYPE;
+	}
+}
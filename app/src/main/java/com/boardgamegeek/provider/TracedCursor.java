@@ -0,0 +1,91 @@
+package com.boardgamegeek.provider;
+
+import android.database.Cursor;
+import android.database.CrossProcessCursorWrapper;
+import android.database.CursorWindow;
+import android.os.SystemClock;
+
+import androidx.core.os.TraceCompat;
+
+import com.boardgamegeek.util.Tracer;
+
+/**
+ * Records how long a query took, from building the cursor through filling its first window. SQLite doesn't run the
+ * query until the cursor is first read, so timing only the build would measure next to nothing. Nothing is recorded
+ * for a cursor that's closed without being read.
+ */
+class TracedCursor extends CrossProcessCursorWrapper {
+	private final String sectionName;
+	private final long buildMillis;
+	private boolean isFilled;
+
+	TracedCursor(Cursor cursor, String sectionName, long buildMillis) {
+		super(cursor);
+		this.sectionName = sectionName;
+		this.buildMillis = buildMillis;
+	}
+
+	/**
+	 * Runs the query by counting its rows, which fills the first window.
+	 */
+	private void fill() {
+		if (isFilled) return;
+		isFilled = true;
+		TraceCompat.beginSection(sectionName);
+		long startTime = SystemClock.elapsedRealtime();
+		try {
+			super.getCount();
+		} finally {
+			TraceCompat.endSection();
+			Tracer.record(sectionName, buildMillis + SystemClock.elapsedRealtime() - startTime);
+		}
+	}
+
+	@Override
+	public int getCount() {
+		fill();
+		return super.getCount();
+	}
+
+	@Override
+	public boolean move(int offset) {
+		fill();
+		return super.move(offset);
+	}
+
+	@Override
+	public boolean moveToPosition(int position) {
+		fill();
+		return super.moveToPosition(position);
+	}
+
+	@Override
+	public boolean moveToFirst() {
+		fill();
+		return super.moveToFirst();
+	}
+
+	@Override
+	public boolean moveToLast() {
+		fill();
+		return super.moveToLast();
+	}
+
+	@Override
+	public boolean moveToNext() {
+		fill();
+		return super.moveToNext();
+	}
+
+	@Override
+	public boolean moveToPrevious() {
+		fill();
+		return super.moveToPrevious();
+	}
+
+	@Override
+	public void fillWindow(int position, CursorWindow window) {
+		fill();
+		super.fillWindow(position, window);
+	}
+}
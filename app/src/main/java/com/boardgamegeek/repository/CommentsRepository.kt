@@ -0,0 +1,103 @@
+package com.boardgamegeek.repository
+
+import android.text.format.DateUtils
+import androidx.annotation.WorkerThread
+import androidx.collection.LruCache
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.io.Adapter
+import com.boardgamegeek.io.model.Game
+import com.boardgamegeek.util.PresentationUtils
+import com.boardgamegeek.util.RemoteConfig
+import timber.log.Timber
+import java.io.IOException
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.FutureTask
+
+/**
+ * Fetches the pages of a game's comments, sorted by date or by rating. Pages are kept in an in-memory LRU cache, keyed
+ * by game, sort, and page, for [RemoteConfig.KEY_REFRESH_COMMENTS_MINUTES], so leaving and returning to the comments or
+ * switching the sort back and forth doesn't fetch them again.
+ *
+ * A page can be [prefetch]ed before it's needed; requesting a page that's being fetched waits for that fetch instead of
+ * starting another. Failed fetches aren't cached; an unsuccessful response is thrown as an [HttpStatusException]. The
+ * application holds the single instance.
+ */
+class CommentsRepository(private val application: BggApplication) {
+    private val bggService by lazy { Adapter.createForXml() }
+    private val cache = LruCache<String, CachedPage>(CACHE_SIZE)
+    private val fetches = ConcurrentHashMap<String, FutureTask<Game.Comments>>()
+
+    private class CachedPage(val comments: Game.Comments, val timestamp: Long)
+
+    /**
+     * BGG responded to the fetch with an unsuccessful status, e.g. 429 when it's rate limiting requests.
+     */
+    class HttpStatusException(val code: Int, message: String) : IOException(message)
+
+    /**
+     * Returns the page of comments from memory if it's fresh, otherwise fetches it.
+     */
+    @WorkerThread
+    @Throws(Exception::class)
+    fun getPage(gameId: Int, isSortedByRating: Boolean, page: Int): Game.Comments {
+        val key = createKey(gameId, isSortedByRating, page)
+        getFresh(key)?.let { return it }
+        val task = createFetch(key, gameId, isSortedByRating, page)
+        val existing = fetches.putIfAbsent(key, task)
+        if (existing == null) task.run()
+        try {
+            return (existing ?: task).get()
+        } catch (e: ExecutionException) {
+            val cause = e.cause
+            throw if (cause is Exception) cause else e
+        }
+    }
+
+    /**
+     * Fetch the page of comments in the background, unless it's already in memory or being fetched.
+     */
+    fun prefetch(gameId: Int, isSortedByRating: Boolean, page: Int) {
+        val key = createKey(gameId, isSortedByRating, page)
+        if (getFresh(key) != null || fetches.containsKey(key)) return
+        val task = createFetch(key, gameId, isSortedByRating, page)
+        if (fetches.putIfAbsent(key, task) != null) return
+        Timber.d("Prefetching comments %s", key)
+        application.appExecutors.networkIO.execute(task)
+    }
+
+    private fun getFresh(key: String): Game.Comments? {
+        val cached = cache.get(key) ?: return null
+        val ttl = RemoteConfig.getInt(RemoteConfig.KEY_REFRESH_COMMENTS_MINUTES) * DateUtils.MINUTE_IN_MILLIS
+        if (System.currentTimeMillis() - cached.timestamp > ttl) {
+            cache.remove(key)
+            return null
+        }
+        return cached.comments
+    }
+
+    private fun createFetch(key: String, gameId: Int, isSortedByRating: Boolean, page: Int): FutureTask<Game.Comments> {
+        return object : FutureTask<Game.Comments>(Callable {
+            val call = if (isSortedByRating) bggService.thingWithRatings(gameId, page) else bggService.thingWithComments(gameId, page)
+            val response = call.execute()
+            if (!response.isSuccessful) {
+                throw HttpStatusException(response.code(), PresentationUtils.getHttpErrorMessage(application, response.code()))
+            }
+            val comments = response.body()?.games?.firstOrNull()?.comments
+                    ?: throw IllegalStateException("No comments for game $gameId")
+            cache.put(key, CachedPage(comments, System.currentTimeMillis()))
+            comments
+        }) {
+            override fun done() {
+                fetches.remove(key, this)
+            }
+        }
+    }
+
+    private fun createKey(gameId: Int, isSortedByRating: Boolean, page: Int) = "$gameId:${if (isSortedByRating) "rating" else "date"}:$page"
+
+    companion object {
+        private const val CACHE_SIZE = 50
+    }
+}
@@ -14,7 +14,6 @@ import com.boardgamegeek.extensions.load
 import com.boardgamegeek.io.Adapter
 import com.boardgamegeek.io.BggService
 import com.boardgamegeek.io.model.CollectionResponse
-import com.boardgamegeek.io.model.Image
 import com.boardgamegeek.livedata.RefreshableResourceLoader
 import com.boardgamegeek.mappers.CollectionItemMapper
 import com.boardgamegeek.provider.BggContract
@@ -22,7 +21,6 @@ import com.boardgamegeek.service.SyncService
 import com.boardgamegeek.util.ImageUtils
 import com.boardgamegeek.util.RemoteConfig
 import retrofit2.Call
-import retrofit2.Response
 import timber.log.Timber
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicBoolean
@@ -63,13 +61,7 @@ class GameCollectionRepository(val application: BggApplication) {
 
             override fun saveCallResult(result: CollectionResponse) {
                 val mapper = CollectionItemMapper()
-                val collectionIds = arrayListOf<Int>()
-
-                result.items?.forEach { item ->
-                    val pair = mapper.map(item)
-                    val collectionId = dao.saveItem(pair.first, pair.second, timestamp)
-                    collectionIds.add(collectionId)
-                }
+                val collectionIds = dao.saveItems(result.items?.map { mapper.map(it) } ?: emptyList(), timestamp)
                 Timber.i("Synced %,d collection item(s) for game '%s'", result.items?.size ?: 0, gameId)
 
                 val deleteCount = dao.delete(gameId, collectionIds)
@@ -147,33 +139,19 @@ class GameCollectionRepository(val application: BggApplication) {
         val heroImageId = if (heroImageUrl == null) 0 else ImageUtils.getImageId(heroImageUrl)
         val thumbnailId = if (thumbnailUrl == null) 0 else ImageUtils.getImageId(thumbnailUrl)
         if (heroImageId != thumbnailId && started.compareAndSet(false, true)) {
-            val call = Adapter.createGeekdoApi().image(thumbnailId)
-            call.enqueue(object : retrofit2.Callback<Image> {
-                override fun onResponse(call: Call<Image>?, response: Response<Image>?) {
-                    if (response?.isSuccessful == true) {
-                        val body = response.body()
-                        if (body != null) {
-                            application.appExecutors.diskIO.execute {
-                                val values = ContentValues()
-                                values.put(BggContract.Collection.COLLECTION_HERO_IMAGE_URL, body.images.medium.url)
-                                dao.update(internalId, values)
-                            }
-                        } else {
-                            Timber.w("Empty body while fetching image $thumbnailId for collection $internalId")
-                        }
-                    } else {
-                        val message = response?.message() ?: response?.code().toString()
-                        Timber.w("Unsuccessful response of '$message' while fetching image $thumbnailId for collection $internalId")
+            application.imageRepository.resolve(thumbnailId) { image ->
+                val url = image?.mediumUrl
+                if (!url.isNullOrBlank()) {
+                    application.appExecutors.diskIO.execute {
+                        val values = ContentValues()
+                        values.put(BggContract.Collection.COLLECTION_HERO_IMAGE_URL, url)
+                        dao.update(internalId, values)
                     }
-                    started.set(false)
+                } else {
+                    Timber.w("Unable to resolve image $thumbnailId for collection $internalId")
                 }
-
-                override fun onFailure(call: Call<Image>?, t: Throwable?) {
-                    val message = t?.localizedMessage ?: "Unknown error"
-                    Timber.w("Unsuccessful response of '$message' while fetching image $thumbnailId for collection $internalId")
-                    started.set(false)
-                }
-            })
+                started.set(false)
+            }
         }
     }
 }
@@ -0,0 +1,68 @@
+package com.boardgamegeek.repository
+
+import androidx.lifecycle.LiveData
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.R
+import com.boardgamegeek.db.HotnessDao
+import com.boardgamegeek.entities.HotGameEntity
+import com.boardgamegeek.entities.RefreshableResource
+import com.boardgamegeek.extensions.ensureHttpsScheme
+import com.boardgamegeek.extensions.isOlderThan
+import com.boardgamegeek.io.Adapter
+import com.boardgamegeek.io.BggService
+import com.boardgamegeek.livedata.RefreshableResourceLoader
+import com.boardgamegeek.model.HotnessResponse
+import com.boardgamegeek.util.RemoteConfig
+import com.squareup.picasso.Picasso
+import retrofit2.Call
+import timber.log.Timber
+import java.util.concurrent.TimeUnit
+
+class HotnessRepository(val application: BggApplication) {
+    private val dao = HotnessDao(application)
+    private val refreshHotnessMinutes = RemoteConfig.getInt(RemoteConfig.KEY_REFRESH_HOTNESS_MINUTES)
+
+    /**
+     * Get the hot games from the database, refreshing them from BGG when they're missing or older than the configured
+     * TTL. The saved list is shown while it's refreshed.
+     */
+    fun getHotness(): LiveData<RefreshableResource<List<HotGameEntity>>> {
+        return object : RefreshableResourceLoader<List<HotGameEntity>, HotnessResponse>(application) {
+            private var timestamp = 0L
+
+            override val typeDescriptionResId = R.string.title_hotness
+
+            override fun loadFromDatabase() = dao.loadAsLiveData()
+
+            override fun shouldRefresh(data: List<HotGameEntity>?): Boolean {
+                return data == null || data.isEmpty() || data.first().updated.isOlderThan(refreshHotnessMinutes, TimeUnit.MINUTES)
+            }
+
+            override fun createCall(page: Int): Call<HotnessResponse> {
+                timestamp = System.currentTimeMillis()
+                return Adapter.createForXml().getHotness(BggService.HOTNESS_TYPE_BOARDGAME)
+            }
+
+            override fun saveCallResult(result: HotnessResponse) {
+                val games = result.games.orEmpty().map {
+                    HotGameEntity(it.rank, it.id, it.name.orEmpty(), it.yearPublished, it.thumbnailUrl)
+                }
+                dao.save(games, timestamp)
+                Timber.i("Synced %,d hot games", games.size)
+                warmThumbnails(games)
+            }
+        }.asLiveData()
+    }
+
+    /**
+     * Fetch the thumbnails that aren't in the thumbnail store into Picasso's disk cache, so the list shows them
+     * without waiting on the network as it scrolls.
+     */
+    private fun warmThumbnails(games: List<HotGameEntity>) {
+        val picasso = Picasso.with(application)
+        val store = application.thumbnailStore
+        games.map { it.thumbnailUrl }
+                .filter { it.isNotBlank() && !store.contains(it) }
+                .forEach { picasso.load(it.ensureHttpsScheme()).fetch() }
+    }
+}
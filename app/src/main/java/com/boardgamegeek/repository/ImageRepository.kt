@@ -0,0 +1,136 @@
+package com.boardgamegeek.repository
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import android.text.format.DateUtils
+import androidx.collection.LruCache
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.db.ImageDao
+import com.boardgamegeek.entities.ImageUrlsEntity
+import com.boardgamegeek.io.Adapter
+import com.boardgamegeek.io.model.Image
+import retrofit2.Call
+import retrofit2.Response
+import timber.log.Timber
+
+/**
+ * Resolves geekdo image IDs to the URLs of their sizes. Resolved URLs are kept in an in-memory LRU cache, backed by the
+ * image URLs table, so an image is only fetched from the geekdo API once. Images that fail to resolve are remembered for
+ * [FAILURE_TTL_MILLIS], so rebinding their rows while scrolling doesn't fetch them again.
+ *
+ * - [getCached] answers synchronously from memory, for binding views.
+ * - [resolve] answers from memory when it can. Otherwise requests made within [BATCH_DELAY_MILLIS] of each other are
+ * looked up in the database together, and only the misses are fetched from the API. Concurrent requests for the same
+ * image share one lookup.
+ *
+ * Callbacks are delivered on the main thread. The application holds the single instance.
+ */
+class ImageRepository(private val application: BggApplication) {
+    private val dao = ImageDao(application)
+    private val cache = LruCache<Int, ImageUrlsEntity>(CACHE_SIZE)
+    // the time each image failed to resolve
+    private val failures = LruCache<Int, Long>(CACHE_SIZE)
+    private val handler = Handler(Looper.getMainLooper())
+    // only touched on the main thread
+    private val callbacks = mutableMapOf<Int, MutableList<(ImageUrlsEntity?) -> Unit>>()
+    private val queuedImageIds = mutableSetOf<Int>()
+
+    fun getCached(imageId: Int): ImageUrlsEntity? = if (imageId > 0) cache.get(imageId) else null
+
+    /**
+     * Resolve the URLs of the image, calling back with null if it can't be resolved. The callback is invoked
+     * immediately if the image is in memory and this is called on the main thread.
+     */
+    fun resolve(imageId: Int, callback: (ImageUrlsEntity?) -> Unit) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            handler.post { resolve(imageId, callback) }
+            return
+        }
+        if (imageId <= 0) {
+            callback(null)
+            return
+        }
+        val cached = cache.get(imageId)
+        if (cached != null) {
+            callback(cached)
+            return
+        }
+        if (hasRecentlyFailed(imageId)) {
+            callback(null)
+            return
+        }
+        val pending = callbacks[imageId]
+        if (pending != null) {
+            pending += callback
+            return
+        }
+        callbacks[imageId] = mutableListOf(callback)
+        if (queuedImageIds.isEmpty()) handler.postDelayed({ loadQueued() }, BATCH_DELAY_MILLIS)
+        queuedImageIds += imageId
+    }
+
+    private fun loadQueued() {
+        val imageIds = queuedImageIds.toList()
+        queuedImageIds.clear()
+        if (imageIds.isEmpty()) return
+        application.appExecutors.diskRead.execute {
+            val images = dao.load(imageIds)
+            Timber.d("Found %,d of %,d images in the database", images.size, imageIds.size)
+            handler.post {
+                images.values.forEach { deliver(it.imageId, it) }
+                imageIds.filterNot { images.containsKey(it) }.forEach { fetch(it) }
+            }
+        }
+    }
+
+    private fun fetch(imageId: Int) {
+        Adapter.createGeekdoApi().image(imageId).enqueue(object : retrofit2.Callback<Image> {
+            override fun onResponse(call: Call<Image>?, response: Response<Image>?) {
+                val body = response?.body()
+                if (response?.isSuccessful == true && body?.images != null) {
+                    val image = ImageUrlsEntity(
+                            imageId,
+                            body.images.small?.url.orEmpty(),
+                            body.images.medium?.url.orEmpty(),
+                            body.images.original?.url.orEmpty()
+                    )
+                    application.appExecutors.diskIO.execute { dao.save(listOf(image)) }
+                    deliver(imageId, image)
+                } else {
+                    val message = response?.message() ?: response?.code().toString()
+                    Timber.w("Unsuccessful response of '$message' while fetching image $imageId")
+                    deliver(imageId, null)
+                }
+            }
+
+            override fun onFailure(call: Call<Image>?, t: Throwable?) {
+                val message = t?.localizedMessage ?: "Unknown error"
+                Timber.w("Unsuccessful response of '$message' while fetching image $imageId")
+                deliver(imageId, null)
+            }
+        })
+    }
+
+    private fun hasRecentlyFailed(imageId: Int): Boolean {
+        val failureTime = failures.get(imageId) ?: return false
+        if (SystemClock.elapsedRealtime() - failureTime < FAILURE_TTL_MILLIS) return true
+        failures.remove(imageId)
+        return false
+    }
+
+    private fun deliver(imageId: Int, image: ImageUrlsEntity?) {
+        if (image != null) {
+            cache.put(imageId, image)
+        } else {
+            failures.put(imageId, SystemClock.elapsedRealtime())
+        }
+        callbacks.remove(imageId)?.forEach { it(image) }
+    }
+
+    companion object {
+        private const val CACHE_SIZE = 500
+        private const val BATCH_DELAY_MILLIS = 50L
+        private const val FAILURE_TTL_MILLIS = 5 * DateUtils.MINUTE_IN_MILLIS
+    }
+}
@@ -38,7 +38,19 @@ class PlayRepository(val application: BggApplication) {
     }
 
     fun getPlays(): LiveData<RefreshableResource<List<PlayEntity>>> {
-        return object : RefreshableResourceLoader<List<PlayEntity>, PlaysResponse>(application) {
+        return refreshPlays({ playDao.loadPlays() }, { it == null || it.isEmpty() })
+    }
+
+    /**
+     * Refreshes the plays like [getPlays], but only loads the play count from the database, so the cost doesn't grow
+     * with the number of plays.
+     */
+    fun getPlayCount(): LiveData<RefreshableResource<Int>> {
+        return refreshPlays({ playDao.loadPlayCountAsLiveData() }, { it == null || it == 0 })
+    }
+
+    private fun <T> refreshPlays(loadPlays: () -> LiveData<T>, isEmpty: (T?) -> Boolean): LiveData<RefreshableResource<T>> {
+        return object : RefreshableResourceLoader<T, PlaysResponse>(application) {
             val persister = PlayPersister(application)
             var timestamp = 0L
             val newestTimestamp: Long? = SyncPrefs.getPlaysNewestTimestamp(application)
@@ -51,14 +63,14 @@ class PlayRepository(val application: BggApplication) {
                 get() = R.string.title_plays
 
             @DebugLog
-            override fun loadFromDatabase(): LiveData<List<PlayEntity>> {
-                return playDao.loadPlays()
+            override fun loadFromDatabase(): LiveData<T> {
+                return loadPlays()
             }
 
             @DebugLog
-            override fun shouldRefresh(data: List<PlayEntity>?): Boolean {
+            override fun shouldRefresh(data: T?): Boolean {
                 if (!PreferencesUtils.getSyncPlays(application)) return false
-                return data == null || data.isEmpty() || playsRateLimiter.shouldProcess(0)
+                return isEmpty(data) || playsRateLimiter.shouldProcess(0)
             }
 
             @DebugLog
@@ -167,6 +179,25 @@ class PlayRepository(val application: BggApplication) {
         return playDao.loadPlayersAsLiveData(sortBy)
     }
 
+    fun loadPlaysInProgress(): LiveData<List<PlayEntity>> {
+        return playDao.loadPlaysInProgressAsLiveData()
+    }
+
+    fun loadRecentPlays(limit: Int): LiveData<List<PlayEntity>> {
+        return playDao.loadRecentPlaysAsLiveData(limit)
+    }
+
+    /**
+     * Loads the players the user has played with most often, excluding the user.
+     */
+    fun loadTopPlayers(limit: Int): LiveData<List<PlayerEntity>> {
+        return playDao.loadTopPlayersAsLiveData(limit, username)
+    }
+
+    fun loadTopLocations(limit: Int): LiveData<List<LocationEntity>> {
+        return playDao.loadTopLocationsAsLiveData(limit)
+    }
+
     fun loadPlayersForStats(): List<PlayerEntity> {
         return playDao.loadPlayers(PreferencesUtils.logPlayStatsIncomplete(application))
     }
@@ -0,0 +1,82 @@
+package com.boardgamegeek.repository
+
+import androidx.lifecycle.LiveData
+import androidx.lifecycle.MediatorLiveData
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.R
+import com.boardgamegeek.db.TopGamesDao
+import com.boardgamegeek.entities.RefreshableResource
+import com.boardgamegeek.entities.TopGameEntity
+import com.boardgamegeek.extensions.isOlderThan
+import com.boardgamegeek.io.TopGamesScraper
+import com.boardgamegeek.util.NetworkUtils
+import com.boardgamegeek.util.RemoteConfig
+import timber.log.Timber
+import java.util.concurrent.TimeUnit
+
+class TopGamesRepository(val application: BggApplication) {
+    private val dao = TopGamesDao(application)
+    private val refreshTopGamesHours = RemoteConfig.getInt(RemoteConfig.KEY_REFRESH_TOP_GAMES_HOURS)
+
+    /**
+     * Get the top games from the database, scraping a new snapshot of the ranking from BGG when there is none or it's
+     * older than the configured TTL (a day by default). The saved ranking is shown while it's refreshed.
+     *
+     * The ranking isn't available from the API, so this can't use a [com.boardgamegeek.livedata.RefreshableResourceLoader].
+     */
+    fun getTopGames(): LiveData<RefreshableResource<List<TopGameEntity>>> {
+        val result = MediatorLiveData<RefreshableResource<List<TopGameEntity>>>()
+        val dbSource = dao.loadAsLiveData()
+        var isRefreshing = false
+        var errorMessage = ""
+
+        fun update(games: List<TopGameEntity>?) {
+            result.value = when {
+                isRefreshing -> RefreshableResource.refreshing(games)
+                errorMessage.isNotEmpty() -> RefreshableResource.error(errorMessage, games)
+                else -> RefreshableResource.success(games)
+            }
+        }
+
+        result.addSource(dbSource) { games ->
+            result.removeSource(dbSource)
+            if (games == null || games.isEmpty() || games.first().updated.isOlderThan(refreshTopGamesHours, TimeUnit.HOURS)) {
+                if (NetworkUtils.isOffline(application)) {
+                    errorMessage = application.getString(R.string.msg_offline)
+                } else {
+                    isRefreshing = true
+                    application.appExecutors.networkIO.execute {
+                        val message = refresh()
+                        application.appExecutors.mainThread.execute {
+                            isRefreshing = false
+                            errorMessage = message
+                            update(dbSource.value)
+                        }
+                    }
+                }
+            }
+            result.addSource(dbSource) { update(it) }
+        }
+        return result
+    }
+
+    /**
+     * Scrape and save a new snapshot of the ranking. Returns an error message, or an empty string if it succeeded.
+     */
+    private fun refresh(): String {
+        return try {
+            val timestamp = System.currentTimeMillis()
+            val games = TopGamesScraper().scrape()
+            if (games.isEmpty()) {
+                application.getString(R.string.empty_top_games)
+            } else {
+                dao.save(games, timestamp)
+                Timber.i("Synced %,d top games", games.size)
+                ""
+            }
+        } catch (e: Exception) {
+            Timber.w(e, "Error loading top games")
+            e.localizedMessage ?: application.getString(R.string.empty_top_games)
+        }
+    }
+}
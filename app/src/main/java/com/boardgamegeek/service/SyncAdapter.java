@@ -21,6 +21,7 @@ import com.boardgamegeek.events.SyncEvent;
 import com.boardgamegeek.extensions.BatteryUtils;
 import com.boardgamegeek.io.Adapter;
 import com.boardgamegeek.io.BggService;
+import com.boardgamegeek.io.RequestPacer;
 import com.boardgamegeek.util.DateTimeUtils;
 import com.boardgamegeek.util.HttpUtils;
 import com.boardgamegeek.util.NetworkUtils;
@@ -28,6 +29,7 @@ import com.boardgamegeek.util.NotificationUtils;
 import com.boardgamegeek.util.PreferencesUtils;
 import com.boardgamegeek.util.RemoteConfig;
 import com.boardgamegeek.util.StringUtils;
+import com.boardgamegeek.util.Tracer;
 import com.boardgamegeek.util.fabric.CrashKeys;
 import com.crashlytics.android.Crashlytics;
 
@@ -37,7 +39,9 @@ import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import androidx.annotation.NonNull;
 import androidx.core.app.NotificationCompat;
@@ -51,8 +55,9 @@ import timber.log.Timber;
 
 public class SyncAdapter extends AbstractThreadedSyncAdapter {
 	private BggApplication application;
-	private SyncTask currentTask;
-	private boolean isCancelled;
+	private SyncScheduler scheduler;
+	private volatile boolean isCancelled;
+	private int cancelledMessageId = SyncTask.NO_NOTIFICATION;
 
 	@DebugLog
 	public SyncAdapter(BggApplication context) {
@@ -70,9 +75,9 @@ public class SyncAdapter extends AbstractThreadedSyncAdapter {
 	}
 
 	/**
-	 * Perform a sync. This builds a list of sync tasks from the types specified in the {@code extras bundle}, iterating
-	 * over each. It posts and removes a {@code SyncEvent} with the type of sync task. As well as showing the progress
-	 * in a notification.
+	 * Perform a sync. This builds a list of sync tasks from the types specified in the {@code extras bundle}, running
+	 * each once the tasks it depends on have finished, and tasks that don't depend on each other concurrently. It posts
+	 * and removes a {@code SyncEvent} with the type of sync task. As well as showing the progress in a notification.
 	 */
 	@DebugLog
 	@Override
@@ -80,6 +85,7 @@ public class SyncAdapter extends AbstractThreadedSyncAdapter {
 		RemoteConfig.fetch();
 
 		isCancelled = false;
+		cancelledMessageId = SyncTask.NO_NOTIFICATION;
 		final boolean uploadOnly = extras.getBoolean(ContentResolver.SYNC_EXTRAS_UPLOAD, false);
 		final boolean manualSync = extras.getBoolean(ContentResolver.SYNC_EXTRAS_MANUAL, false);
 		final boolean initialize = extras.getBoolean(ContentResolver.SYNC_EXTRAS_INITIALIZE, false);
@@ -106,36 +112,114 @@ public class SyncAdapter extends AbstractThreadedSyncAdapter {
 		}
 
 		toggleCancelReceiver(true);
-		List<SyncTask> tasks = createTasks(application, type, uploadOnly, syncResult, account);
+		List<SyncTask> tasks = createTasks(application, type, uploadOnly, account);
 		for (int i = 0; i < tasks.size(); i++) {
-			if (isCancelled) {
-				Timber.i("Cancelling all sync tasks");
-				if (currentTask != null) {
-					notifySyncIsCancelled(currentTask.getNotificationSummaryMessageId());
-				}
-				break;
+			// 0 is the ID of the cancelled notification
+			tasks.get(i).setProgressNotificationId(i + 1);
+		}
+		final SyncStatistics syncStatistics = new SyncStatistics("Sync", syncResult, null);
+		scheduler = new SyncScheduler(tasks, createResourceLimits(), new SyncScheduler.Runner() {
+			@Override
+			public boolean run(@NonNull SyncTask task) {
+				return runTask(task, syncResult, syncStatistics);
 			}
-			currentTask = tasks.get(i);
+		});
+		scheduler.run();
+		if (isCancelled) {
+			Timber.i("Cancelled all sync tasks");
+			notifySyncIsCancelled(cancelledMessageId);
+		}
+		syncStatistics.finish();
+		finishSync();
+	}
+
+	/**
+	 * Run a single sync task on the current thread. Returns false if the sync should stop.
+	 */
+	private boolean runTask(@NonNull SyncTask task, @NonNull SyncResult syncResult, @NonNull SyncStatistics syncStatistics) {
+		try {
+			EventBus.getDefault().postSticky(new SyncEvent(task.getSyncType()));
+			Crashlytics.setInt(CrashKeys.SYNC_TYPE, task.getSyncType());
+			task.updateProgressNotification();
+			String sectionName = "sync:" + task.getClass().getSimpleName();
+			SyncStatistics taskStatistics = new SyncStatistics(task.getClass().getSimpleName(), task.getSyncResult(), syncStatistics);
+			task.setStatistics(taskStatistics);
+			long startTime = Tracer.beginSection(sectionName);
 			try {
-				EventBus.getDefault().postSticky(new SyncEvent(currentTask.getSyncType()));
-				Crashlytics.setInt(CrashKeys.SYNC_TYPE, currentTask.getSyncType());
-				currentTask.updateProgressNotification();
-				currentTask.execute();
-				EventBus.getDefault().removeStickyEvent(SyncEvent.class);
-				if (currentTask.isCancelled()) {
-					Timber.i("Sync task %s has requested the sync operation to be cancelled", currentTask);
-					break;
-				}
-			} catch (Exception e) {
-				Timber.e(e, "Syncing %s", currentTask);
-				syncResult.stats.numIoExceptions += 10;
-				showException(currentTask, e);
-				if (e.getCause() instanceof SocketTimeoutException) {
-					break;
-				}
+				task.execute();
+			} finally {
+				Tracer.endSection(sectionName, startTime);
+				taskStatistics.finish();
 			}
+			if (task.isCancelled()) {
+				Timber.i("Sync task %s has requested the sync operation to be cancelled", task);
+				return false;
+			}
+		} catch (Exception e) {
+			Timber.e(e, "Syncing %s", task);
+			task.getSyncResult().stats.numIoExceptions += 10;
+			showException(task, e);
+			if (e.getCause() instanceof SocketTimeoutException) {
+				return false;
+			}
+		} finally {
+			task.cancelProgressNotification();
+			mergeSyncResult(syncResult, task.getSyncResult());
+			updateSyncEvent(task);
 		}
-		finishSync();
+		return true;
+	}
+
+	/**
+	 * Add the results of a finished task to those of the sync. Tasks finish on different threads, so this is the only
+	 * place the sync's results are written to while tasks run.
+	 */
+	private static void mergeSyncResult(@NonNull SyncResult syncResult, @NonNull SyncResult taskResult) {
+		synchronized (syncResult) {
+			syncResult.tooManyDeletions |= taskResult.tooManyDeletions;
+			syncResult.tooManyRetries |= taskResult.tooManyRetries;
+			syncResult.databaseError |= taskResult.databaseError;
+			syncResult.fullSyncRequested |= taskResult.fullSyncRequested;
+			syncResult.partialSyncUnavailable |= taskResult.partialSyncUnavailable;
+			syncResult.moreRecordsToGet |= taskResult.moreRecordsToGet;
+			syncResult.delayUntil = Math.max(syncResult.delayUntil, taskResult.delayUntil);
+			syncResult.stats.numAuthExceptions += taskResult.stats.numAuthExceptions;
+			syncResult.stats.numIoExceptions += taskResult.stats.numIoExceptions;
+			syncResult.stats.numParseExceptions += taskResult.stats.numParseExceptions;
+			syncResult.stats.numConflictDetectedExceptions += taskResult.stats.numConflictDetectedExceptions;
+			syncResult.stats.numInserts += taskResult.stats.numInserts;
+			syncResult.stats.numUpdates += taskResult.stats.numUpdates;
+			syncResult.stats.numDeletes += taskResult.stats.numDeletes;
+			syncResult.stats.numEntries += taskResult.stats.numEntries;
+			syncResult.stats.numSkippedEntries += taskResult.stats.numSkippedEntries;
+		}
+	}
+
+	/**
+	 * Replace the sticky sync event of a finished task with one for a task that's still running, if any.
+	 */
+	private void updateSyncEvent(@NonNull SyncTask finishedTask) {
+		for (SyncTask task : scheduler.getRunningTasks()) {
+			if (task != finishedTask) {
+				EventBus.getDefault().postSticky(new SyncEvent(task.getSyncType()));
+				return;
+			}
+		}
+		EventBus.getDefault().removeStickyEvent(SyncEvent.class);
+	}
+
+	/**
+	 * Returns how many tasks bound by each resource can run at once. Network tasks are limited remotely; their requests
+	 * are paced together (see {@link #createTasks}), so running more of them at once doesn't raise the request rate.
+	 * Database writes are serialized anyway.
+	 */
+	@NonNull
+	private Map<SyncTask.Resource, Integer> createResourceLimits() {
+		Map<SyncTask.Resource, Integer> limits = new EnumMap<>(SyncTask.Resource.class);
+		limits.put(SyncTask.Resource.NETWORK, Math.max(1, RemoteConfig.getInt(RemoteConfig.KEY_SYNC_MAX_CONCURRENT_NETWORK_TASKS)));
+		limits.put(SyncTask.Resource.DATABASE, 1);
+		limits.put(SyncTask.Resource.CPU, Runtime.getRuntime().availableProcessors());
+		return limits;
 	}
 
 	private void finishSync() {
@@ -153,7 +237,11 @@ public class SyncAdapter extends AbstractThreadedSyncAdapter {
 		super.onSyncCanceled();
 		Timber.i("Sync cancel requested.");
 		isCancelled = true;
-		if (currentTask != null) currentTask.cancel();
+		if (scheduler != null) {
+			List<SyncTask> runningTasks = scheduler.getRunningTasks();
+			if (!runningTasks.isEmpty()) cancelledMessageId = runningTasks.get(0).getNotificationSummaryMessageId();
+			scheduler.cancel();
+		}
 	}
 
 	/**
@@ -232,36 +320,44 @@ public class SyncAdapter extends AbstractThreadedSyncAdapter {
 	}
 
 	/**
-	 * Create a list of sync tasks based on the specified type.
+	 * Create a list of sync tasks based on the specified type. A task waits for the tasks before it that write the data
+	 * it uses, so keep them in the order they should sync. Every task gets its own results to count in, and its requests
+	 * to BGG share one {@link RequestPacer}.
 	 */
 	@DebugLog
 	@NonNull
-	private List<SyncTask> createTasks(BggApplication application, final int typeList, boolean uploadOnly, @NonNull SyncResult syncResult, @NonNull Account account) {
-		BggService service = Adapter.createForXmlWithAuth(application);
+	private List<SyncTask> createTasks(BggApplication application, final int typeList, boolean uploadOnly, @NonNull Account account) {
+		RequestPacer pacer = new RequestPacer(RemoteConfig.getLong(RemoteConfig.KEY_SYNC_REQUEST_INTERVAL_MILLIS));
+		OkHttpClient httpClient = HttpUtils.getHttpClientWithAuth(application, pacer);
+		BggService service = Adapter.createForXml(httpClient);
 		List<SyncTask> tasks = new ArrayList<>();
 		if (shouldCreateTask(typeList, SyncService.FLAG_SYNC_COLLECTION_UPLOAD)) {
-			tasks.add(new SyncCollectionUpload(application, service, syncResult));
+			tasks.add(new SyncCollectionUpload(application, service, new SyncResult(), httpClient));
 		}
 		if (shouldCreateTask(typeList, SyncService.FLAG_SYNC_COLLECTION_DOWNLOAD) && !uploadOnly) {
-			tasks.add(new SyncCollectionComplete(application, service, syncResult, account));
-			tasks.add(new SyncCollectionModifiedSince(application, service, syncResult, account));
-			tasks.add(new SyncCollectionUnupdated(application, service, syncResult, account));
+			tasks.add(new SyncCollectionComplete(application, service, new SyncResult(), account));
+			tasks.add(new SyncCollectionModifiedSince(application, service, new SyncResult(), account));
+			tasks.add(new SyncCollectionUnupdated(application, service, new SyncResult(), account));
 		}
 		if (shouldCreateTask(typeList, SyncService.FLAG_SYNC_GAMES) && !uploadOnly) {
-			tasks.add(new SyncGamesRemove(application, service, syncResult));
-			tasks.add(new SyncGamesOldest(application, service, syncResult));
-			tasks.add(new SyncGamesUnupdated(application, service, syncResult));
+			tasks.add(new SyncGamesRemove(application, service, new SyncResult()));
+			tasks.add(new SyncGamesOldest(application, service, new SyncResult()));
+			tasks.add(new SyncGamesUnupdated(application, service, new SyncResult()));
+			tasks.add(new SyncCollectionProducers(application, service, new SyncResult()));
+		}
+		if (shouldCreateTask(typeList, SyncService.FLAG_SYNC_COLLECTION_DOWNLOAD) && !uploadOnly) {
+			tasks.add(new SyncCollectionThumbnails(application, service, new SyncResult()));
 		}
 		if (shouldCreateTask(typeList, SyncService.FLAG_SYNC_PLAYS_UPLOAD)) {
-			tasks.add(new SyncPlaysUpload(application, service, syncResult));
+			tasks.add(new SyncPlaysUpload(application, service, new SyncResult(), httpClient));
 		}
 		if (shouldCreateTask(typeList, SyncService.FLAG_SYNC_PLAYS_DOWNLOAD) && !uploadOnly) {
-			tasks.add(new SyncPlays(application, service, syncResult, account));
+			tasks.add(new SyncPlays(application, service, new SyncResult(), account));
 		}
 		if (shouldCreateTask(typeList, SyncService.FLAG_SYNC_BUDDIES) && !uploadOnly) {
-			tasks.add(new SyncBuddiesList(application, service, syncResult, account));
-			tasks.add(new SyncBuddiesDetailOldest(application, service, syncResult));
-			tasks.add(new SyncBuddiesDetailUnupdated(application, service, syncResult));
+			tasks.add(new SyncBuddiesList(application, service, new SyncResult(), account));
+			tasks.add(new SyncBuddiesDetailOldest(application, service, new SyncResult()));
+			tasks.add(new SyncBuddiesDetailUnupdated(application, service, new SyncResult()));
 		}
 		return tasks;
 	}
@@ -14,6 +14,10 @@ import java.io.IOException
 abstract class SyncBuddiesDetail(application: BggApplication, service: BggService, syncResult: SyncResult) : SyncTask(application, service, syncResult) {
     private var notificationMessage: String = ""
 
+    override val reads = setOf(Data.BUDDIES)
+
+    override val writes = setOf(Data.BUDDIES)
+
     /**
      * Returns a log message to use for debugging purposes.
      */
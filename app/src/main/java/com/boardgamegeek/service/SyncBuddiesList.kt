@@ -27,6 +27,10 @@ class SyncBuddiesList(application: BggApplication, service: BggService, syncResu
 
     override val syncType = SyncService.FLAG_SYNC_BUDDIES
 
+    override val reads = setOf(Data.BUDDIES)
+
+    override val writes = setOf(Data.BUDDIES)
+
     override val notificationSummaryMessageId = R.string.sync_notification_buddies_list
 
     private val fetchIntervalInDays = RemoteConfig.getInt(RemoteConfig.KEY_SYNC_BUDDIES_FETCH_INTERVAL_DAYS)
@@ -33,6 +33,10 @@ class SyncCollectionComplete(application: BggApplication, service: BggService, s
 
     override val syncType = SyncService.FLAG_SYNC_COLLECTION_DOWNLOAD
 
+    override val reads = setOf(Data.COLLECTION)
+
+    override val writes = setOf(Data.COLLECTION, Data.GAMES)
+
     private val syncableStatuses: List<String>
         get() {
             val statuses = ArrayList(PreferencesUtils.getSyncStatuses(context))
@@ -134,10 +138,7 @@ class SyncCollectionComplete(application: BggApplication, service: BggService, s
                 if (items != null && items.size > 0) {
                     updateProgressNotification(context.getString(R.string.sync_notification_collection_saving, items.size, statusDescription, subtypeDescription))
                     val mapper = CollectionItemMapper()
-                    for (item in items) {
-                        val pair = mapper.map(item)
-                        dao.saveItem(pair.first, pair.second, timestamp)
-                    }
+                    dao.saveItems(items.map { mapper.map(it) }, timestamp)
                     SyncPrefs.setCompleteCollectionSyncTimestamp(context, subtype, status, timestamp)
                     syncResult.stats.numUpdates += items.size.toLong()
                     Timber.i("Saved ${items.size} $statusDescription collection $subtypeDescription")
@@ -8,6 +8,7 @@ import com.boardgamegeek.BggApplication
 import com.boardgamegeek.R
 import com.boardgamegeek.db.CollectionDao
 import com.boardgamegeek.entities.CollectionItemEntity
+import com.boardgamegeek.entities.CollectionItemGameEntity
 import com.boardgamegeek.io.BggService
 import com.boardgamegeek.mappers.CollectionItemMapper
 import com.boardgamegeek.pref.SyncPrefs
@@ -26,6 +27,10 @@ class SyncCollectionModifiedSince(application: BggApplication, service: BggServi
     private val statusesToSync = PreferencesUtils.getSyncStatuses(context) ?: arrayListOf<String>()
 
     override val syncType = SyncService.FLAG_SYNC_COLLECTION_DOWNLOAD
+
+    override val reads = setOf(Data.COLLECTION)
+
+    override val writes = setOf(Data.COLLECTION, Data.GAMES)
     override val notificationSummaryMessageId = R.string.sync_notification_collection_partial
 
     override fun execute() {
@@ -101,16 +106,16 @@ class SyncCollectionModifiedSince(application: BggApplication, service: BggServi
                 if (items != null && items.size > 0) {
                     updateProgressNotification(context.getString(R.string.sync_notification_collection_since_saving, items.size, subtypeDescription, formattedDateTime))
                     val mapper = CollectionItemMapper()
-                    var count = 0
+                    val itemsToSave = arrayListOf<Pair<CollectionItemEntity, CollectionItemGameEntity>>()
                     for (item in items) {
                         val pair = mapper.map(item)
                         if (isItemStatusSetToSync(pair.first)) {
-                            val collectionId = dao.saveItem(pair.first, pair.second, timestamp)
-                            if (collectionId != BggContract.INVALID_ID) count++
+                            itemsToSave.add(pair)
                         } else {
                             Timber.i("Skipped collection item '${pair.first.gameName}' [ID=${pair.first.gameId}, collection ID=${pair.first.collectionId}] - collection status not synced")
                         }
                     }
+                    val count = dao.saveItems(itemsToSave, timestamp).count { it != BggContract.INVALID_ID }
                     syncResult.stats.numUpdates += count.toLong()
                     Timber.i("...saved %,d collection %s", count, subtypeDescription)
                 } else {
@@ -0,0 +1,175 @@
+package com.boardgamegeek.service
+
+import android.content.ContentProviderOperation
+import android.content.SyncResult
+import android.net.Uri
+import androidx.core.content.contentValuesOf
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.R
+import com.boardgamegeek.extensions.applyBatch
+import com.boardgamegeek.extensions.use
+import com.boardgamegeek.io.BggService
+import com.boardgamegeek.model.Company
+import com.boardgamegeek.model.Person
+import com.boardgamegeek.provider.BggContract
+import com.boardgamegeek.provider.BggContract.*
+import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.provider.BggDatabase.*
+import com.boardgamegeek.util.RemoteConfig
+import com.boardgamegeek.util.SelectionBuilder
+import retrofit2.Response
+import timber.log.Timber
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Fetches the descriptions of the designers, artists, and publishers of the games in the collection that have never
+ * been fetched or are older than [RemoteConfig.KEY_REFRESH_PRODUCER_DAYS], so opening a credit from a game shows it
+ * without waiting on BGG. BGG returns one producer per request, so the requests are paced and the results of each type
+ * are saved in a single batch.
+ */
+class SyncCollectionProducers(application: BggApplication, service: BggService, syncResult: SyncResult) : SyncTask(application, service, syncResult) {
+    override val syncType = SyncService.FLAG_SYNC_GAMES
+
+    override val reads = setOf(Data.COLLECTION, Data.GAMES)
+
+    override val writes = setOf(Data.PRODUCERS)
+
+    override val notificationSummaryMessageId = R.string.sync_notification_producers
+
+    private val maxFetchCount = RemoteConfig.getInt(RemoteConfig.KEY_SYNC_PRODUCERS_FETCH_MAX)
+
+    private val fetchPauseMillis = RemoteConfig.getLong(RemoteConfig.KEY_SYNC_PRODUCERS_FETCH_PAUSE_MILLIS)
+
+    private val refreshDays = RemoteConfig.getInt(RemoteConfig.KEY_REFRESH_PRODUCER_DAYS)
+
+    private var fetchCount = 0
+
+    private enum class ProducerType(
+            val contentUri: Uri,
+            val idColumn: String,
+            val nameColumn: String,
+            val descriptionColumn: String,
+            val associationTable: String,
+            val associationIdColumn: String) {
+        DESIGNER(Designers.CONTENT_URI, Designers.DESIGNER_ID, Designers.DESIGNER_NAME, Designers.DESIGNER_DESCRIPTION, Tables.GAMES_DESIGNERS, GamesDesigners.DESIGNER_ID),
+        ARTIST(Artists.CONTENT_URI, Artists.ARTIST_ID, Artists.ARTIST_NAME, Artists.ARTIST_DESCRIPTION, Tables.GAMES_ARTISTS, GamesArtists.ARTIST_ID),
+        PUBLISHER(Publishers.CONTENT_URI, Publishers.PUBLISHER_ID, Publishers.PUBLISHER_NAME, Publishers.PUBLISHER_DESCRIPTION, Tables.GAMES_PUBLISHERS, GamesPublishers.PUBLISHER_ID);
+
+        fun buildUri(id: Int): Uri = contentUri.buildUpon().appendPath(id.toString()).build()
+    }
+
+    override fun execute() {
+        Timber.i("Syncing stale designers, artists, and publishers of games in the collection...")
+        try {
+            for (type in ProducerType.values()) {
+                if (isCancelled || fetchCount >= maxFetchCount) break
+                if (!sync(type)) break
+            }
+        } finally {
+            Timber.i("...complete!")
+        }
+    }
+
+    /**
+     * Fetch and save the stale producers of this type. Returns false if syncing should stop.
+     */
+    private fun sync(type: ProducerType): Boolean {
+        val ids = queryStaleIds(type, maxFetchCount - fetchCount)
+        Timber.i("...found %,d stale %s", ids.size, type.name.toLowerCase())
+        if (ids.isEmpty()) return true
+
+        val batch = arrayListOf<ContentProviderOperation>()
+        var savedCount = 0
+        var shouldContinue = true
+        for (id in ids) {
+            if (isCancelled) {
+                shouldContinue = false
+                break
+            }
+            if (fetchCount > 0 && wasSleepInterrupted(fetchPauseMillis, showNotification = false)) {
+                shouldContinue = false
+                break
+            }
+            fetchCount++
+            val detail = context.getString(R.string.sync_notification_producers_progress, fetchCount, maxFetchCount)
+            updateProgressNotification(detail)
+            try {
+                val timestamp = System.currentTimeMillis()
+                val response = fetch(type, id)
+                if (!response.isSuccessful) {
+                    showError(detail, response.code())
+                    syncResult.stats.numIoExceptions++
+                    shouldContinue = false
+                    break
+                }
+                val (name, description) = when (val body = response.body()) {
+                    is Person -> body.name to body.description
+                    is Company -> body.name to body.description
+                    else -> null to null
+                }
+                if (name.isNullOrBlank()) {
+                    // stamp it anyway, so it isn't the first to be fetched again on the next sync
+                    Timber.i("...no %s with ID %d", type.name.toLowerCase(), id)
+                    batch += ContentProviderOperation.newUpdate(type.buildUri(id))
+                            .withValue(SyncColumns.UPDATED, timestamp)
+                            .build()
+                    continue
+                }
+                batch += ContentProviderOperation.newUpdate(type.buildUri(id))
+                        .withValues(contentValuesOf(
+                                type.nameColumn to name,
+                                type.descriptionColumn to description,
+                                SyncColumns.UPDATED to timestamp
+                        ))
+                        .build()
+                savedCount++
+            } catch (e: IOException) {
+                showError(detail, e)
+                syncResult.stats.numIoExceptions++
+                shouldContinue = false
+                break
+            }
+        }
+
+        // save what was fetched, even if syncing stopped part way through
+        if (batch.isNotEmpty()) {
+            context.contentResolver.applyBatch(context, batch, "Producers")
+            syncResult.stats.numUpdates += savedCount.toLong()
+            Timber.i("...saved %,d %s", savedCount, type.name.toLowerCase())
+        }
+        return shouldContinue
+    }
+
+    private fun fetch(type: ProducerType, id: Int): Response<*> {
+        return when (type) {
+            ProducerType.DESIGNER -> service.person(BggService.PERSON_TYPE_DESIGNER, id).execute()
+            ProducerType.ARTIST -> service.person(BggService.PERSON_TYPE_ARTIST, id).execute()
+            ProducerType.PUBLISHER -> service.company(BggService.COMPANY_TYPE_PUBLISHER, id).execute()
+        }
+    }
+
+    /**
+     * The IDs of producers of games in the collection that have never been fetched or are older than the refresh
+     * age, least recently fetched first.
+     */
+    private fun queryStaleIds(type: ProducerType, limit: Int): List<Int> {
+        if (limit <= 0) return emptyList()
+        val staleTimestamp = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(refreshDays.toLong())
+        val selection = "(${SelectionBuilder.whereZeroOrNull(SyncColumns.UPDATED)} OR ${SyncColumns.UPDATED}<?) AND " +
+                "${type.idColumn} IN (SELECT ${type.associationIdColumn} FROM ${type.associationTable} " +
+                "WHERE ${Games.GAME_ID} IN (SELECT ${Collection.GAME_ID} FROM ${Tables.COLLECTION}))"
+        val ids = arrayListOf<Int>()
+        context.contentResolver.query(
+                type.contentUri.buildUpon().appendQueryParameter(BggContract.QUERY_KEY_LIMIT, limit.toString()).build(),
+                arrayOf(type.idColumn),
+                selection,
+                arrayOf(staleTimestamp.toString()),
+                "${SyncColumns.UPDATED} ASC")?.use {
+            while (it.moveToNext()) {
+                ids += it.getInt(0)
+            }
+        }
+        return ids
+    }
+}
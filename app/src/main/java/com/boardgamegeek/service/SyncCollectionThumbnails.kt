@@ -0,0 +1,98 @@
+package com.boardgamegeek.service
+
+import android.content.SyncResult
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.R
+import com.boardgamegeek.extensions.ensureHttpsScheme
+import com.boardgamegeek.extensions.isCharging
+import com.boardgamegeek.extensions.use
+import com.boardgamegeek.io.BggService
+import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.util.NetworkUtils
+import com.squareup.picasso.MemoryPolicy
+import com.squareup.picasso.NetworkPolicy
+import com.squareup.picasso.Picasso
+import timber.log.Timber
+import java.io.IOException
+
+/**
+ * Downloads a downscaled thumbnail of every item in the collection into the [com.boardgamegeek.util.ThumbnailStore],
+ * so the collection can be browsed offline. Only runs on Wi-Fi while charging, and stops once the store is full.
+ */
+class SyncCollectionThumbnails(application: BggApplication, service: BggService, syncResult: SyncResult) : SyncTask(application, service, syncResult) {
+    override val syncType = SyncService.FLAG_SYNC_COLLECTION_DOWNLOAD
+
+    override val reads = setOf(Data.COLLECTION)
+
+    override val writes = setOf(Data.THUMBNAILS)
+
+    override val notificationSummaryMessageId = R.string.sync_notification_collection_thumbnails
+
+    override fun execute() {
+        if (!NetworkUtils.isOnWiFi(context) || !context.isCharging()) {
+            Timber.i("Skipping thumbnail prefetch; not on Wi-Fi and charging")
+            return
+        }
+        Timber.i("Prefetching collection thumbnails...")
+        val store = application.thumbnailStore
+        val urls = queryThumbnailUrls().filterNot { store.contains(it) }
+        Timber.i("...found %,d thumbnails to fetch", urls.size)
+
+        val size = context.resources.getDimensionPixelSize(R.dimen.thumbnail_size)
+        var count = 0
+        var skippedCount = 0
+        for ((index, url) in urls.withIndex()) {
+            if (isCancelled) break
+            if (store.isFull) {
+                Timber.i("...thumbnail store is full")
+                break
+            }
+            if (index % PROGRESS_INTERVAL == 0) {
+                updateProgressNotification(context.getString(R.string.sync_notification_collection_thumbnails_progress, index, urls.size))
+            }
+            try {
+                // the downscaled copy is kept in the store, so keep the full image out of the memory and disk caches
+                val bitmap = Picasso.with(context)
+                        .load(url.ensureHttpsScheme())
+                        .memoryPolicy(MemoryPolicy.NO_CACHE, MemoryPolicy.NO_STORE)
+                        .networkPolicy(NetworkPolicy.NO_STORE)
+                        .resize(size, size)
+                        .centerCrop()
+                        .get()
+                if (bitmap != null && store.store(url, bitmap)) count++
+            } catch (e: IOException) {
+                // a missing or removed image shouldn't fail the sync; losing the network stops the task
+                if (!NetworkUtils.isOnWiFi(context)) {
+                    Timber.i(e, "...lost Wi-Fi; stopping")
+                    break
+                }
+                Timber.w(e, "Unable to fetch thumbnail %s; skipping", url)
+                syncResult.stats.numSkippedEntries++
+                skippedCount++
+            }
+        }
+        Timber.i("...stored %,d thumbnails, skipped %,d", count, skippedCount)
+    }
+
+    /**
+     * The thumbnail URL shown for each item in the collection list.
+     */
+    private fun queryThumbnailUrls(): List<String> {
+        val urls = linkedSetOf<String>()
+        context.contentResolver.query(Collection.CONTENT_URI,
+                arrayOf(Collection.COLLECTION_THUMBNAIL_URL, Collection.THUMBNAIL_URL),
+                null,
+                null,
+                null)?.use {
+            while (it.moveToNext()) {
+                val url = it.getString(0).orEmpty().ifEmpty { it.getString(1).orEmpty() }
+                if (url.isNotBlank()) urls += url
+            }
+        }
+        return urls.toList()
+    }
+
+    companion object {
+        private const val PROGRESS_INTERVAL = 20
+    }
+}
@@ -24,6 +24,10 @@ class SyncCollectionUnupdated(application: BggApplication, service: BggService,
 
     override val syncType = SyncService.FLAG_SYNC_COLLECTION_DOWNLOAD
 
+    override val reads = setOf(Data.COLLECTION)
+
+    override val writes = setOf(Data.COLLECTION, Data.GAMES)
+
     override val notificationSummaryMessageId = R.string.sync_notification_collection_unupdated
 
     private val fetchPauseMillis = RemoteConfig.getLong(RemoteConfig.KEY_SYNC_COLLECTION_FETCH_PAUSE_MILLIS)
@@ -123,10 +127,7 @@ class SyncCollectionUnupdated(application: BggApplication, service: BggService,
                 val items = response.body()?.items
                 return if (items != null && items.size > 0) {
                     val mapper = CollectionItemMapper()
-                    for (item in items) {
-                        val pair = mapper.map(item)
-                        dao.saveItem(pair.first, pair.second, timestamp)
-                    }
+                    dao.saveItems(items.map { mapper.map(it) }, timestamp)
                     syncResult.stats.numUpdates += items.size.toLong()
                     Timber.i("...saved %,d collection items", items.size)
                     items.size
@@ -9,16 +9,15 @@ import androidx.annotation.StringRes
 import com.boardgamegeek.BggApplication
 import com.boardgamegeek.R
 import com.boardgamegeek.auth.Authenticator
-import com.boardgamegeek.extensions.executeAsyncTask
 import com.boardgamegeek.extensions.use
 import com.boardgamegeek.io.BggService
 import com.boardgamegeek.provider.BggContract
 import com.boardgamegeek.provider.BggContract.Collection
 import com.boardgamegeek.service.model.CollectionItem
 import com.boardgamegeek.tasks.sync.SyncCollectionByGameTask
+import com.boardgamegeek.tasks.sync.SyncTaskExecutor
 import com.boardgamegeek.ui.CollectionActivity
 import com.boardgamegeek.ui.GameActivity
-import com.boardgamegeek.util.HttpUtils
 import com.boardgamegeek.util.NotificationUtils
 import com.boardgamegeek.util.SelectionBuilder
 import hugo.weaving.DebugLog
@@ -28,8 +27,7 @@ import timber.log.Timber
 import java.util.*
 import java.util.concurrent.TimeUnit
 
-class SyncCollectionUpload(application: BggApplication, service: BggService, syncResult: SyncResult) : SyncUploadTask(application, service, syncResult) {
-    private val okHttpClient: OkHttpClient = HttpUtils.getHttpClientWithAuth(context)
+class SyncCollectionUpload(application: BggApplication, service: BggService, syncResult: SyncResult, private val okHttpClient: OkHttpClient) : SyncUploadTask(application, service, syncResult) {
     private val deleteTask: CollectionDeleteTask
     private val addTask: CollectionAddTask
     private val uploadTasks: List<CollectionUploadTask>
@@ -40,6 +38,10 @@ class SyncCollectionUpload(application: BggApplication, service: BggService, syn
 
     override val syncType = SyncService.FLAG_SYNC_COLLECTION_UPLOAD
 
+    override val reads = setOf(Data.COLLECTION)
+
+    override val writes = setOf(Data.COLLECTION)
+
     override val notificationTitleResId = R.string.sync_notification_title_collection_upload
 
     override val summarySuffixResId = R.plurals.collection_items_suffix
@@ -163,8 +165,9 @@ class SyncCollectionUpload(application: BggApplication, service: BggService, syn
         }
         val contentValues = ContentValues()
         addTask.appendContentValues(contentValues)
+        contentValues.put(Collection.SYNC_HASH_CODE, 0)
         context.contentResolver.update(Collection.buildUri(item.internalId), contentValues, null, null)
-        SyncCollectionByGameTask(application, item.gameId).executeAsyncTask()
+        SyncTaskExecutor.execute(SyncCollectionByGameTask(application, item.gameId), SyncTaskExecutor.Priority.LOW)
         notifySuccess(item, item.gameId * -1, R.string.sync_notification_collection_added)
     }
 
@@ -176,6 +179,7 @@ class SyncCollectionUpload(application: BggApplication, service: BggService, syn
                 if (processUploadTask(task, item, contentValues)) return
             }
             if (contentValues.size() > 0) {
+                contentValues.put(Collection.SYNC_HASH_CODE, 0)
                 context.contentResolver.update(Collection.buildUri(item.internalId), contentValues, null, null)
                 notifySuccess(item, item.collectionId, R.string.sync_notification_collection_updated)
             }
@@ -17,6 +17,10 @@ import java.util.*
 abstract class SyncGames(application: BggApplication, service: BggService, syncResult: SyncResult) : SyncTask(application, service, syncResult) {
     private val dao = GameDao(application)
 
+    override val reads = setOf(Data.GAMES)
+
+    override val writes = setOf(Data.GAMES)
+
     protected open val maxFetchCount = RemoteConfig.getInt(RemoteConfig.KEY_SYNC_GAMES_FETCH_MAX)
 
     private val gamesPerFetch = RemoteConfig.getInt(RemoteConfig.KEY_SYNC_GAMES_PER_FETCH)
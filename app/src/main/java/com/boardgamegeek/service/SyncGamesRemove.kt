@@ -22,6 +22,12 @@ class SyncGamesRemove(application: BggApplication, service: BggService, syncResu
 
     override val syncType = SyncService.FLAG_SYNC_COLLECTION_DOWNLOAD
 
+    override val resource = Resource.DATABASE
+
+    override val reads = setOf(Data.COLLECTION, Data.PLAYS)
+
+    override val writes = setOf(Data.GAMES)
+
     override val notificationSummaryMessageId = R.string.sync_notification_collection_missing
 
     private val lastViewedAgeInHours = RemoteConfig.getInt(RemoteConfig.KEY_SYNC_GAMES_DELETE_VIEW_HOURS)
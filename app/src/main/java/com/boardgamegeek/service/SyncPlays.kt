@@ -18,14 +18,22 @@ import com.boardgamegeek.util.PreferencesUtils
 import com.boardgamegeek.util.RemoteConfig
 import retrofit2.Response
 import timber.log.Timber
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 
 class SyncPlays(application: BggApplication, service: BggService, syncResult: SyncResult, private val account: Account) : SyncTask(application, service, syncResult) {
     private var startTime: Long = 0
     private val persister: PlayPersister = PlayPersister(context)
     private val playDao: PlayDao = PlayDao(application)
+    private val writer: ExecutorService = Executors.newSingleThreadExecutor()
 
     override val syncType = SyncService.FLAG_SYNC_PLAYS_DOWNLOAD
 
+    // the persister also stores the games' player sort and colors
+    override val writes = setOf(Data.PLAYS, Data.GAMES)
+
     override val notificationSummaryMessageId = R.string.sync_notification_plays
 
     private val fetchPauseMillis = RemoteConfig.getLong(RemoteConfig.KEY_SYNC_PLAYS_FETCH_PAUSE_MILLIS)
@@ -63,6 +71,7 @@ class SyncPlays(application: BggApplication, service: BggService, syncResult: Sy
             }
             CalculatePlayStatsTask(application).executeAsyncTask()
         } finally {
+            writer.shutdown()
             Timber.i("...complete!")
         }
     }
@@ -72,9 +81,30 @@ class SyncPlays(application: BggApplication, service: BggService, syncResult: Sy
      * first. Each page fetch shows a notification progress message. If successfully fetched, store the plays in the
      * database and update the sync timestamps. If there are more pages, pause then fetch another page .
      *
+     * Pages are stored on the writer thread, so the pause and the next fetch overlap with storing the previous page.
+     * Only one page is stored at a time, and all pages are stored before this returns.
+     *
      * @return true if the sync operation should cancel
      */
     private fun executeCall(username: String, minDate: String?, maxDate: String?): Boolean {
+        var pendingWrite: Future<*>? = null
+        val cancelled = try {
+            fetchPages(username, minDate, maxDate) { plays ->
+                if (!awaitWrite(pendingWrite)) return@fetchPages false
+                pendingWrite = writer.submit {
+                    persist(plays)
+                    updateTimestamps(plays)
+                }
+                true
+            }
+        } catch (e: Exception) {
+            awaitWrite(pendingWrite)
+            throw e
+        }
+        return !awaitWrite(pendingWrite) || cancelled
+    }
+
+    private fun fetchPages(username: String, minDate: String?, maxDate: String?, write: (List<Play>?) -> Boolean): Boolean {
         var response: PlaysResponse?
         var page = 1
         do {
@@ -105,13 +135,30 @@ class SyncPlays(application: BggApplication, service: BggService, syncResult: Sy
             response = r.body()
             val mapper = PlayMapper()
             val plays = mapper.map(response?.plays)
-            persist(plays)
-            updateTimestamps(plays)
+            if (!write(plays)) return true
             page++
         } while (response != null && response.hasMorePages())
         return false
     }
 
+    /**
+     * Wait for the page being stored to finish, rethrowing any failure on this thread.
+     *
+     * @return false if interrupted while waiting
+     */
+    private fun awaitWrite(write: Future<*>?): Boolean {
+        try {
+            write?.get()
+        } catch (e: InterruptedException) {
+            Timber.i("Interrupted while storing plays")
+            Thread.currentThread().interrupt()
+            return false
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        }
+        return true
+    }
+
     private fun formatNotificationMessage(minDate: String?, maxDate: String?, page: Int): String {
         val message = when {
             minDate.isNullOrBlank() && maxDate.isNullOrBlank() -> context.getString(R.string.sync_notification_plays_all)
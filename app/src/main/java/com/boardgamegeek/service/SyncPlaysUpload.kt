@@ -28,18 +28,17 @@ import com.boardgamegeek.ui.GamePlaysActivity
 import com.boardgamegeek.ui.LogPlayActivity
 import com.boardgamegeek.ui.PlayActivity
 import com.boardgamegeek.ui.PlaysActivity
-import com.boardgamegeek.util.HttpUtils
 import com.boardgamegeek.util.NotificationUtils
 import com.boardgamegeek.util.PresentationUtils
 import com.boardgamegeek.util.SelectionBuilder
 import hugo.weaving.DebugLog
 import okhttp3.FormBody
+import okhttp3.OkHttpClient
 import okhttp3.Request.Builder
 import org.jetbrains.anko.intentFor
 import java.util.concurrent.TimeUnit
 
-class SyncPlaysUpload(application: BggApplication, service: BggService, syncResult: SyncResult) : SyncUploadTask(application, service, syncResult) {
-    private val httpClient = HttpUtils.getHttpClientWithAuth(context)
+class SyncPlaysUpload(application: BggApplication, service: BggService, syncResult: SyncResult, private val httpClient: OkHttpClient) : SyncUploadTask(application, service, syncResult) {
     private val persister = PlayPersister(context)
     private var currentPlay = PlayForNotification()
 
@@ -54,6 +53,10 @@ class SyncPlaysUpload(application: BggApplication, service: BggService, syncResu
 
     override val syncType = SyncService.FLAG_SYNC_PLAYS_UPLOAD
 
+    override val reads = setOf(Data.PLAYS)
+
+    override val writes = setOf(Data.PLAYS)
+
     override val notificationTitleResId = R.string.sync_notification_title_play_upload
 
     override val summarySuffixResId = R.plurals.plays_suffix
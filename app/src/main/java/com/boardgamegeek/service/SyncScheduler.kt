@@ -0,0 +1,119 @@
+package com.boardgamegeek.service
+
+import timber.log.Timber
+import java.util.concurrent.*
+
+/**
+ * Runs the tasks of a sync, each as soon as the tasks it depends on have finished (see [SyncTask.dependsOn]), so tasks
+ * that share no data run at the same time. The number of tasks running at once is limited for each
+ * [SyncTask.Resource], e.g. to keep concurrent requests to BGG within its rate limits.
+ *
+ * [run] blocks until every task has finished, the runner stops the sync, or the sync is cancelled.
+ */
+class SyncScheduler(private val tasks: List<SyncTask>, private val limits: Map<SyncTask.Resource, Int>, private val runner: Runner) {
+    interface Runner {
+        /**
+         * Run the task on the current thread. Returns false if no more tasks should be started.
+         */
+        fun run(task: SyncTask): Boolean
+    }
+
+    private val executor = Executors.newCachedThreadPool()
+    private val finishedTasks = LinkedBlockingQueue<SyncTask>()
+    private val runningTasks = linkedMapOf<SyncTask, Future<Boolean>>()
+
+    @Volatile
+    var isCancelled = false
+        private set
+
+    /**
+     * Returns the tasks that are running, in the order they started.
+     */
+    fun getRunningTasks(): List<SyncTask> {
+        synchronized(runningTasks) {
+            return runningTasks.keys.toList()
+        }
+    }
+
+    fun run() {
+        val waitingTasks = tasks.toMutableList()
+        val dependencies = tasks.associateWith { task -> tasks.takeWhile { it !== task }.filter { task.dependsOn(it) } }
+        val doneTasks = mutableSetOf<SyncTask>()
+        var shouldStartTasks = true
+        try {
+            while (true) {
+                if (shouldStartTasks && !isCancelled) {
+                    waitingTasks.filter { task -> doneTasks.containsAll(dependencies[task].orEmpty()) }.forEach { start(it, waitingTasks) }
+                }
+                if (getRunningTasks().isEmpty()) break
+
+                val task = finishedTasks.take()
+                val future = synchronized(runningTasks) { runningTasks.remove(task) }
+                doneTasks += task
+                val shouldContinue = try {
+                    future?.get() ?: false
+                } catch (e: CancellationException) {
+                    false
+                } catch (e: ExecutionException) {
+                    Timber.w(e.cause, "Sync task %s failed", task)
+                    false
+                }
+                if (!shouldContinue) shouldStartTasks = false
+            }
+        } catch (e: InterruptedException) {
+            Timber.i("Interrupted while waiting for sync tasks")
+            cancel()
+        } finally {
+            executor.shutdown()
+        }
+        if (isCancelled) awaitCancelledTasks()
+        if (waitingTasks.isNotEmpty()) {
+            Timber.i("Skipped sync tasks %s", waitingTasks.joinToString { it.javaClass.simpleName })
+        }
+    }
+
+    /**
+     * Cancel the running tasks and don't start any more.
+     */
+    fun cancel() {
+        isCancelled = true
+        synchronized(runningTasks) {
+            runningTasks.forEach { (task, future) ->
+                task.cancel()
+                future.cancel(true)
+            }
+        }
+    }
+
+    /**
+     * Give cancelled tasks a chance to stop, so they don't keep writing after the sync finishes.
+     */
+    private fun awaitCancelledTasks() {
+        try {
+            if (!executor.awaitTermination(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Timber.w("Cancelled sync tasks are still running")
+            }
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+        }
+    }
+
+    private fun start(task: SyncTask, waitingTasks: MutableList<SyncTask>) {
+        synchronized(runningTasks) {
+            val limit = limits[task.resource] ?: 1
+            if (runningTasks.keys.count { it.resource == task.resource } >= limit) return
+            val future = object : FutureTask<Boolean>(Callable { runner.run(task) }) {
+                override fun done() {
+                    finishedTasks.put(task)
+                }
+            }
+            runningTasks[task] = future
+            waitingTasks.remove(task)
+            executor.execute(future)
+        }
+    }
+
+    companion object {
+        private const val CANCEL_TIMEOUT_SECONDS = 10L
+    }
+}
@@ -0,0 +1,62 @@
+package com.boardgamegeek.service
+
+import android.content.SyncResult
+import android.os.SystemClock
+import timber.log.Timber
+
+/**
+ * Measures the throughput of a sync task: the items it synced per second, the progress and error notifications it
+ * showed in the status bar, and the peak heap used while it ran. Items are counted from the inserts, updates, deletes,
+ * and entries the task reports in the [SyncResult].
+ *
+ * These are status bar notifications, not content change notifications; the sync harness in the unit tests counts
+ * those against canned responses.
+ *
+ * The statistics of each task can be rolled up into those of the whole sync with [parent].
+ */
+class SyncStatistics(val name: String, private val syncResult: SyncResult, private val parent: SyncStatistics? = null) {
+    private val startTime = SystemClock.elapsedRealtime()
+    private val startItemCount = countItems()
+    var notificationCount = 0
+        private set
+    var peakHeapBytes = 0L
+        private set
+
+    init {
+        sampleHeap()
+    }
+
+    /**
+     * Count a progress or error notification shown by the task.
+     */
+    @Synchronized
+    fun onNotification() {
+        notificationCount++
+        sampleHeap()
+        parent?.onNotification()
+    }
+
+    @Synchronized
+    fun sampleHeap() {
+        val runtime = Runtime.getRuntime()
+        val used = runtime.totalMemory() - runtime.freeMemory()
+        if (used > peakHeapBytes) peakHeapBytes = used
+        parent?.sampleHeap()
+    }
+
+    /**
+     * Log the statistics of the task, which should have just finished.
+     */
+    fun finish() {
+        sampleHeap()
+        val durationMillis = SystemClock.elapsedRealtime() - startTime
+        val items = countItems() - startItemCount
+        val itemsPerSecond = if (durationMillis > 0) items * 1000.0 / durationMillis else 0.0
+        Timber.i("%s synced %,d items in %,d ms (%,.1f items/s) with %,d status bar notifications; peak heap %,d KB",
+                name, items, durationMillis, itemsPerSecond, notificationCount, peakHeapBytes / 1024)
+    }
+
+    private fun countItems(): Long {
+        return syncResult.stats.numInserts + syncResult.stats.numUpdates + syncResult.stats.numDeletes + syncResult.stats.numEntries
+    }
+}
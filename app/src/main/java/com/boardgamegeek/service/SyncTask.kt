@@ -17,20 +17,51 @@ import com.crashlytics.android.Crashlytics
 import timber.log.Timber
 import java.util.concurrent.TimeUnit
 
-abstract class SyncTask(protected val application: BggApplication, protected val service: BggService, protected val syncResult: SyncResult) {
+/**
+ * A step of a sync. Each task counts its results in its own [syncResult], which the sync adapter merges into the sync's
+ * when the task finishes, so tasks running at the same time don't update the same counters.
+ */
+abstract class SyncTask(protected val application: BggApplication, protected val service: BggService, val syncResult: SyncResult) {
     protected val context = application.applicationContext!!
 
     /**
      * Returns whether this task has been cancelled. It may still be running, but will stop soon.
      */
+    @Volatile
     var isCancelled = false
         private set
 
+    /**
+     * The statistics of the current run of this task, set by the sync adapter.
+     */
+    var statistics: SyncStatistics? = null
+
+    /**
+     * The ID of this task's progress notification, unique within the sync so tasks running at the same time each show
+     * their own progress. Set by the sync adapter.
+     */
+    var progressNotificationId = 0
+
     /**
      * Unique ID for this sync class.
      */
     abstract val syncType: Int
 
+    /**
+     * The resource that limits this task, which determines how many tasks like it can run at once.
+     */
+    open val resource = Resource.NETWORK
+
+    /**
+     * The data this task reads, e.g. to decide what to sync.
+     */
+    open val reads: Set<Data> = emptySet()
+
+    /**
+     * The data this task writes.
+     */
+    open val writes: Set<Data> = emptySet()
+
     /***
      * The resource ID of the context text to display in syncing progress and error notifications. It should describe
      * the entire task.
@@ -43,6 +74,13 @@ abstract class SyncTask(protected val application: BggApplication, protected val
      */
     abstract fun execute()
 
+    /**
+     * Returns whether this task has to wait for a task that precedes it in the sync, i.e. the other task writes data
+     * this task reads or writes, or reads data this task writes.
+     */
+    fun dependsOn(precedingTask: SyncTask) = precedingTask.writes.any { it in reads || it in writes } ||
+            precedingTask.reads.any { it in writes }
+
     /**
      * Call this to cancel the task. If the task is running, it will cancel it's process at the earliest convenient
      * time, as determined by the service.
@@ -84,7 +122,8 @@ abstract class SyncTask(protected val application: BggApplication, protected val
         if (!detail.isNullOrBlank()) {
             builder.setStyle(BigTextStyle().bigText(detail))
         }
-        NotificationUtils.notify(context, NotificationUtils.TAG_SYNC_PROGRESS, 0, builder)
+        NotificationUtils.notify(context, NotificationUtils.TAG_SYNC_PROGRESS, progressNotificationId, builder)
+        statistics?.onNotification()
     }
 
     /**
@@ -128,6 +167,7 @@ abstract class SyncTask(protected val application: BggApplication, protected val
         }
 
         NotificationUtils.notify(context, NotificationUtils.TAG_SYNC_ERROR, 0, builder)
+        statistics?.onNotification()
     }
 
     /**
@@ -144,13 +184,36 @@ abstract class SyncTask(protected val application: BggApplication, protected val
             timeUnit.sleep(duration)
         } catch (e: InterruptedException) {
             Timber.w(e, "Sleeping interrupted during sync.")
-            NotificationUtils.cancel(context, NotificationUtils.TAG_SYNC_PROGRESS)
+            cancelProgressNotification()
             return true
         }
 
         return false
     }
 
+    /**
+     * Remove this task's progress notification, leaving those of the other tasks.
+     */
+    fun cancelProgressNotification() {
+        NotificationUtils.cancel(context, NotificationUtils.TAG_SYNC_PROGRESS, progressNotificationId.toLong())
+    }
+
+    enum class Resource {
+        /**
+         * Requests to BGG, which share its rate limits.
+         */
+        NETWORK,
+        /**
+         * Writes to the local database.
+         */
+        DATABASE,
+        CPU
+    }
+
+    enum class Data {
+        COLLECTION, GAMES, PRODUCERS, PLAYS, BUDDIES, THUMBNAILS
+    }
+
     companion object {
         const val NO_NOTIFICATION = 0
     }
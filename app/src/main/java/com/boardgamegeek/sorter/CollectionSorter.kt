@@ -4,6 +4,7 @@ import android.content.Context
 import android.database.Cursor
 import androidx.annotation.StringRes
 import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.ui.model.CollectionSnapshot
 
 abstract class CollectionSorter(context: Context) : Sorter(context) {
 
@@ -36,4 +37,14 @@ abstract class CollectionSorter(context: Context) : Sorter(context) {
     open fun getDisplayInfo(cursor: Cursor) = getHeaderText(cursor)
 
     open fun getTimestamp(cursor: Cursor) = 0L
+
+    /**
+     * Compares two rows of the snapshot by the sort column, in the same direction as [orderByClause]. Rows that compare
+     * equally are left in the order of the snapshot, which is already the default sort.
+     */
+    open fun compare(snapshot: CollectionSnapshot, a: Int, b: Int): Int {
+        if (sortColumn.isEmpty()) return 0
+        val result = snapshot.compare(sortColumn, a, b, shouldCollate)
+        return if (isSortDescending) -result else result
+    }
 }
@@ -36,6 +36,12 @@ class CollectionSorterFactory(context: Context) {
         }
     }
 
+    /**
+     * The columns needed by all of the sorters.
+     */
+    val columns: Array<String>
+        get() = sorters.flatMap { it.columns.asIterable() }.distinct().toTypedArray()
+
     fun create(type: Int): CollectionSorter? {
         sorters
                 .filter { it.type == type }
@@ -5,6 +5,7 @@ import android.database.Cursor
 import com.boardgamegeek.extensions.asMoney
 import com.boardgamegeek.extensions.getDouble
 import com.boardgamegeek.extensions.getString
+import com.boardgamegeek.ui.model.CollectionSnapshot
 import kotlin.math.ceil
 
 abstract class MoneySorter(context: Context) : CollectionSorter(context) {
@@ -29,6 +30,13 @@ abstract class MoneySorter(context: Context) : CollectionSorter(context) {
         return getInfoOrMissingInfo(round(cursor.getDouble(amountColumnName)).asMoney(cursor.getString(currencyColumnName)))
     }
 
+    override fun compare(snapshot: CollectionSnapshot, a: Int, b: Int): Int {
+        val currency = snapshot.compare(currencyColumnName, a, b)
+        if (currency != 0) return -currency
+        val amount = snapshot.compare(amountColumnName, a, b)
+        return if (isSortDescending) -amount else amount
+    }
+
     private fun getInfoOrMissingInfo(info: String): String {
         return if (info.isEmpty()) {
             MISSING_DATA
@@ -3,7 +3,6 @@ package com.boardgamegeek.tasks;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.database.Cursor;
-import android.net.Uri;
 import android.os.AsyncTask;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -18,12 +17,16 @@ import com.boardgamegeek.provider.BggContract.GameColors;
 import com.boardgamegeek.provider.BggContract.Games;
 import com.boardgamegeek.provider.BggContract.PlayerColors;
 import com.boardgamegeek.tasks.ColorAssignerTask.Results;
+import com.boardgamegeek.util.ColorAssigner;
+import com.boardgamegeek.util.ColorAssigner.Assignment;
 import com.boardgamegeek.util.ResolverUtils;
 
 import org.greenrobot.eventbus.EventBus;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import hugo.weaving.DebugLog;
@@ -37,16 +40,15 @@ public class ColorAssignerTask extends AsyncTask<Void, Void, Results> {
 	private static final int ERROR_TOO_FEW_COLORS = -4;
 	private static final int ERROR_DUPLICATE_PLAYER = -5;
 	private static final int ERROR_SOMETHING_CHANGED = -99;
-	private static final int TYPE_PLAYER_USER = 1;
-	private static final int TYPE_PLAYER_NON_USER = 2;
+	private static final int TYPE_PLAYER_USER = PlayerColors.TYPE_USER;
+	private static final int TYPE_PLAYER_NON_USER = PlayerColors.TYPE_PLAYER;
 
 	@NonNull private final Random random;
 	@SuppressLint("StaticFieldLeak") @Nullable private final Context context;
 	private final Play play;
 	private List<String> colorsAvailable;
-	private List<PlayerColorChoices> playersNeedingColor;
+	private Map<String, PlayerNeedingColor> playersNeedingColor;
 	@NonNull private final Results results;
-	private int round;
 
 	@DebugLog
 	public ColorAssignerTask(@Nullable Context context, Play play) {
@@ -78,23 +80,15 @@ public class ColorAssignerTask extends AsyncTask<Void, Void, Results> {
 			return results;
 		}
 
-		populatePlayerColorChoices();
-
-		round = 1;
-		boolean shouldContinue = true;
-		while (shouldContinue && playersNeedingColor.size() > 0) {
-			while (shouldContinue && playersNeedingColor.size() > 0) {
-				shouldContinue = assignTopChoice();
-			}
-			shouldContinue = assignMostPreferredChoice();
-			round++;
+		ColorAssigner assigner = new ColorAssigner(colorsAvailable, random);
+		for (String key : playersNeedingColor.keySet()) {
+			assigner.addPlayer(key);
 		}
+		populatePlayerColorChoices(assigner);
 
-		// assign a random player a random color
-		while (playersNeedingColor.size() > 0) {
-			String color = colorsAvailable.get(random.nextInt(colorsAvailable.size()));
-			PlayerColorChoices username = playersNeedingColor.get(random.nextInt(playersNeedingColor.size()));
-			assignColorToPlayer(color, username, "random");
+		for (Assignment assignment : assigner.assign()) {
+			PlayerNeedingColor player = playersNeedingColor.get(assignment.player);
+			results.results.add(new PlayerResult(player.name, player.type, assignment.color, assignment.reason, assignment.round));
 		}
 
 		results.resultCode = SUCCESS;
@@ -165,120 +159,24 @@ public class ColorAssignerTask extends AsyncTask<Void, Void, Results> {
 		EventBus.getDefault().postSticky(new ColorAssignmentCompleteEvent(results.resultCode == SUCCESS, messageId));
 	}
 
-	/**
-	 * Assigns a player their top color choice if no one else has that top choice as well.
-	 *
-	 * @return <code>true</code> if a color was assigned, <code>false</code> if not.
-	 */
-	@DebugLog
-	private boolean assignTopChoice() {
-		for (String colorToAssign : colorsAvailable) {
-			PlayerColorChoices playerWhoWantsThisColor = getLonePlayerWithTopChoice(colorToAssign);
-			if (playerWhoWantsThisColor != null) {
-				assignColorToPlayer(colorToAssign, playerWhoWantsThisColor, "top choice");
-				return true;
-			}
-		}
-		Timber.i("No more players have a unique top choice in round %d", round);
-		return false;
-	}
-
-	@DebugLog
-	@Nullable
-	private PlayerColorChoices getLonePlayerWithTopChoice(String colorToAssign) {
-		List<PlayerColorChoices> players = getPlayersWithTopChoice(colorToAssign);
-		if (players.size() == 0) {
-			Timber.i("No players want %s as their top choice", colorToAssign);
-			return null;
-		} else if (players.size() > 1) {
-			Timber.i("Multiple players want %s as their top choice", colorToAssign);
-			return null;
-		}
-		return players.get(0);
-	}
-
-	@DebugLog
-	@NonNull
-	private List<PlayerColorChoices> getPlayersWithTopChoice(String colorToAssign) {
-		List<PlayerColorChoices> players = new ArrayList<>();
-		for (PlayerColorChoices player : playersNeedingColor) {
-			if (player.isTopChoice(colorToAssign)) {
-				players.add(player);
-			}
-		}
-		return players;
-	}
-
-	@DebugLog
-	private boolean assignMostPreferredChoice() {
-		List<PlayerColorChoices> players = new ArrayList<>();
-		double maxPreference = 0.0;
-		for (String color : colorsAvailable) {
-			List<PlayerColorChoices> playersWithTopChoice = getPlayersWithTopChoice(color);
-			if (playersWithTopChoice.size() > 1) {
-				for (PlayerColorChoices player : playersWithTopChoice) {
-					double preference = player.calculateCurrentPreferenceFor(color);
-					Timber.i("%s wants %s: %,.2f", player.name, color, preference);
-					if (preference > maxPreference) {
-						maxPreference = preference;
-						players.clear();
-						players.add(player);
-					} else if (preference == maxPreference) {
-						players.add(player);
-					}
-				}
-			} else {
-				Timber.i("Not enough players want %s", color);
-			}
-		}
-
-		if (players.size() == 0) {
-			Timber.i("Nobody wants any color");
-			return false;
-		}
-		if (players.size() == 1) {
-			PlayerColorChoices player = players.get(0);
-			final ColorChoice topChoice = player.getTopChoice();
-			if (topChoice != null) {
-				assignColorToPlayer(topChoice.color, player, String.format("most preferred (%,.2f)", maxPreference));
-				return true;
-			}
-		} else {
-			int i = random.nextInt(players.size());
-			PlayerColorChoices player = players.get(i);
-			final ColorChoice topChoice = player.getTopChoice();
-			if (topChoice != null) {
-				assignColorToPlayer(player.getTopChoice().color, player, String.format("most preferred, but randomly chosen in a tie breaker (%,.2f)", maxPreference));
-				return true;
-			}
-		}
-		Timber.i("Something went horribly wrong");
-		return false;
-	}
-
 	@DebugLog
 	private int populatePlayersNeedingColor() {
-		playersNeedingColor = new ArrayList<>();
-		List<String> users = new ArrayList<>();
-		List<String> nonusers = new ArrayList<>();
+		playersNeedingColor = new LinkedHashMap<>();
 		for (Player player : play.getPlayers()) {
 			if (TextUtils.isEmpty(player.color)) {
+				PlayerNeedingColor playerNeedingColor;
 				if (TextUtils.isEmpty(player.username)) {
 					if (TextUtils.isEmpty(player.name)) {
 						return ERROR_MISSING_PLAYER_NAME;
 					}
-					if (nonusers.contains(player.name)) {
-						return ERROR_DUPLICATE_PLAYER;
-					}
-					nonusers.add(player.name);
-					playersNeedingColor.add(new PlayerColorChoices(player.name, TYPE_PLAYER_NON_USER));
+					playerNeedingColor = new PlayerNeedingColor(player.name, TYPE_PLAYER_NON_USER);
 				} else {
-					if (users.contains(player.username)) {
-						return ERROR_DUPLICATE_PLAYER;
-					}
-					users.add(player.username);
-					playersNeedingColor.add(new PlayerColorChoices(player.username, TYPE_PLAYER_USER));
+					playerNeedingColor = new PlayerNeedingColor(player.username, TYPE_PLAYER_USER);
 				}
+				if (playersNeedingColor.containsKey(playerNeedingColor.getKey())) {
+					return ERROR_DUPLICATE_PLAYER;
+				}
+				playersNeedingColor.put(playerNeedingColor.getKey(), playerNeedingColor);
 			}
 		}
 		return SUCCESS;
@@ -296,39 +194,56 @@ public class ColorAssignerTask extends AsyncTask<Void, Void, Results> {
 	}
 
 	/**
-	 * Populates the remaining players list with their color choices, limited to the colors remaining in the game.
+	 * Adds the color choices of every player needing a color to the assigner, loaded with a single query.
 	 */
 	@DebugLog
-	private void populatePlayerColorChoices() {
+	private void populatePlayerColorChoices(@NonNull ColorAssigner assigner) {
 		if (context == null) return;
-		for (PlayerColorChoices player : playersNeedingColor) {
-			Cursor cursor = null;
-			try {
-				if (TextUtils.isEmpty(player.name)) continue;
-
-				Uri uri = null;
-				if (player.type == TYPE_PLAYER_USER) {
-					uri = PlayerColors.buildUserUri(player.name);
-				} else if (player.type == TYPE_PLAYER_NON_USER) {
-					uri = PlayerColors.buildPlayerUri(player.name);
-				}
-				if (uri == null) continue;
-
-				final String[] projection = { PlayerColors.PLAYER_COLOR, PlayerColors.PLAYER_COLOR_SORT_ORDER };
-				cursor = context.getContentResolver().query(uri, projection, null, null, null);
-				while (cursor != null && cursor.moveToNext()) {
-					String color = cursor.getString(0);
-					int sortOrder = cursor.getInt(1);
-					if (colorsAvailable.contains(color)) {
-						player.colors.add(new ColorChoice(color, sortOrder));
-					}
-				}
-			} catch (Exception e) {
-				Timber.w(e, "Couldn't get the colors for %s", player);
-			} finally {
-				if (cursor != null) cursor.close();
+		List<String> users = new ArrayList<>();
+		List<String> nonUsers = new ArrayList<>();
+		for (PlayerNeedingColor player : playersNeedingColor.values()) {
+			if (player.type == TYPE_PLAYER_USER) {
+				users.add(player.name);
+			} else {
+				nonUsers.add(player.name);
 			}
 		}
+
+		StringBuilder selection = new StringBuilder();
+		List<String> selectionArgs = new ArrayList<>();
+		appendPlayerSelection(selection, selectionArgs, TYPE_PLAYER_USER, users);
+		appendPlayerSelection(selection, selectionArgs, TYPE_PLAYER_NON_USER, nonUsers);
+
+		final String[] projection = { PlayerColors.PLAYER_TYPE, PlayerColors.PLAYER_NAME, PlayerColors.PLAYER_COLOR, PlayerColors.PLAYER_COLOR_SORT_ORDER };
+		Cursor cursor = null;
+		try {
+			cursor = context.getContentResolver().query(PlayerColors.CONTENT_URI,
+				projection,
+				selection.toString(),
+				selectionArgs.toArray(new String[0]),
+				null);
+			while (cursor != null && cursor.moveToNext()) {
+				String key = PlayerNeedingColor.createKey(cursor.getString(1), cursor.getInt(0));
+				assigner.addChoice(key, cursor.getString(2), cursor.getInt(3));
+			}
+		} catch (Exception e) {
+			Timber.w(e, "Couldn't get the colors for %s", playersNeedingColor.keySet());
+		} finally {
+			if (cursor != null) cursor.close();
+		}
+	}
+
+	private static void appendPlayerSelection(StringBuilder selection, List<String> selectionArgs, int type, List<String> names) {
+		if (names.isEmpty()) return;
+		if (selection.length() > 0) selection.append(" OR ");
+		selection.append("(").append(PlayerColors.PLAYER_TYPE).append("=? AND ").append(PlayerColors.PLAYER_NAME).append(" IN (");
+		selectionArgs.add(String.valueOf(type));
+		for (int i = 0; i < names.size(); i++) {
+			if (i > 0) selection.append(",");
+			selection.append("?");
+		}
+		selection.append("))");
+		selectionArgs.addAll(names);
 	}
 
 	/**
@@ -347,24 +262,6 @@ public class ColorAssignerTask extends AsyncTask<Void, Void, Results> {
 		return null;
 	}
 
-	/**
-	 * Assign a color to a player, and remove both from the list of remaining colors and players. This can't be called
-	 * from a for each loop without ending the iteration.
-	 */
-	@DebugLog
-	private void assignColorToPlayer(@NonNull String color, @NonNull PlayerColorChoices player, String reason) {
-		PlayerResult playerResult = new PlayerResult(player.name, player.type, color, reason);
-		results.results.add(playerResult);
-		Timber.i("Assigned %s", playerResult);
-
-		colorsAvailable.remove(color);
-		playersNeedingColor.remove(player);
-
-		for (PlayerColorChoices playerColorChoices : playersNeedingColor) {
-			playerColorChoices.removeChoice(color);
-		}
-	}
-
 	public class Results {
 		int resultCode;
 		final List<PlayerResult> results = new ArrayList<>();
@@ -384,12 +281,14 @@ public class ColorAssignerTask extends AsyncTask<Void, Void, Results> {
 		final int type;
 		final String color;
 		final String reason;
+		final int round;
 
-		public PlayerResult(String name, int type, String color, String reason) {
+		public PlayerResult(String name, int type, String color, String reason, int round) {
 			this.name = name;
 			this.type = type;
 			this.color = color;
 			this.reason = reason;
+			this.round = round;
 		}
 
 		@NonNull
@@ -399,101 +298,21 @@ public class ColorAssignerTask extends AsyncTask<Void, Void, Results> {
 		}
 	}
 
-	private class PlayerColorChoices {
+	private static class PlayerNeedingColor {
 		final String name;
 		final int type;
-		@NonNull final List<ColorChoice> colors;
 
-		@DebugLog
-		public PlayerColorChoices(String name, int type) {
+		PlayerNeedingColor(String name, int type) {
 			this.name = name;
 			this.type = type;
-			this.colors = new ArrayList<>();
-		}
-
-		@DebugLog
-		public boolean isTopChoice(String color) {
-			return colors.size() > 0 && colors.get(0).color.equals(color);
-		}
-
-		/**
-		 * Gets the player's top remaining color choice, or <code>null</code> if they have no choices left.
-		 */
-		@DebugLog
-		@Nullable
-		public ColorChoice getTopChoice() {
-			if (colors.size() > 0) {
-				return colors.get(0);
-			}
-			return null;
 		}
 
-		@DebugLog
-		public boolean removeChoice(@NonNull String color) {
-			if (TextUtils.isEmpty(color)) {
-				return false;
-			}
-			for (ColorChoice colorChoice : colors) {
-				if (color.equals(colorChoice.color)) {
-					colors.remove(colorChoice);
-					return true;
-				}
-			}
-			return false;
+		String getKey() {
+			return createKey(name, type);
 		}
 
-		@DebugLog
-		public double calculateCurrentPreferenceFor(@NonNull String color) {
-			int MAX_PREFERENCE = 100;
-			if (colors.size() == 0) {
-				return 0;
-			} else if (colors.size() == 1) {
-				return MAX_PREFERENCE - colors.get(0).sortOrder;
-			}
-
-			int total = 0;
-			int current = 0;
-			for (ColorChoice colorChoice : colors) {
-				total += colorChoice.sortOrder;
-				if (color.equals(colorChoice.color)) {
-					current = colorChoice.sortOrder;
-				}
-			}
-			double expectedValue = ((double) total) / colors.size();
-			double expectedValueWithoutColor = ((double) (total - current)) / (colors.size() - 1);
-			return expectedValueWithoutColor - expectedValue;
-		}
-
-		@Override
-		public String toString() {
-			StringBuilder sb = new StringBuilder(name).append(" (").append(type).append(")");
-			if (colors.size() > 0) {
-				sb.append(" [");
-				boolean prependComma = false;
-				for (ColorChoice color : colors) {
-					if (prependComma) sb.append(", ");
-					sb.append(color);
-					prependComma = true;
-				}
-				sb.append("] ");
-			}
-			return sb.toString();
-		}
-	}
-
-	private class ColorChoice {
-		final String color;
-		final int sortOrder;
-
-		public ColorChoice(String color, int sortOrder) {
-			this.color = color;
-			this.sortOrder = sortOrder;
-		}
-
-		@NonNull
-		@Override
-		public String toString() {
-			return "#" + sortOrder + ": " + color;
+		static String createKey(String name, int type) {
+			return type + ":" + name;
 		}
 	}
 }
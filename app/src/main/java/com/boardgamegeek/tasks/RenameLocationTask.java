@@ -1,8 +1,6 @@
 package com.boardgamegeek.tasks;
 
 import android.annotation.SuppressLint;
-import android.content.ContentProviderOperation;
-import android.content.ContentProviderResult;
 import android.content.ContentValues;
 import android.content.Context;
 import android.os.AsyncTask;
@@ -11,17 +9,14 @@ import androidx.annotation.Nullable;
 import com.boardgamegeek.R;
 import com.boardgamegeek.provider.BggContract.Plays;
 import com.boardgamegeek.service.SyncService;
-import com.boardgamegeek.util.ResolverUtils;
-import com.boardgamegeek.util.SelectionBuilder;
 
 import org.greenrobot.eventbus.EventBus;
 
-import java.util.ArrayList;
-
 import hugo.weaving.DebugLog;
 
 /**
- * Renames a location in all plays, then triggers an update.
+ * Renames a location in all plays, merging it into the new location if that's already used, then triggers an update.
+ * The plays are updated in a single statement, so observers are notified once.
  */
 public class RenameLocationTask extends AsyncTask<String, Void, String> {
 	@SuppressLint("StaticFieldLeak") @Nullable private final Context context;
@@ -42,38 +37,16 @@ public class RenameLocationTask extends AsyncTask<String, Void, String> {
 	protected String doInBackground(String... params) {
 		if (context == null) return "Error.";
 
-		ArrayList<ContentProviderOperation> batch = new ArrayList<>();
-
-		ContentValues values = new ContentValues();
+		ContentValues values = new ContentValues(2);
 		values.put(Plays.LOCATION, newLocationName);
-		ContentProviderOperation.Builder cpo = ContentProviderOperation
-			.newUpdate(Plays.CONTENT_URI)
-			.withValues(values)
-			.withSelection(
-				Plays.LOCATION + "=? AND (" + Plays.UPDATE_TIMESTAMP + ">0 OR " + Plays.DIRTY_TIMESTAMP + ">0)",
-				new String[] { oldLocationName });
-		batch.add(cpo.build());
-
 		values.put(Plays.UPDATE_TIMESTAMP, startTime);
-		cpo = ContentProviderOperation
-			.newUpdate(Plays.CONTENT_URI)
-			.withValues(values)
-			.withSelection(
-				Plays.LOCATION + "=? AND " +
-					SelectionBuilder.whereZeroOrNull(Plays.UPDATE_TIMESTAMP) + " AND " +
-					SelectionBuilder.whereZeroOrNull(Plays.DELETE_TIMESTAMP) + " AND " +
-					SelectionBuilder.whereZeroOrNull(Plays.DIRTY_TIMESTAMP),
-				new String[] { oldLocationName });
-		batch.add(cpo.build());
-
-		ContentProviderResult[] results = ResolverUtils.applyBatch(context, batch);
+		int count = context.getContentResolver().update(Plays.buildLocationsUri(),
+			values,
+			Plays.LOCATION + "=?",
+			new String[] { oldLocationName });
 
 		String result;
-		if (results.length > 0) {
-			int count = 0;
-			for (ContentProviderResult r : results) {
-				count += r.count;
-			}
+		if (count > 0) {
 			result = context.getResources().getQuantityString(R.plurals.msg_play_location_change, count,
 				count, oldLocationName, newLocationName);
 			SyncService.sync(context, SyncService.FLAG_SYNC_PLAYS_UPLOAD);
@@ -27,7 +27,7 @@ public class ResetCollectionItemTask extends AsyncTask<Void, Void, Boolean> {
 	protected Boolean doInBackground(Void... params) {
 		if (context == null) return false;
 
-		ContentValues values = new ContentValues(9);
+		ContentValues values = new ContentValues(10);
 		values.put(Collection.COLLECTION_DIRTY_TIMESTAMP, 0);
 		values.put(Collection.STATUS_DIRTY_TIMESTAMP, 0);
 		values.put(Collection.COMMENT_DIRTY_TIMESTAMP, 0);
@@ -37,6 +37,7 @@ public class ResetCollectionItemTask extends AsyncTask<Void, Void, Boolean> {
 		values.put(Collection.TRADE_CONDITION_DIRTY_TIMESTAMP, 0);
 		values.put(Collection.WANT_PARTS_DIRTY_TIMESTAMP, 0);
 		values.put(Collection.HAS_PARTS_DIRTY_TIMESTAMP, 0);
+		values.put(Collection.SYNC_HASH_CODE, 0);
 
 		ContentResolver resolver = context.getContentResolver();
 		int rows = resolver.update(Collection.buildUri(internalId), values, null, null);
@@ -1,11 +1,15 @@
 package com.boardgamegeek.tasks;
 
+import android.content.ContentValues;
 import android.content.Context;
 
 import com.boardgamegeek.R;
 import com.boardgamegeek.pref.SyncPrefs;
+import com.boardgamegeek.provider.BggContract.Collection;
 import com.boardgamegeek.service.SyncService;
 
+import timber.log.Timber;
+
 /**
  * Clears the collection sync timestamps and requests a full collection sync be performed.
  */
@@ -28,6 +32,10 @@ public class ResetCollectionTask extends ToastingAsyncTask {
 	protected Boolean doInBackground(Void... params) {
 		if (getContext() == null) return false;
 		SyncPrefs.clearCollection(getContext());
+		ContentValues values = new ContentValues(1);
+		values.put(Collection.SYNC_HASH_CODE, 0);
+		int count = getContext().getContentResolver().update(Collection.CONTENT_URI, values, null, null);
+		Timber.d("Cleared the hashcode from %,d collection items.", count);
 		SyncService.sync(getContext(), SyncService.FLAG_SYNC_COLLECTION);
 		return true;
 	}
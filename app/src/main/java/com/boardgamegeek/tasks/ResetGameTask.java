@@ -24,10 +24,11 @@ public class ResetGameTask extends ToastingAsyncTask {
 	@Override
 	protected Boolean doInBackground(Void... params) {
 		if (getContext() == null) return false;
-		ContentValues cv = new ContentValues(3);
+		ContentValues cv = new ContentValues(4);
 		cv.put(Games.UPDATED_LIST, 0);
 		cv.put(Games.UPDATED, 0);
 		cv.put(Games.UPDATED_PLAYS, 0);
+		cv.put(Games.GAME_SYNC_HASH_CODE, 0);
 		int rows = getContext().getContentResolver().update(Games.CONTENT_URI, cv, null, null);
 		return rows > 0;
 	}
@@ -24,6 +24,12 @@ public class SyncArtistTask extends SyncTask<Person, CompletedEvent> {
 		this.artistId = artistId;
 	}
 
+	@NonNull
+	@Override
+	public String getKey() {
+		return super.getKey() + ":" + artistId;
+	}
+
 	@Override
 	@StringRes
 	protected int getTypeDescriptionResId() {
@@ -41,6 +41,12 @@ public class SyncCollectionByGameTask extends SyncTask<CollectionResponse, Compl
 		dao = new CollectionDao(application);
 	}
 
+	@NonNull
+	@Override
+	public String getKey() {
+		return super.getKey() + ":" + gameId;
+	}
+
 	@Override
 	@StringRes
 	protected int getTypeDescriptionResId() {
@@ -24,6 +24,12 @@ public class SyncDesignerTask extends SyncTask<Person, CompletedEvent> {
 		this.designerId = designerId;
 	}
 
+	@NonNull
+	@Override
+	public String getKey() {
+		return super.getKey() + ":" + designerId;
+	}
+
 	@Override
 	@StringRes
 	protected int getTypeDescriptionResId() {
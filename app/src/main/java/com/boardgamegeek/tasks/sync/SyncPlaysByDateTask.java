@@ -32,6 +32,12 @@ public class SyncPlaysByDateTask extends SyncTask<PlaysResponse, CompletedEvent>
 		username = AccountUtils.getUsername(context);
 	}
 
+	@NonNull
+	@Override
+	public String getKey() {
+		return super.getKey() + ":" + date;
+	}
+
 	@Override
 	@StringRes
 	protected int getTypeDescriptionResId() {
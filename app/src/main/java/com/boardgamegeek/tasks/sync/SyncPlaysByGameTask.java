@@ -40,6 +40,12 @@ public class SyncPlaysByGameTask extends SyncTask<PlaysResponse, CompletedEvent>
 		username = AccountUtils.getUsername(context);
 	}
 
+	@NonNull
+	@Override
+	public String getKey() {
+		return super.getKey() + ":" + gameId;
+	}
+
 	@Override
 	@StringRes
 	protected int getTypeDescriptionResId() {
@@ -24,6 +24,12 @@ public class SyncPublisherTask extends SyncTask<Company, CompletedEvent> {
 		this.publisherId = publisherId;
 	}
 
+	@NonNull
+	@Override
+	public String getKey() {
+		return super.getKey() + ":" + publisherId;
+	}
+
 	@Override
 	@StringRes
 	protected int getTypeDescriptionResId() {
@@ -3,6 +3,7 @@ package com.boardgamegeek.tasks.sync;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.os.AsyncTask;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 
@@ -82,6 +83,14 @@ public abstract class SyncTask<T, E extends CompletedEvent> extends AsyncTask<Vo
 		if (call != null) call.cancel();
 	}
 
+	/**
+	 * Identifies the data this task syncs; tasks with the same key make the same requests.
+	 */
+	@NonNull
+	public String getKey() {
+		return getClass().getSimpleName();
+	}
+
 	protected int getCurrentPage() {
 		return page;
 	}
@@ -0,0 +1,127 @@
+package com.boardgamegeek.tasks.sync;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import timber.log.Timber;
+
+/**
+ * Runs on-demand sync tasks, at most {@link #MAX_CONCURRENT_TASKS} at a time. A task requested while another with the
+ * same key is in flight (e.g. from a repeated pull-to-refresh or a rotation) is dropped; its caller is notified by the
+ * in-flight task's completed event, which is posted to every subscriber. Waiting tasks run in order of priority, then
+ * in the order they were requested; a waiting {@link Priority#LOW} task is promoted when the same key is requested with
+ * {@link Priority#HIGH}.
+ */
+public class SyncTaskExecutor {
+	public enum Priority {
+		/**
+		 * Requested by the user, who is waiting on the result.
+		 */
+		HIGH,
+		/**
+		 * Requested as a side effect of other work.
+		 */
+		LOW
+	}
+
+	private static final int MAX_CONCURRENT_TASKS = 2;
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	private static final ConcurrentMap<String, SyncTask<?, ?>> tasksInFlight = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, PrioritizedRunnable> tasksWaiting = new ConcurrentHashMap<>();
+	private static final AtomicLong sequence = new AtomicLong();
+	private static final ThreadPoolExecutor executor;
+
+	static {
+		executor = new ThreadPoolExecutor(MAX_CONCURRENT_TASKS, MAX_CONCURRENT_TASKS,
+			KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+			new PriorityBlockingQueue<Runnable>());
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	private SyncTaskExecutor() {
+	}
+
+	/**
+	 * Execute the task with {@link Priority#HIGH} priority, unless a task with the same key is in flight. Returns true
+	 * if the task was executed.
+	 */
+	public static boolean execute(@NonNull SyncTask<?, ?> task) {
+		return execute(task, Priority.HIGH);
+	}
+
+	/**
+	 * Execute the task, unless a task with the same key is in flight. Returns true if the task was executed.
+	 */
+	public static boolean execute(@NonNull final SyncTask<?, ?> task, @NonNull final Priority priority) {
+		final String key = task.getKey();
+		if (tasksInFlight.putIfAbsent(key, task) != null) {
+			Timber.i("Already syncing %s; skipping the duplicate request", key);
+			if (priority == Priority.HIGH) promote(key);
+			return false;
+		}
+		task.executeOnExecutor(new Executor() {
+			@Override
+			public void execute(@NonNull Runnable command) {
+				enqueue(new PrioritizedRunnable(key, task, command, priority, sequence.getAndIncrement()));
+			}
+		});
+		return true;
+	}
+
+	private static void enqueue(PrioritizedRunnable runnable) {
+		tasksWaiting.put(runnable.key, runnable);
+		executor.execute(runnable);
+	}
+
+	/**
+	 * Re-enqueue the waiting task with this key at {@link Priority#HIGH}, if it's still waiting at a lower priority.
+	 */
+	private static synchronized void promote(String key) {
+		PrioritizedRunnable waiting = tasksWaiting.get(key);
+		if (waiting == null || waiting.priority == Priority.HIGH) return;
+		if (!executor.remove(waiting)) return; // it's already running
+		Timber.i("Promoting the waiting sync of %s", key);
+		enqueue(new PrioritizedRunnable(key, waiting.task, waiting.runnable, Priority.HIGH, sequence.getAndIncrement()));
+	}
+
+	private static class PrioritizedRunnable implements Runnable, Comparable<PrioritizedRunnable> {
+		private final String key;
+		private final SyncTask<?, ?> task;
+		private final Runnable runnable;
+		private final Priority priority;
+		private final long sequence;
+
+		PrioritizedRunnable(String key, SyncTask<?, ?> task, Runnable runnable, Priority priority, long sequence) {
+			this.key = key;
+			this.task = task;
+			this.runnable = runnable;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void run() {
+			tasksWaiting.remove(key, this);
+			try {
+				runnable.run();
+			} finally {
+				tasksInFlight.remove(key, task);
+			}
+		}
+
+		@Override
+		public int compareTo(@NonNull PrioritizedRunnable other) {
+			int result = priority.compareTo(other.priority);
+			if (result != 0) return result;
+			return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+		}
+	}
+}
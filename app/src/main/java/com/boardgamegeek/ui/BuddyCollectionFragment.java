@@ -26,6 +26,7 @@ import com.boardgamegeek.ui.loader.BggLoader;
 import com.boardgamegeek.ui.loader.SafeResponse;
 import com.boardgamegeek.ui.widget.ContentLoadingProgressBar;
 import com.boardgamegeek.ui.widget.RecyclerSectionItemDecoration;
+import com.boardgamegeek.ui.widget.SectionIndex;
 import com.boardgamegeek.util.AnimationUtils;
 import com.boardgamegeek.util.RandomUtils;
 import com.boardgamegeek.util.UIUtils;
@@ -33,7 +34,6 @@ import com.crashlytics.android.answers.Answers;
 import com.crashlytics.android.answers.CustomEvent;
 
 import org.greenrobot.eventbus.EventBus;
-import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -235,6 +235,10 @@ public class BuddyCollectionFragment extends Fragment implements LoaderManager.L
 				list.add(mapper.map(item).getFirst());
 			}
 		}
+		SectionIndex.Builder sectionIndexBuilder = new SectionIndex.Builder();
+		for (CollectionItemEntity item : list) {
+			sectionIndexBuilder.add(StringUtils.firstChar(item.getSortName()));
+		}
 
 		setListAdapter(new BuddyCollectionAdapter(getActivity()));
 		adapter.setCollection(list);
@@ -242,7 +246,7 @@ public class BuddyCollectionFragment extends Fragment implements LoaderManager.L
 		RecyclerSectionItemDecoration sectionItemDecoration =
 			new RecyclerSectionItemDecoration(
 				getResources().getDimensionPixelSize(R.dimen.recycler_section_header_height),
-				getSectionCallback(list),
+				sectionIndexBuilder.build(),
 				true
 			);
 		while (listView.getItemDecorationCount() > 0) {
@@ -381,27 +385,4 @@ public class BuddyCollectionFragment extends Fragment implements LoaderManager.L
 			}
 		}
 	}
-
-	private RecyclerSectionItemDecoration.SectionCallback getSectionCallback(final List<CollectionItemEntity> items) {
-		return new RecyclerSectionItemDecoration.SectionCallback() {
-			@Override
-			public boolean isSection(int position) {
-				if (position == RecyclerView.NO_POSITION) return false;
-				if (items == null || items.size() == 0) return false;
-				if (position == 0) return true;
-				String thisLetter = StringUtils.firstChar(items.get(position).getSortName());
-				String lastLetter = StringUtils.firstChar(items.get(position - 1).getSortName());
-				return !thisLetter.equals(lastLetter);
-			}
-
-			@NotNull
-			@Override
-			public CharSequence getSectionHeader(int position) {
-				if (position == RecyclerView.NO_POSITION) return "-";
-				if (items == null || items.size() == 0) return "-";
-				if (position < 0 || position >= items.size()) return "-";
-				return StringUtils.firstChar(items.get(position).getSortName());
-			}
-		};
-	}
 }
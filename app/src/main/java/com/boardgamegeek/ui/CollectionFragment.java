@@ -3,9 +3,13 @@ package com.boardgamegeek.ui;
 import android.content.ContentResolver;
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.DialogInterface;
 import android.database.Cursor;
 import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Pair;
 import android.util.SparseBooleanArray;
@@ -49,8 +53,11 @@ import com.boardgamegeek.ui.dialog.CollectionFilterDialogFragment;
 import com.boardgamegeek.ui.dialog.CollectionSortDialogFragment;
 import com.boardgamegeek.ui.dialog.DeleteViewDialogFragment;
 import com.boardgamegeek.ui.dialog.SaveViewDialogFragment;
+import com.boardgamegeek.ui.loader.CollectionSnapshotLoader;
+import com.boardgamegeek.ui.model.CollectionSnapshot;
 import com.boardgamegeek.ui.widget.ContentLoadingProgressBar;
 import com.boardgamegeek.ui.widget.RecyclerSectionItemDecoration;
+import com.boardgamegeek.ui.widget.SectionIndex;
 import com.boardgamegeek.ui.widget.TimestampView;
 import com.boardgamegeek.ui.widget.ToolbarActionItemTarget;
 import com.boardgamegeek.util.ActivityUtils;
@@ -67,6 +74,7 @@ import com.boardgamegeek.util.ResolverUtils;
 import com.boardgamegeek.util.ShortcutUtils;
 import com.boardgamegeek.util.ShowcaseViewWizard;
 import com.boardgamegeek.util.StringUtils;
+import com.boardgamegeek.util.Tracer;
 import com.boardgamegeek.util.fabric.FilterEvent;
 import com.boardgamegeek.util.fabric.SortEvent;
 import com.crashlytics.android.answers.Answers;
@@ -83,10 +91,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.widget.Toolbar;
 import androidx.appcompat.widget.Toolbar.OnMenuItemClickListener;
 import androidx.fragment.app.Fragment;
@@ -94,6 +105,8 @@ import androidx.loader.app.LoaderManager;
 import androidx.loader.app.LoaderManager.LoaderCallbacks;
 import androidx.loader.content.CursorLoader;
 import androidx.loader.content.Loader;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout.OnRefreshListener;
@@ -135,12 +148,18 @@ public class CollectionFragment extends Fragment implements
 	@State ArrayList<String> data;
 	private CollectionSorter sorter;
 	private final List<CollectionFilterer> filters = new ArrayList<>();
-	private String defaultWhereClause;
 	private boolean isCreatingShortcut;
 	private boolean isSyncing;
 	private ActionMode actionMode = null;
 	private CollectionSorterFactory collectionSorterFactory;
 	private ShowcaseViewWizard showcaseViewWizard;
+	private CollectionSnapshot snapshot;
+	private final ExecutorService selectionExecutor = Executors.newSingleThreadExecutor();
+	private final Handler handler = new Handler(Looper.getMainLooper());
+	private int selectionGeneration;
+	private int displayedSortType = CollectionSorterFactory.TYPE_UNKNOWN;
+	private SectionIndex sectionIndex = SectionIndex.EMPTY;
+	private long createdTime;
 
 	public static CollectionFragment newInstance(boolean isCreatingShortcut) {
 		Bundle args = new Bundle();
@@ -154,6 +173,7 @@ public class CollectionFragment extends Fragment implements
 	@DebugLog
 	public void onCreate(@Nullable Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
+		createdTime = SystemClock.elapsedRealtime();
 		readBundle(getArguments());
 		setHasOptionsMenu(true);
 		if (savedInstanceState != null) {
@@ -251,9 +271,16 @@ public class CollectionFragment extends Fragment implements
 	@Override
 	public void onDestroyView() {
 		super.onDestroyView();
+		selectionGeneration++;
 		if (unbinder != null) unbinder.unbind();
 	}
 
+	@Override
+	public void onDestroy() {
+		super.onDestroy();
+		selectionExecutor.shutdownNow();
+	}
+
 	private CollectionSorter getCollectionSorter(int sortType) {
 		if (collectionSorterFactory == null) {
 			collectionSorterFactory = new CollectionSorterFactory(getActivity());
@@ -261,10 +288,18 @@ public class CollectionFragment extends Fragment implements
 		return collectionSorterFactory.create(sortType);
 	}
 
+	/**
+	 * Show the collection with the current filters and sort. If the loaded snapshot has every column they need, it's
+	 * filtered and sorted in memory; otherwise the snapshot is reloaded with the missing columns.
+	 */
 	@DebugLog
 	private void requery() {
 		progressBar.show();
-		LoaderManager.getInstance(this).restartLoader(Query._TOKEN, null, this);
+		if (snapshot != null && snapshot.hasColumns(getProjection())) {
+			selectFromSnapshot();
+		} else {
+			LoaderManager.getInstance(this).restartLoader(Query._TOKEN, null, snapshotCallbacks);
+		}
 	}
 
 	@Override
@@ -453,34 +488,7 @@ public class CollectionFragment extends Fragment implements
 	@DebugLog
 	public Loader<Cursor> onCreateLoader(int id, Bundle data) {
 		CursorLoader loader = null;
-		if (id == Query._TOKEN) {
-			StringBuilder where = new StringBuilder();
-			String[] args = {};
-			StringBuilder having = new StringBuilder();
-			if (viewId == 0 && filters.size() == 0) {
-				where.append(buildDefaultWhereClause());
-			} else {
-				for (CollectionFilterer filter : filters) {
-					if (filter != null) {
-						if (!TextUtils.isEmpty(filter.getSelection())) {
-							if (where.length() > 0) where.append(" AND ");
-							where.append("(").append(filter.getSelection()).append(")");
-							args = StringUtils.concatenate(args, filter.getSelectionArgs());
-						}
-						if (!TextUtils.isEmpty(filter.getHaving())) {
-							if (having.length() > 0) having.append(" AND ");
-							having.append("(").append(filter.getHaving()).append(")");
-						}
-					}
-				}
-			}
-			loader = new CursorLoader(getActivity(),
-				Collection.buildUri(having.toString()),
-				getProjection(),
-				where.toString(),
-				args,
-				sorter == null ? null : sorter.getOrderByClause());
-		} else if (id == ViewQuery._TOKEN) {
+		if (id == ViewQuery._TOKEN) {
 			if (viewId > 0) {
 				loader = new CursorLoader(getActivity(), CollectionViews.buildViewFilterUri(viewId), ViewQuery.PROJECTION, null, null, null);
 			}
@@ -488,71 +496,165 @@ public class CollectionFragment extends Fragment implements
 		return loader;
 	}
 
-	private String[] getProjection() {
-		String[] projection = sorter == null ? Query.PROJECTION : StringUtils.unionArrays(Query.PROJECTION, sorter.getColumns());
-		for (CollectionFilterer filter : filters) {
-			projection = StringUtils.unionArrays(projection, filter.getColumns());
+	private final LoaderCallbacks<CollectionSnapshot> snapshotCallbacks = new LoaderCallbacks<CollectionSnapshot>() {
+		@NonNull
+		@Override
+		public Loader<CollectionSnapshot> onCreateLoader(int id, @Nullable Bundle args) {
+			return new CollectionSnapshotLoader(getActivity(), Collection.CONTENT_URI, getSnapshotProjection());
 		}
-		return projection;
+
+		@Override
+		public void onLoadFinished(@NonNull Loader<CollectionSnapshot> loader, CollectionSnapshot data) {
+			if (getActivity() == null) return;
+			snapshot = data;
+			if (snapshot == null) {
+				showItems(new ArrayList<CollectionItem>(), SectionIndex.EMPTY, null, null, sorter);
+			} else {
+				selectFromSnapshot();
+			}
+		}
+
+		@Override
+		public void onLoaderReset(@NonNull Loader<CollectionSnapshot> loader) {
+			snapshot = null;
+			if (adapter != null) adapter.clearItems();
+		}
+	};
+
+	/**
+	 * The columns of the snapshot: everything needed to display the collection, evaluate the default view, and apply
+	 * any of the sorts and filters (plus the columns of the current filters that are computed per query).
+	 */
+	private String[] getSnapshotProjection() {
+		if (collectionSorterFactory == null) {
+			collectionSorterFactory = new CollectionSorterFactory(getActivity());
+		}
+		String[] projection = StringUtils.unionArrays(Query.PROJECTION, Query.SNAPSHOT_COLUMNS);
+		projection = StringUtils.unionArrays(projection, collectionSorterFactory.getColumns());
+		return StringUtils.unionArrays(projection, getProjection());
 	}
 
-	private String buildDefaultWhereClause() {
-		if (!TextUtils.isEmpty(defaultWhereClause)) {
-			return defaultWhereClause;
+	/**
+	 * Filter and sort the snapshot in the background, then show the result. The adapter is updated with a diff, unless
+	 * the sort changed (when nearly every item moves).
+	 */
+	private void selectFromSnapshot() {
+		if (adapter == null) {
+			adapter = new CollectionAdapter(getActivity());
+			listView.setAdapter(adapter);
 		}
-		Set<String> statuses = PreferencesUtils.getSyncStatuses(getActivity());
-		if (statuses == null || statuses.size() == 0) {
-			defaultWhereClause = "";
-			return defaultWhereClause;
+		final CollectionSnapshot snapshot = this.snapshot;
+		final CollectionSorter sorter = this.sorter;
+		final List<CollectionSnapshot.RowFilter> rowFilters = getRowFilters();
+		final List<CollectionItem> oldItems = adapter.getItems();
+		final boolean canDiff = sorter != null && sorter.getType() == displayedSortType;
+		final int generation = ++selectionGeneration;
+		selectionExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				int[] rows = snapshot.select(rowFilters, sorter);
+				Cursor cursor = snapshot.newCursor();
+				final List<CollectionItem> items = new ArrayList<>(rows.length);
+				SectionIndex.Builder sectionIndexBuilder = new SectionIndex.Builder();
+				for (int row : rows) {
+					cursor.moveToPosition(row);
+					CollectionItem item = new CollectionItem(cursor, sorter);
+					items.add(item);
+					sectionIndexBuilder.add(item.headerText);
+				}
+				cursor.close();
+				final SectionIndex sectionIndex = sectionIndexBuilder.build();
+				final DiffUtil.DiffResult diff = canDiff ? DiffUtil.calculateDiff(new CollectionItemDiffCallback(oldItems, items)) : null;
+				handler.post(new Runnable() {
+					@Override
+					public void run() {
+						if (generation != selectionGeneration || getActivity() == null) return;
+						showItems(items, sectionIndex, oldItems, diff, sorter);
+					}
+				});
+			}
+		});
+	}
+
+	private List<CollectionSnapshot.RowFilter> getRowFilters() {
+		List<CollectionSnapshot.RowFilter> rowFilters = new ArrayList<>();
+		if (viewId == 0 && filters.size() == 0) {
+			final Set<String> statuses = PreferencesUtils.getSyncStatuses(getActivity());
+			if (statuses != null && statuses.size() > 0) {
+				rowFilters.add(new CollectionSnapshot.RowFilter() {
+					@Override
+					public boolean evaluate(@NotNull CollectionSnapshot snapshot, int row) {
+						return isInDefaultView(snapshot, row, statuses);
+					}
+				});
+			}
+		} else {
+			for (CollectionFilterer filter : filters) {
+				if (filter != null) rowFilters.add(filter);
+			}
 		}
-		StringBuilder where = new StringBuilder();
+		return rowFilters;
+	}
+
+	/**
+	 * Whether the row is included in the default view, which shows items with any of the statuses set to sync.
+	 */
+	private static boolean isInDefaultView(CollectionSnapshot snapshot, int row, Set<String> statuses) {
+		boolean hasStatus = false;
 		for (String status : statuses) {
 			if (TextUtils.isEmpty(status)) continue;
-			if (where.length() > 0) where.append(" OR ");
+			hasStatus = true;
 			switch (status) {
 				case "own":
-					where.append(Collection.STATUS_OWN).append("=1");
+					if (snapshot.getInt(Collection.STATUS_OWN, row) == 1) return true;
 					break;
 				case "played":
-					where.append(Games.NUM_PLAYS).append(">0");
+					if (snapshot.getInt(Games.NUM_PLAYS, row) > 0) return true;
 					break;
 				case "rated":
-					where.append(Collection.RATING).append(">0");
+					if (snapshot.getDouble(Collection.RATING, row) > 0) return true;
 					break;
 				case "comment":
-					where.append(Collection.COMMENT).append("='' OR ").append(Collection.COMMENT).append(" IS NULL");
+					if (TextUtils.isEmpty(snapshot.getString(Collection.COMMENT, row))) return true;
 					break;
 				case "prevowned":
-					where.append(Collection.STATUS_PREVIOUSLY_OWNED).append("=1");
+					if (snapshot.getInt(Collection.STATUS_PREVIOUSLY_OWNED, row) == 1) return true;
 					break;
 				case "trade":
-					where.append(Collection.STATUS_FOR_TRADE).append("=1");
+					if (snapshot.getInt(Collection.STATUS_FOR_TRADE, row) == 1) return true;
 					break;
 				case "want":
-					where.append(Collection.STATUS_WANT).append("=1");
+					if (snapshot.getInt(Collection.STATUS_WANT, row) == 1) return true;
 					break;
 				case "wanttobuy":
-					where.append(Collection.STATUS_WANT_TO_BUY).append("=1");
+					if (snapshot.getInt(Collection.STATUS_WANT_TO_BUY, row) == 1) return true;
 					break;
 				case "wishlist":
-					where.append(Collection.STATUS_WISHLIST).append("=1");
+					if (snapshot.getInt(Collection.STATUS_WISHLIST, row) == 1) return true;
 					break;
 				case "wanttoplay":
-					where.append(Collection.STATUS_WANT_TO_PLAY).append("=1");
+					if (snapshot.getInt(Collection.STATUS_WANT_TO_PLAY, row) == 1) return true;
 					break;
 				case "preordered":
-					where.append(Collection.STATUS_PREORDERED).append("=1");
+					if (snapshot.getInt(Collection.STATUS_PREORDERED, row) == 1) return true;
 					break;
 				case "hasparts":
-					where.append(Collection.HASPARTS_LIST).append("='' OR ").append(Collection.HASPARTS_LIST).append(" IS NULL");
+					if (TextUtils.isEmpty(snapshot.getString(Collection.HASPARTS_LIST, row))) return true;
 					break;
 				case "wantparts":
-					where.append(Collection.WANTPARTS_LIST).append("='' OR ").append(Collection.WANTPARTS_LIST).append(" IS NULL");
+					if (TextUtils.isEmpty(snapshot.getString(Collection.WANTPARTS_LIST, row))) return true;
 					break;
 			}
 		}
-		defaultWhereClause = where.toString();
-		return defaultWhereClause;
+		return !hasStatus;
+	}
+
+	private String[] getProjection() {
+		String[] projection = sorter == null ? Query.PROJECTION : StringUtils.unionArrays(Query.PROJECTION, sorter.getColumns());
+		for (CollectionFilterer filter : filters) {
+			projection = StringUtils.unionArrays(projection, filter.getColumns());
+		}
+		return projection;
 	}
 
 	@Override
@@ -561,48 +663,7 @@ public class CollectionFragment extends Fragment implements
 		if (getActivity() == null) return;
 
 		int token = loader.getId();
-		if (token == Query._TOKEN) {
-			if (adapter == null) {
-				adapter = new CollectionAdapter(getActivity());
-				listView.setAdapter(adapter);
-			}
-			List<CollectionItem> items = new ArrayList<>(cursor.getCount());
-			if (cursor.moveToFirst()) {
-				do {
-					items.add(new CollectionItem(cursor, sorter));
-				} while (cursor.moveToNext());
-			}
-			adapter.setItems(items);
-
-			RecyclerSectionItemDecoration sectionItemDecoration =
-				new RecyclerSectionItemDecoration(
-					getResources().getDimensionPixelSize(R.dimen.recycler_section_header_height),
-					getSectionCallback(items, sorter),
-					true
-				);
-			while (listView.getItemDecorationCount() > 0) {
-				listView.removeItemDecorationAt(0);
-			}
-			listView.addItemDecoration(sectionItemDecoration);
-
-			final int rowCount = cursor.getCount();
-			final String sortDescription = sorter == null ? "" : String.format(getActivity().getString(R.string.by_prefix), sorter.getDescription());
-			rowCountView.setText(String.format(Locale.getDefault(), "%,d", rowCount));
-			sortDescriptionView.setText(sortDescription);
-			EventBus.getDefault().post(new CollectionCountChangedEvent(rowCount));
-			EventBus.getDefault().post(new CollectionSortChangedEvent(sortDescription));
-
-			bindFilterButtons();
-			invalidateMenu();
-			if (rowCount > 0) {
-				AnimationUtils.fadeIn(listView);
-				AnimationUtils.fadeOut(emptyContainer);
-			} else {
-				AnimationUtils.fadeIn(emptyContainer);
-				AnimationUtils.fadeOut(listView);
-			}
-			progressBar.hide();
-		} else if (token == ViewQuery._TOKEN) {
+		if (token == ViewQuery._TOKEN) {
 			if (cursor.moveToFirst()) {
 				viewName = cursor.getString(ViewQuery.NAME);
 				sorter = getCollectionSorter(cursor.getInt(ViewQuery.SORT_TYPE));
@@ -626,7 +687,50 @@ public class CollectionFragment extends Fragment implements
 	@Override
 	@DebugLog
 	public void onLoaderReset(@NonNull Loader<Cursor> loader) {
-		if (adapter != null) adapter.clearItems();
+	}
+
+	@DebugLog
+	private void showItems(List<CollectionItem> items, SectionIndex sectionIndex, @Nullable List<CollectionItem> oldItems, @Nullable DiffUtil.DiffResult diff, CollectionSorter sorter) {
+		if (adapter == null) {
+			adapter = new CollectionAdapter(getActivity());
+			listView.setAdapter(adapter);
+		}
+		adapter.setItems(items, oldItems, diff);
+		displayedSortType = sorter == null ? CollectionSorterFactory.TYPE_UNKNOWN : sorter.getType();
+		this.sectionIndex = sectionIndex;
+
+		RecyclerSectionItemDecoration sectionItemDecoration =
+			new RecyclerSectionItemDecoration(
+				getResources().getDimensionPixelSize(R.dimen.recycler_section_header_height),
+				sectionIndex,
+				true
+			);
+		while (listView.getItemDecorationCount() > 0) {
+			listView.removeItemDecorationAt(0);
+		}
+		listView.addItemDecoration(sectionItemDecoration);
+
+		final int rowCount = items.size();
+		final String sortDescription = sorter == null ? "" : String.format(getActivity().getString(R.string.by_prefix), sorter.getDescription());
+		rowCountView.setText(String.format(Locale.getDefault(), "%,d", rowCount));
+		sortDescriptionView.setText(sortDescription);
+		EventBus.getDefault().post(new CollectionCountChangedEvent(rowCount));
+		EventBus.getDefault().post(new CollectionSortChangedEvent(sortDescription));
+
+		bindFilterButtons();
+		invalidateMenu();
+		if (rowCount > 0) {
+			AnimationUtils.fadeIn(listView);
+			AnimationUtils.fadeOut(emptyContainer);
+		} else {
+			AnimationUtils.fadeIn(emptyContainer);
+			AnimationUtils.fadeOut(listView);
+		}
+		progressBar.hide();
+		if (createdTime > 0) {
+			Tracer.record("screen:collection", SystemClock.elapsedRealtime() - createdTime);
+			createdTime = 0;
+		}
 	}
 
 	@Override
@@ -677,6 +781,26 @@ public class CollectionFragment extends Fragment implements
 		SyncService.sync(getActivity(), SyncService.FLAG_SYNC_COLLECTION);
 	}
 
+	/**
+	 * Jump to the start of one of the sections of the current sort.
+	 */
+	@OnClick(R.id.sort_description)
+	void onSortDescriptionClick() {
+		if (getContext() == null || sectionIndex.getSectionCount() < 2) return;
+		new AlertDialog.Builder(getContext())
+			.setTitle(R.string.title_jump_to)
+			.setItems(sectionIndex.getHeaders(), new DialogInterface.OnClickListener() {
+				@Override
+				public void onClick(DialogInterface dialog, int which) {
+					int position = sectionIndex.getPositionForSection(which);
+					if (position != RecyclerView.NO_POSITION && listView != null) {
+						((LinearLayoutManager) listView.getLayoutManager()).scrollToPositionWithOffset(position, 0);
+					}
+				}
+			})
+			.show();
+	}
+
 	private boolean hasFiltersApplied() {
 		return filters.size() > 0;
 	}
@@ -828,11 +952,52 @@ public class CollectionFragment extends Fragment implements
 			headerText = sorter == null ? "" : sorter.getHeaderText(cursor, cursor.getPosition());
 			customPlayerSort = cursor.getInt(Query.CUSTOM_PLAYER_SORT) == 1;
 		}
+
+		public boolean hasSameContents(CollectionItem other) {
+			return TextUtils.equals(collectionName, other.collectionName) &&
+				year == other.year &&
+				TextUtils.equals(collectionThumbnailUrl, other.collectionThumbnailUrl) &&
+				TextUtils.equals(thumbnailUrl, other.thumbnailUrl) &&
+				isFavorite == other.isFavorite &&
+				timestamp == other.timestamp &&
+				TextUtils.equals(displayInfo, other.displayInfo) &&
+				TextUtils.equals(headerText, other.headerText);
+		}
+	}
+
+	private static class CollectionItemDiffCallback extends DiffUtil.Callback {
+		private final List<CollectionItem> oldItems;
+		private final List<CollectionItem> newItems;
+
+		CollectionItemDiffCallback(List<CollectionItem> oldItems, List<CollectionItem> newItems) {
+			this.oldItems = oldItems;
+			this.newItems = newItems;
+		}
+
+		@Override
+		public int getOldListSize() {
+			return oldItems.size();
+		}
+
+		@Override
+		public int getNewListSize() {
+			return newItems.size();
+		}
+
+		@Override
+		public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+			return oldItems.get(oldItemPosition).internalId == newItems.get(newItemPosition).internalId;
+		}
+
+		@Override
+		public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+			return oldItems.get(oldItemPosition).hasSameContents(newItems.get(newItemPosition));
+		}
 	}
 
 	public class CollectionAdapter extends RecyclerView.Adapter<CollectionAdapter.CollectionItemViewHolder> {
 		@NonNull private final LayoutInflater inflater;
-		private final List<CollectionItem> items = new ArrayList<>();
+		private List<CollectionItem> items = new ArrayList<>();
 		private final SparseBooleanArray selectedItems = new SparseBooleanArray();
 
 		@DebugLog
@@ -842,14 +1007,25 @@ public class CollectionFragment extends Fragment implements
 		}
 
 		public void clearItems() {
-			items.clear();
+			items = new ArrayList<>();
 			notifyDataSetChanged();
 		}
 
-		public void setItems(List<CollectionItem> values) {
-			items.clear();
-			items.addAll(values);
-			notifyDataSetChanged();
+		public List<CollectionItem> getItems() {
+			return items;
+		}
+
+		/**
+		 * Replace the items. The diff is only applied if it was calculated from the items currently shown.
+		 */
+		public void setItems(List<CollectionItem> values, @Nullable List<CollectionItem> oldItems, @Nullable DiffUtil.DiffResult diff) {
+			boolean canDispatchDiff = diff != null && oldItems == items;
+			items = values;
+			if (canDispatchDiff) {
+				diff.dispatchUpdatesTo(this);
+			} else {
+				notifyDataSetChanged();
+			}
 		}
 
 		public CollectionItem getItem(int position) {
@@ -963,30 +1139,6 @@ public class CollectionFragment extends Fragment implements
 		}
 	}
 
-	private RecyclerSectionItemDecoration.SectionCallback getSectionCallback(final List<CollectionItem> items, final CollectionSorter sorter) {
-		return new RecyclerSectionItemDecoration.SectionCallback() {
-			@Override
-			public boolean isSection(int position) {
-				if (position == RecyclerView.NO_POSITION) return false;
-				if (items == null || items.size() == 0) return false;
-				if (position == 0) return true;
-				if (position < 0 || position >= items.size()) return false;
-				String thisLetter = items.get(position).headerText;
-				String lastLetter = items.get(position - 1).headerText;
-				return !thisLetter.equals(lastLetter);
-			}
-
-			@NotNull
-			@Override
-			public CharSequence getSectionHeader(int position) {
-				if (position == RecyclerView.NO_POSITION) return "-";
-				if (items == null || items.size() == 0) return "-";
-				if (position < 0 || position >= items.size()) return "-";
-				return items.get(position).headerText;
-			}
-		};
-	}
-
 	private interface Query {
 		int _TOKEN = 0x01;
 		String[] PROJECTION = {
@@ -1018,6 +1170,31 @@ public class CollectionFragment extends Fragment implements
 		int CUSTOM_PLAYER_SORT = 10;
 		int STARRED = 11;
 		int HERO_IMAGE_URL = 12;
+
+		String[] SNAPSHOT_COLUMNS = {
+			Collection.STATUS_OWN,
+			Collection.STATUS_PREVIOUSLY_OWNED,
+			Collection.STATUS_FOR_TRADE,
+			Collection.STATUS_WANT,
+			Collection.STATUS_WANT_TO_BUY,
+			Collection.STATUS_WISHLIST,
+			Collection.STATUS_WANT_TO_PLAY,
+			Collection.STATUS_PREORDERED,
+			Collection.RATING,
+			Collection.COMMENT,
+			Collection.HASPARTS_LIST,
+			Collection.WANTPARTS_LIST,
+			Collection.NUM_PLAYS,
+			Collection.STATS_AVERAGE,
+			Collection.STATS_BAYES_AVERAGE,
+			Collection.STATS_AVERAGE_WEIGHT,
+			Collection.GAME_RANK,
+			Collection.MIN_PLAYERS,
+			Collection.MAX_PLAYERS,
+			Collection.PLAYING_TIME,
+			Collection.MINIMUM_AGE,
+			Collection.SUBTYPE
+		};
 	}
 
 	private interface ViewQuery {
@@ -14,12 +14,11 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.boardgamegeek.BggApplication;
 import com.boardgamegeek.R;
-import com.boardgamegeek.io.Adapter;
-import com.boardgamegeek.io.BggService;
 import com.boardgamegeek.io.model.Game.Comment;
-import com.boardgamegeek.io.model.ThingResponse;
 import com.boardgamegeek.provider.BggContract;
+import com.boardgamegeek.repository.CommentsRepository;
 import com.boardgamegeek.ui.adapter.GameCommentsRecyclerViewAdapter;
 import com.boardgamegeek.ui.loader.PaginatedLoader;
 import com.boardgamegeek.ui.model.GameComments;
@@ -34,13 +33,13 @@ import butterknife.Unbinder;
 import hugo.weaving.DebugLog;
 import icepick.Icepick;
 import icepick.State;
-import retrofit2.Call;
 
 public class CommentsFragment extends Fragment implements LoaderManager.LoaderCallbacks<PaginatedData<Comment>> {
 	private static final String KEY_GAME_ID = "GAME_ID";
 	private static final String KEY_SORT_BY_RATING = "SORT";
 	private static final int LOADER_ID = 0;
 	private static final int VISIBLE_THRESHOLD = 5;
+	private static final int PREFETCH_THRESHOLD = GameComments.PAGE_SIZE / 2;
 	private GameCommentsRecyclerViewAdapter adapter;
 	private int gameId;
 	@State boolean isSortedByRating = false;
@@ -79,7 +78,7 @@ public class CommentsFragment extends Fragment implements LoaderManager.LoaderCa
 	@Override
 	public void onResume() {
 		super.onResume();
-		requery();
+		LoaderManager.getInstance(this).initLoader(LOADER_ID, null, this);
 	}
 
 	@Override
@@ -91,6 +90,7 @@ public class CommentsFragment extends Fragment implements LoaderManager.LoaderCa
 	@Override
 	public void onDestroyView() {
 		super.onDestroyView();
+		adapter = null;
 		if (unbinder != null) unbinder.unbind();
 	}
 
@@ -107,11 +107,13 @@ public class CommentsFragment extends Fragment implements LoaderManager.LoaderCa
 				super.onScrollStateChanged(recyclerView, newState);
 
 				final CommentsLoader loader = getLoader();
-				if (loader != null && !loader.isLoading() && loader.hasMoreResults()) {
+				if (loader != null && loader.hasMoreResults()) {
 					int totalItemCount = layoutManager.getItemCount();
 					int lastVisibleItemPosition = layoutManager.findLastVisibleItemPosition();
-					if (lastVisibleItemPosition + VISIBLE_THRESHOLD >= totalItemCount) {
+					if (!loader.isLoading() && lastVisibleItemPosition + VISIBLE_THRESHOLD >= totalItemCount) {
 						loadMoreResults();
+					} else if (lastVisibleItemPosition + PREFETCH_THRESHOLD >= totalItemCount) {
+						loader.prefetchNextPage();
 					}
 				}
 			}
@@ -139,7 +141,7 @@ public class CommentsFragment extends Fragment implements LoaderManager.LoaderCa
 
 	@Override
 	public Loader<PaginatedData<Comment>> onCreateLoader(int id, Bundle data) {
-		return new CommentsLoader(getContext(), gameId, isSortedByRating);
+		return new CommentsLoader(getContext(), ((BggApplication) getActivity().getApplication()).getCommentsRepository(), gameId, isSortedByRating);
 	}
 
 	@Override
@@ -180,28 +182,29 @@ public class CommentsFragment extends Fragment implements LoaderManager.LoaderCa
 	}
 
 	private static class CommentsLoader extends PaginatedLoader<Comment> {
-		final BggService bggService;
+		private final CommentsRepository repository;
 		private final int gameId;
 		private final boolean isSortedByRating;
 
-		public CommentsLoader(Context context, int gameId, boolean isSortedByRating) {
+		public CommentsLoader(Context context, CommentsRepository repository, int gameId, boolean isSortedByRating) {
 			super(context);
-			bggService = Adapter.createForXml();
+			this.repository = repository;
 			this.gameId = gameId;
 			this.isSortedByRating = isSortedByRating;
 		}
 
+		/**
+		 * Fetch the next page in the background, so it's in memory by the time the user scrolls to it.
+		 */
+		public void prefetchNextPage() {
+			repository.prefetch(gameId, isSortedByRating, getNextPageNumber());
+		}
+
 		@Override
 		protected PaginatedData<Comment> fetchPage(int pageNumber) {
 			GameComments data;
-			Call<ThingResponse> call;
-			if (isSortedByRating) {
-				call = bggService.thingWithRatings(gameId, pageNumber);
-			} else {
-				call = bggService.thingWithComments(gameId, pageNumber);
-			}
 			try {
-				data = new GameComments(call.execute().body().getGames().get(0).comments, pageNumber);
+				data = new GameComments(repository.getPage(gameId, isSortedByRating, pageNumber), pageNumber);
 			} catch (Exception e) {
 				data = new GameComments(e);
 			}
@@ -14,7 +14,9 @@ import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.TextView;
 
+import com.boardgamegeek.BuildConfig;
 import com.boardgamegeek.R;
 import com.boardgamegeek.events.ExportFinishedEvent;
 import com.boardgamegeek.events.ExportProgressEvent;
@@ -32,8 +34,11 @@ import com.boardgamegeek.export.UserImportTask;
 import com.boardgamegeek.extensions.TaskUtils;
 import com.boardgamegeek.ui.widget.DataStepRow;
 import com.boardgamegeek.ui.widget.DataStepRow.Listener;
+import com.boardgamegeek.util.ActivityUtils;
 import com.boardgamegeek.util.DialogUtils;
 import com.boardgamegeek.util.FileUtils;
+import com.boardgamegeek.util.Tracer;
+import com.boardgamegeek.util.Tracer.Statistics;
 import com.crashlytics.android.answers.Answers;
 import com.crashlytics.android.answers.CustomEvent;
 import com.google.android.material.snackbar.Snackbar;
@@ -42,6 +47,9 @@ import org.greenrobot.eventbus.EventBus;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 
+import java.util.List;
+import java.util.Locale;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
@@ -49,6 +57,7 @@ import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import butterknife.BindView;
 import butterknife.ButterKnife;
+import butterknife.OnClick;
 import butterknife.Unbinder;
 import hugo.weaving.DebugLog;
 import timber.log.Timber;
@@ -59,9 +68,12 @@ public class DataFragment extends Fragment implements Listener {
 	private static final int REQUEST_PERMISSIONS = 3000;
 	private static final String ANSWERS_EVENT_NAME = "DataManagement";
 	private static final String ANSWERS_ATTRIBUTE_KEY_ACTION = "Action";
+	private static final String PERFORMANCE_ROW_FORMAT = "%-40s %6s %6s %6s %6s";
 
 	private Unbinder unbinder;
 	@BindView(R.id.backup_types) ViewGroup fileTypesView;
+	@BindView(R.id.performance_container) View performanceContainer;
+	@BindView(R.id.performance_statistics) TextView performanceStatisticsView;
 	private String currentType;
 
 	@DebugLog
@@ -74,10 +86,17 @@ public class DataFragment extends Fragment implements Listener {
 		createDataRow(Constants.TYPE_COLLECTION_VIEWS, R.string.backup_type_collection_view, R.string.backup_description_collection_view);
 		createDataRow(Constants.TYPE_GAMES, R.string.backup_type_game, R.string.backup_description_game);
 		createDataRow(Constants.TYPE_USERS, R.string.backup_type_user, R.string.backup_description_user);
+		performanceContainer.setVisibility(BuildConfig.DEBUG ? View.VISIBLE : View.GONE);
 
 		return root;
 	}
 
+	@Override
+	public void onResume() {
+		super.onResume();
+		if (BuildConfig.DEBUG) bindPerformanceStatistics();
+	}
+
 	private void createDataRow(String type, @StringRes int typeResId, @StringRes int descriptionResId) {
 		DataStepRow row = new DataStepRow(getContext());
 		row.setListener(this);
@@ -285,6 +304,36 @@ public class DataFragment extends Fragment implements Listener {
 		if (row != null) row.updateProgressBar(event.getTotalCount(), event.getCurrentCount());
 	}
 
+	private void bindPerformanceStatistics() {
+		List<Statistics> statistics = Tracer.getStatistics();
+		if (statistics.isEmpty()) {
+			performanceStatisticsView.setText(R.string.msg_performance_empty);
+			return;
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.US, PERFORMANCE_ROW_FORMAT, "name", "count", "p50", "p95", "max"));
+		for (Statistics stats : statistics) {
+			sb.append("\n").append(String.format(Locale.US, PERFORMANCE_ROW_FORMAT,
+				stats.getName(),
+				String.valueOf(stats.getCount()),
+				String.valueOf(stats.getP50Millis()),
+				String.valueOf(stats.getP95Millis()),
+				String.valueOf(stats.getMaxMillis())));
+		}
+		performanceStatisticsView.setText(sb.toString());
+	}
+
+	@OnClick(R.id.performance_export_button)
+	void onPerformanceExportClick() {
+		ActivityUtils.share(getActivity(), getString(R.string.performance_export_subject), Tracer.export(), R.string.title_export);
+	}
+
+	@OnClick(R.id.performance_reset_button)
+	void onPerformanceResetClick() {
+		Tracer.reset();
+		bindPerformanceStatistics();
+	}
+
 	private DataStepRow findRow(String type) {
 		for (int i = 0; i < fileTypesView.getChildCount(); i++) {
 			View view = fileTypesView.getChildAt(i);
@@ -33,6 +33,7 @@ import com.boardgamegeek.tasks.ResetCollectionItemTask;
 import com.boardgamegeek.tasks.UpdateCollectionItemStatusTask;
 import com.boardgamegeek.tasks.sync.SyncCollectionByGameTask;
 import com.boardgamegeek.tasks.sync.SyncCollectionByGameTask.CompletedEvent;
+import com.boardgamegeek.tasks.sync.SyncTaskExecutor;
 import com.boardgamegeek.ui.dialog.EditCollectionTextDialogFragment;
 import com.boardgamegeek.ui.dialog.PrivateInfoDialogFragment;
 import com.boardgamegeek.ui.model.CollectionItem;
@@ -378,7 +379,7 @@ public class GameCollectionItemFragment extends Fragment implements LoaderCallba
 	public void onEvent(CollectionItemResetEvent event) {
 		if (event.getInternalId() == internalId) {
 			needsUploading = false;
-			TaskUtils.executeAsyncTask(new SyncCollectionByGameTask((BggApplication) getActivity().getApplication(), gameId));
+			SyncTaskExecutor.execute(new SyncCollectionByGameTask((BggApplication) getActivity().getApplication(), gameId));
 		}
 	}
 
@@ -524,7 +525,7 @@ public class GameCollectionItemFragment extends Fragment implements LoaderCallba
 		mightNeedRefreshing = false;
 		if (!isRefreshing && gameId != BggContract.INVALID_ID) {
 			isRefreshing = true;
-			TaskUtils.executeAsyncTask(new SyncCollectionByGameTask((BggApplication) getActivity().getApplication(), gameId));
+			SyncTaskExecutor.execute(new SyncCollectionByGameTask((BggApplication) getActivity().getApplication(), gameId));
 			return true;
 		}
 		return false;
@@ -1,5 +1,8 @@
 package com.boardgamegeek.ui;
 
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.ContentObserver;
 import android.database.Cursor;
 import android.graphics.Color;
 import android.os.Build;
@@ -29,6 +32,7 @@ import com.boardgamegeek.provider.BggContract.Collection;
 import com.boardgamegeek.provider.BggContract.Games;
 import com.boardgamegeek.provider.BggContract.PlayPlayers;
 import com.boardgamegeek.provider.BggContract.Plays;
+import com.boardgamegeek.ui.loader.BggLoader;
 import com.boardgamegeek.ui.widget.PlayStatRow;
 import com.boardgamegeek.ui.widget.PlayerStatView;
 import com.boardgamegeek.ui.widget.ScoreGraphView;
@@ -66,6 +70,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.NonNull;
@@ -73,6 +78,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.appcompat.app.AlertDialog;
 import androidx.collection.ArrayMap;
+import androidx.collection.LruCache;
 import androidx.core.content.ContextCompat;
 import androidx.core.widget.ContentLoadingProgressBar;
 import androidx.fragment.app.Fragment;
@@ -91,6 +97,13 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 	private static final String KEY_HEADER_COLOR = "HEADER_COLOR";
 	private static final DecimalFormat SCORE_FORMAT = new DecimalFormat("0.##");
 	private static final DateFormat FORMAT = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+	private static final int STATS_LOADER_ID = 0x01;
+	private static final int STATS_CACHE_SIZE = 10;
+
+	// the calculated stats of recently viewed games, evicted when any play changes
+	private static final LruCache<Integer, Stats> statsCache = new LruCache<>(STATS_CACHE_SIZE);
+	private static final AtomicInteger statsCacheGeneration = new AtomicInteger();
+	private static ContentObserver statsCacheObserver;
 
 	private int gameId;
 	private int playingTime;
@@ -207,21 +220,10 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 	@Override
 	public Loader<Cursor> onCreateLoader(int id, Bundle data) {
 		CursorLoader loader = null;
-		String playSelection = Plays.OBJECT_ID + "=? AND " + SelectionBuilder.whereZeroOrNull(Plays.DELETE_TIMESTAMP);
 		String[] selectionArgs = { String.valueOf(gameId) };
-		switch (id) {
-			case GameQuery._TOKEN:
-				loader = new CursorLoader(getContext(), Collection.CONTENT_URI, GameQuery.PROJECTION, "collection." + Collection.GAME_ID + "=?", selectionArgs, null);
-				loader.setUpdateThrottle(5000);
-				break;
-			case PlayQuery._TOKEN:
-				loader = new CursorLoader(getContext(), Plays.CONTENT_URI, PlayQuery.PROJECTION, playSelection, selectionArgs, Plays.DATE + " ASC");
-				loader.setUpdateThrottle(5000);
-				break;
-			case PlayerQuery._TOKEN:
-				loader = new CursorLoader(getContext(), Plays.buildPlayersUri(), PlayerQuery.PROJECTION, playSelection, selectionArgs, null);
-				loader.setUpdateThrottle(5000);
-				break;
+		if (id == GameQuery._TOKEN) {
+			loader = new CursorLoader(getContext(), Collection.CONTENT_URI, GameQuery.PROJECTION, "collection." + Collection.GAME_ID + "=?", selectionArgs, null);
+			loader.setUpdateThrottle(5000);
 		}
 		return loader;
 	}
@@ -265,23 +267,7 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 						personalRating = ratingSum / ratingCount;
 					}
 				}
-				LoaderManager.getInstance(this).restartLoader(PlayQuery._TOKEN, null, this);
-				break;
-			case PlayQuery._TOKEN:
-				if (cursor == null || !cursor.moveToFirst()) {
-					showEmpty();
-					return;
-				}
-				stats = new Stats(cursor, personalRating);
-				LoaderManager.getInstance(this).restartLoader(PlayerQuery._TOKEN, null, this);
-				break;
-			case PlayerQuery._TOKEN:
-				if (cursor != null && cursor.moveToFirst()) {
-					stats.addPlayerData(cursor);
-				}
-				stats.calculate();
-				bindUi(stats);
-				showData();
+				LoaderManager.getInstance(this).restartLoader(STATS_LOADER_ID, null, statsCallbacks);
 				break;
 			default:
 				cursor.close();
@@ -289,6 +275,32 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		}
 	}
 
+	private final LoaderManager.LoaderCallbacks<Stats> statsCallbacks = new LoaderManager.LoaderCallbacks<Stats>() {
+		@NonNull
+		@Override
+		public Loader<Stats> onCreateLoader(int id, @Nullable Bundle args) {
+			return new StatsLoader(getContext(), gameId, personalRating, playingTime,
+				PreferencesUtils.logPlayStatsIncomplete(getContext()),
+				AccountUtils.getUsername(getContext()));
+		}
+
+		@Override
+		public void onLoadFinished(@NonNull Loader<Stats> loader, Stats data) {
+			if (getActivity() == null) return;
+			if (data == null) {
+				showEmpty();
+				return;
+			}
+			stats = data;
+			bindUi(stats);
+			showData();
+		}
+
+		@Override
+		public void onLoaderReset(@NonNull Loader<Stats> loader) {
+		}
+	};
+
 	private void bindUi(Stats stats) {
 		playCountTable.removeAllViews();
 		datesTable.removeAllViews();
@@ -319,13 +331,7 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 			addPlayStat(playCountTable, stats.getPlayRate(), R.string.play_stat_play_rate);
 		}
 
-		ArrayList<BarEntry> playCountValues = new ArrayList<>();
-		for (int i = stats.getMinPlayerCount(); i <= stats.getMaxPlayerCount(); i++) {
-			final int winnablePlayCount = stats.getWinnablePlayCount(i);
-			final int wins = stats.getWinCount(i);
-			final int playCount = stats.getPlayCount(i);
-			playCountValues.add(new BarEntry(i, new float[] { wins, winnablePlayCount - wins, playCount - winnablePlayCount }));
-		}
+		List<BarEntry> playCountValues = stats.getPlayCountEntries();
 		if (playCountValues.size() > 0) {
 			BarDataSet playCountDataSet = new BarDataSet(playCountValues, getString(R.string.title_plays));
 			playCountDataSet.setDrawValues(false);
@@ -456,7 +462,7 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 			view.setInfoText(R.string.play_stat_utilization_info);
 		}
 
-		int hIndexOffset = stats.getHIndexOffset();
+		int hIndexOffset = stats.getHIndexOffset(PreferencesUtils.getGameHIndex(getContext()));
 		if (hIndexOffset == -1) {
 			addStatRow(advancedTable).setLabel(R.string.play_stat_game_h_index_offset_in);
 		} else {
@@ -569,7 +575,7 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		builder.show();
 	}
 
-	private class PlayerStats {
+	private static class PlayerStats {
 		private String username;
 		private int playCount;
 		private int wins;
@@ -671,7 +677,117 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		}
 	}
 
-	private class Stats {
+	/**
+	 * Loads the plays and players of the game and calculates their stats in the background. Stats are cached by game
+	 * until a play changes, so returning to a game's stats binds them without loading the plays again.
+	 */
+	private static class StatsLoader extends BggLoader<Stats> {
+		private final int gameId;
+		private final double personalRating;
+		private final int playingTime;
+		private final boolean includeIncomplete;
+		private final String username;
+		private final ForceLoadContentObserver observer;
+		private boolean isObserving;
+
+		StatsLoader(Context context, int gameId, double personalRating, int playingTime, boolean includeIncomplete, String username) {
+			super(context);
+			this.gameId = gameId;
+			this.personalRating = personalRating;
+			this.playingTime = playingTime;
+			this.includeIncomplete = includeIncomplete;
+			this.username = username;
+			observer = new ForceLoadContentObserver();
+			setUpdateThrottle(5000);
+			observePlaysForCache(context);
+		}
+
+		@Override
+		public Stats loadInBackground() {
+			Stats cached = statsCache.get(gameId);
+			if (cached != null && cached.isCalculatedWith(personalRating, playingTime, includeIncomplete, username)) {
+				return cached;
+			}
+
+			int generation = statsCacheGeneration.get();
+			ContentResolver resolver = getContext().getContentResolver();
+			String selection = Plays.OBJECT_ID + "=? AND " + SelectionBuilder.whereZeroOrNull(Plays.DELETE_TIMESTAMP);
+			String[] selectionArgs = { String.valueOf(gameId) };
+
+			Stats stats;
+			Cursor cursor = resolver.query(Plays.CONTENT_URI, PlayQuery.PROJECTION, selection, selectionArgs, Plays.DATE + " ASC");
+			if (cursor == null) return null;
+			try {
+				if (!cursor.moveToFirst()) return null;
+				stats = new Stats(cursor, personalRating, playingTime, includeIncomplete, username);
+			} finally {
+				cursor.close();
+			}
+
+			cursor = resolver.query(Plays.buildPlayersUri(), PlayerQuery.PROJECTION, selection, selectionArgs, null);
+			if (cursor != null) {
+				try {
+					if (cursor.moveToFirst()) stats.addPlayerData(cursor);
+				} finally {
+					cursor.close();
+				}
+			}
+			stats.calculate();
+
+			// don't cache stats calculated from plays that changed while they were loading
+			if (statsCacheGeneration.get() == generation) statsCache.put(gameId, stats);
+			return stats;
+		}
+
+		@Override
+		public void onContentChanged() {
+			invalidateStatsCache();
+			super.onContentChanged();
+		}
+
+		@Override
+		protected void onStartLoading() {
+			if (!isObserving) {
+				getContext().getContentResolver().registerContentObserver(Plays.CONTENT_URI, true, observer);
+				isObserving = true;
+			}
+			super.onStartLoading();
+		}
+
+		@Override
+		protected void onReset() {
+			super.onReset();
+			if (isObserving) {
+				getContext().getContentResolver().unregisterContentObserver(observer);
+				isObserving = false;
+			}
+		}
+	}
+
+	/**
+	 * Evict the cached stats whenever a play changes, even when no stats are being shown.
+	 */
+	private static synchronized void observePlaysForCache(Context context) {
+		if (statsCacheObserver != null) return;
+		statsCacheObserver = new ContentObserver(null) {
+			@Override
+			public void onChange(boolean selfChange) {
+				invalidateStatsCache();
+			}
+		};
+		context.getApplicationContext().getContentResolver().registerContentObserver(Plays.CONTENT_URI, true, statsCacheObserver);
+	}
+
+	private static void invalidateStatsCache() {
+		statsCacheGeneration.incrementAndGet();
+		statsCache.evictAll();
+	}
+
+	/**
+	 * The stats of the plays of a game. Everything the UI binds, including the series of the play count chart, is
+	 * calculated up front in {@link #calculate()}; the stats shouldn't be modified after that, since they're cached.
+	 */
+	private static class Stats {
 		private final double lambda = Math.log(0.1) / -10;
 		private final String currentYear = String.valueOf(Calendar.getInstance().get(Calendar.YEAR));
 
@@ -679,6 +795,9 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		private final Map<String, PlayerStats> playerStats = new HashMap<>();
 
 		private final double personalRating;
+		private final int playingTime;
+		private final boolean includeIncomplete;
+		private final String username;
 
 		private String firstPlayDate;
 		private String lastPlayDate;
@@ -704,10 +823,17 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		private double winningScoreSum;
 		private Map<String, Integer> playCountByLocation;
 		private final Set<String> monthsPlayed = new HashSet<>();
+		private PlayerStats personalStats;
+		private List<Entry<String, PlayerStats>> sortedPlayerStats;
+		private List<Entry<String, Integer>> sortedPlaysPerLocation;
+		private List<BarEntry> playCountEntries;
 
-		public Stats(Cursor cursor, double personalRating) {
+		public Stats(Cursor cursor, double personalRating, int playingTime, boolean includeIncomplete, String username) {
 			init();
 			this.personalRating = personalRating;
+			this.playingTime = playingTime;
+			this.includeIncomplete = includeIncomplete;
+			this.username = username;
 			do {
 				PlayModel model = new PlayModel(cursor);
 				plays.put(model.playId, model);
@@ -747,8 +873,14 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 			winningScoreSum = 0;
 		}
 
+		public boolean isCalculatedWith(double personalRating, int playingTime, boolean includeIncomplete, String username) {
+			return this.personalRating == personalRating &&
+				this.playingTime == playingTime &&
+				this.includeIncomplete == includeIncomplete &&
+				TextUtils.equals(this.username, username);
+		}
+
 		public void calculate() {
-			boolean includeIncomplete = PreferencesUtils.logPlayStatsIncomplete(getActivity());
 			for (PlayModel play : plays.values()) {
 				if (!includeIncomplete && play.incomplete) {
 					playCountIncomplete += play.quantity;
@@ -834,6 +966,29 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 
 				monthsPlayed.add(play.getYearAndMonth());
 			}
+
+			sortedPlayerStats = Collections.unmodifiableList(sortPlayerStats());
+			personalStats = findPersonalStats();
+			sortedPlaysPerLocation = Collections.unmodifiableList(sortPlaysPerLocation());
+			playCountEntries = Collections.unmodifiableList(createPlayCountEntries());
+		}
+
+		/**
+		 * The wins, other winnable plays, and other plays at each player count, stacked.
+		 */
+		private List<BarEntry> createPlayCountEntries() {
+			List<BarEntry> entries = new ArrayList<>();
+			for (int i = getMinPlayerCount(); i <= getMaxPlayerCount(); i++) {
+				final int winnablePlayCount = getWinnablePlayCount(i);
+				final int wins = getWinCount(i);
+				final int playCount = getPlayCount(i);
+				entries.add(new BarEntry(i, new float[] { wins, winnablePlayCount - wins, playCount - winnablePlayCount }));
+			}
+			return entries;
+		}
+
+		public List<BarEntry> getPlayCountEntries() {
+			return playCountEntries;
 		}
 
 		public void addPlayerData(Cursor cursor) {
@@ -939,17 +1094,15 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		}
 
 		public int getWinCount(int playerCount) {
-			PlayerStats ps = getPersonalStats();
-			if (ps != null) {
-				return ps.getWinCountByPlayerCount(playerCount);
+			if (personalStats != null) {
+				return personalStats.getWinCountByPlayerCount(playerCount);
 			}
 			return 0;
 		}
 
 		public int getWinnablePlayCount(int playerCount) {
-			PlayerStats ps = getPersonalStats();
-			if (ps != null) {
-				return ps.getWinnablePlayCountByPlayerCount(playerCount);
+			if (personalStats != null) {
+				return personalStats.getWinnablePlayCountByPlayerCount(playerCount);
 			}
 			return 0;
 		}
@@ -962,9 +1115,8 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 			}
 		}
 
-		private PlayerStats getPersonalStats() {
-			String username = AccountUtils.getUsername(getActivity());
-			for (Entry<String, PlayerStats> ps : stats.getPlayerStats()) {
+		private PlayerStats findPersonalStats() {
+			for (Entry<String, PlayerStats> ps : sortedPlayerStats) {
 				if (username != null && username.equalsIgnoreCase(ps.getValue().getUsername())) {
 					return ps.getValue();
 				}
@@ -1015,6 +1167,10 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		}
 
 		public List<Entry<String, PlayerStats>> getPlayerStats() {
+			return sortedPlayerStats;
+		}
+
+		private List<Entry<String, PlayerStats>> sortPlayerStats() {
 			Set<Entry<String, PlayerStats>> set = playerStats.entrySet();
 			List<Entry<String, PlayerStats>> list = new ArrayList(set);
 			Collections.sort(list, new Comparator<Entry<String, PlayerStats>>() {
@@ -1033,6 +1189,10 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		}
 
 		public List<Entry<String, Integer>> getPlaysPerLocation() {
+			return sortedPlaysPerLocation;
+		}
+
+		private List<Entry<String, Integer>> sortPlaysPerLocation() {
 			Set<Entry<String, Integer>> set = playCountByLocation.entrySet();
 			List<Entry<String, Integer>> list = new ArrayList(set);
 			Collections.sort(list, new Comparator<Entry<String, Integer>>() {
@@ -1070,8 +1230,7 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 			return Math.log(raw);
 		}
 
-		public int getHIndexOffset() {
-			int hIndex = PreferencesUtils.getGameHIndex(getActivity());
+		public int getHIndexOffset(int hIndex) {
 			if (playCount >= hIndex) {
 				return -1;
 			} else {
@@ -1149,7 +1308,7 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		}
 	}
 
-	private class PlayModel {
+	private static class PlayModel {
 		final int playId;
 		final String date;
 		final int length;
@@ -1209,7 +1368,7 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 		}
 	}
 
-	private class PlayerModel {
+	private static class PlayerModel {
 		final int playId;
 		final String username;
 		final String name;
@@ -1233,7 +1392,6 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 	}
 
 	private interface PlayQuery {
-		int _TOKEN = 0x01;
 		String[] PROJECTION = { Plays._ID, Plays.PLAY_ID, Plays.DATE, Plays.ITEM_NAME, Plays.OBJECT_ID,
 			Plays.LOCATION, Plays.QUANTITY, Plays.LENGTH, Plays.PLAYER_COUNT, Games.THUMBNAIL_URL,
 			Plays.INCOMPLETE, Plays.NO_WIN_STATS, Plays.DELETE_TIMESTAMP, Plays.UPDATE_TIMESTAMP };
@@ -1250,7 +1408,6 @@ public class GamePlayStatsFragment extends Fragment implements LoaderManager.Loa
 	}
 
 	private interface PlayerQuery {
-		int _TOKEN = 0x03;
 		String[] PROJECTION = { PlayPlayers._ID, PlayPlayers.PLAY_ID, PlayPlayers.USER_NAME, PlayPlayers.WIN,
 			PlayPlayers.SCORE, PlayPlayers.NAME };
 		int PLAY_ID = 1;
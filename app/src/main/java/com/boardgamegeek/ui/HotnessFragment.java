@@ -18,12 +18,10 @@ import android.widget.TextView;
 
 import com.boardgamegeek.R;
 import com.boardgamegeek.auth.Authenticator;
-import com.boardgamegeek.io.Adapter;
-import com.boardgamegeek.io.BggService;
-import com.boardgamegeek.model.HotGame;
-import com.boardgamegeek.model.HotnessResponse;
-import com.boardgamegeek.ui.loader.BggLoader;
-import com.boardgamegeek.ui.loader.SafeResponse;
+import com.boardgamegeek.entities.HotGameEntity;
+import com.boardgamegeek.entities.RefreshableResource;
+import com.boardgamegeek.entities.Status;
+import com.boardgamegeek.ui.viewmodel.HotnessViewModel;
 import com.boardgamegeek.util.ActivityUtils;
 import com.boardgamegeek.util.AnimationUtils;
 import com.boardgamegeek.util.ImageUtils;
@@ -37,19 +35,16 @@ import java.util.List;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
 import androidx.core.widget.ContentLoadingProgressBar;
 import androidx.fragment.app.Fragment;
-import androidx.loader.app.LoaderManager;
-import androidx.loader.content.Loader;
+import androidx.lifecycle.Observer;
+import androidx.lifecycle.ViewModelProviders;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import butterknife.BindView;
 import butterknife.ButterKnife;
 import butterknife.Unbinder;
 import hugo.weaving.DebugLog;
-import retrofit2.Call;
-
-public class HotnessFragment extends Fragment implements LoaderManager.LoaderCallbacks<SafeResponse<HotnessResponse>>, ActionMode.Callback {
-	private static final int LOADER_ID = 1;
 
+public class HotnessFragment extends Fragment implements ActionMode.Callback {
 	private HotGamesAdapter adapter;
 	private ActionMode actionMode;
 	private Unbinder unbinder;
@@ -70,7 +65,13 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 	@Override
 	public void onActivityCreated(Bundle savedInstanceState) {
 		super.onActivityCreated(savedInstanceState);
-		LoaderManager.getInstance(this).initLoader(LOADER_ID, null, this);
+		HotnessViewModel viewModel = ViewModelProviders.of(this).get(HotnessViewModel.class);
+		viewModel.getHotness().observe(this, new Observer<RefreshableResource<List<HotGameEntity>>>() {
+			@Override
+			public void onChanged(RefreshableResource<List<HotGameEntity>> resource) {
+				onHotnessChanged(resource);
+			}
+		});
 	}
 
 	@Override
@@ -84,20 +85,15 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 		recyclerView.setHasFixedSize(true);
 	}
 
-	@Override
-	public Loader<SafeResponse<HotnessResponse>> onCreateLoader(int id, Bundle data) {
-		return new HotnessLoader(getActivity());
-	}
-
-	@Override
-	public void onLoadFinished(Loader<SafeResponse<HotnessResponse>> loader, SafeResponse<HotnessResponse> data) {
-		if (getActivity() == null) {
-			return;
-		}
+	/**
+	 * Shows the saved list as soon as it's loaded; it's only replaced when a background refresh saves a newer one.
+	 */
+	private void onHotnessChanged(RefreshableResource<List<HotGameEntity>> resource) {
+		if (getActivity() == null || resource == null) return;
 
+		List<HotGameEntity> games = resource.getData();
 		if (adapter == null) {
 			adapter = new HotGamesAdapter(getActivity(),
-				data == null || data.getBody() == null ? new ArrayList<HotGame>() : data.getBody().games,
 				new Callback() {
 					@Override
 					public boolean onItemClick(int position) {
@@ -127,40 +123,25 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 					}
 				});
 			recyclerView.setAdapter(adapter);
-		} else {
-			adapter.notifyDataSetChanged();
 		}
+		adapter.setGames(games);
 
-		if (data == null) {
-			AnimationUtils.fadeOut(recyclerView);
-			AnimationUtils.fadeIn(emptyView);
-		} else if (data.hasError()) {
-			emptyView.setText(getString(R.string.empty_http_error, data.getErrorMessage()));
-			AnimationUtils.fadeOut(recyclerView);
-			AnimationUtils.fadeIn(emptyView);
-		} else {
+		if (games != null && games.size() > 0) {
+			if (resource.getStatus() == Status.ERROR) {
+				Snackbar.make(containerView, resource.getMessage(), Snackbar.LENGTH_LONG).show();
+			}
 			AnimationUtils.fadeOut(emptyView);
 			AnimationUtils.fadeIn(getActivity(), recyclerView, isResumed());
-		}
-		progressView.hide();
-	}
-
-	@Override
-	public void onLoaderReset(Loader<SafeResponse<HotnessResponse>> loader) {
-	}
-
-	private static class HotnessLoader extends BggLoader<SafeResponse<HotnessResponse>> {
-		private final BggService bggService;
-
-		public HotnessLoader(Context context) {
-			super(context);
-			bggService = Adapter.createForXml();
-		}
-
-		@Override
-		public SafeResponse<HotnessResponse> loadInBackground() {
-			Call<HotnessResponse> call = bggService.getHotness(BggService.HOTNESS_TYPE_BOARDGAME);
-			return new SafeResponse<>(call);
+			progressView.hide();
+		} else if (resource.getStatus() == Status.REFRESHING) {
+			progressView.show();
+		} else {
+			if (resource.getStatus() == Status.ERROR) {
+				emptyView.setText(getString(R.string.empty_http_error, resource.getMessage()));
+			}
+			AnimationUtils.fadeOut(recyclerView);
+			AnimationUtils.fadeIn(emptyView);
+			progressView.hide();
 		}
 	}
 
@@ -172,12 +153,11 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 
 	public class HotGamesAdapter extends RecyclerView.Adapter<HotGamesAdapter.ViewHolder> {
 		private final LayoutInflater inflater;
-		private final List<HotGame> games;
+		private final List<HotGameEntity> games = new ArrayList<>();
 		private final Callback callback;
 		private final SparseBooleanArray selectedItems;
 
-		public HotGamesAdapter(Context context, List<HotGame> games, Callback callback) {
-			this.games = games;
+		public HotGamesAdapter(Context context, Callback callback) {
 			this.callback = callback;
 			inflater = LayoutInflater.from(context);
 			selectedItems = new SparseBooleanArray();
@@ -197,7 +177,13 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 
 		@Override
 		public int getItemCount() {
-			return games == null ? 0 : games.size();
+			return games.size();
+		}
+
+		public void setGames(List<HotGameEntity> games) {
+			this.games.clear();
+			if (games != null) this.games.addAll(games);
+			notifyDataSetChanged();
 		}
 
 		@Override
@@ -205,7 +191,7 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 			return position;
 		}
 
-		public HotGame getItem(int position) {
+		public HotGameEntity getItem(int position) {
 			return games.get(position);
 		}
 
@@ -223,7 +209,7 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 				ButterKnife.bind(this, itemView);
 			}
 
-			public void bind(HotGame game, final int position) {
+			public void bind(HotGameEntity game, final int position) {
 				if (game == null) return;
 				gameId = game.getId();
 				gameName = game.getName();
@@ -311,7 +297,7 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 	public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
 		final List<Integer> selectedItems = adapter.getSelectedItems();
 		if (selectedItems.size() == 0) return false;
-		HotGame game = adapter.getItem(selectedItems.get(0));
+		HotGameEntity game = adapter.getItem(selectedItems.get(0));
 		switch (item.getItemId()) {
 			case R.id.menu_log_play:
 				mode.finish();
@@ -322,7 +308,7 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 				String text = getResources().getQuantityString(R.plurals.msg_logging_plays, adapter.getSelectedItemCount());
 				Snackbar.make(containerView, text, Snackbar.LENGTH_SHORT).show();
 				for (int position : selectedItems) {
-					HotGame g = adapter.getItem(position);
+					HotGameEntity g = adapter.getItem(position);
 					ActivityUtils.logQuickPlay(getActivity(), g.getId(), g.getName());
 				}
 				return true;
@@ -334,7 +320,7 @@ public class HotnessFragment extends Fragment implements LoaderManager.LoaderCal
 				} else {
 					List<Pair<Integer, String>> games = new ArrayList<>(adapter.getSelectedItemCount());
 					for (int position : selectedItems) {
-						HotGame g = adapter.getItem(position);
+						HotGameEntity g = adapter.getItem(position);
 						games.add(Pair.create(g.getId(), g.getName()));
 					}
 					ActivityUtils.shareGames(getActivity(), games, shareMethod);
@@ -24,7 +24,6 @@ import com.boardgamegeek.BggApplication;
 import com.boardgamegeek.R;
 import com.boardgamegeek.events.PlayDeletedEvent;
 import com.boardgamegeek.events.PlaySentEvent;
-import com.boardgamegeek.extensions.TaskUtils;
 import com.boardgamegeek.model.Play;
 import com.boardgamegeek.model.Player;
 import com.boardgamegeek.model.builder.PlayBuilder;
@@ -32,6 +31,7 @@ import com.boardgamegeek.model.persister.PlayPersister;
 import com.boardgamegeek.provider.BggContract;
 import com.boardgamegeek.provider.BggContract.Plays;
 import com.boardgamegeek.tasks.sync.SyncPlaysByGameTask;
+import com.boardgamegeek.tasks.sync.SyncTaskExecutor;
 import com.boardgamegeek.ui.adapter.PlayPlayerAdapter;
 import com.boardgamegeek.ui.widget.TimestampView;
 import com.boardgamegeek.util.ActivityUtils;
@@ -514,7 +514,7 @@ public class PlayFragment extends ListFragment implements LoaderCallbacks<Cursor
 
 	private void triggerRefresh() {
 		if (!isRefreshing) {
-			TaskUtils.executeAsyncTask(new SyncPlaysByGameTask((BggApplication) getActivity().getApplication(), play.gameId));
+			SyncTaskExecutor.execute(new SyncPlaysByGameTask((BggApplication) getActivity().getApplication(), play.gameId));
 			updateRefreshStatus(true);
 		}
 	}
@@ -11,6 +11,7 @@ import android.graphics.Color;
 import android.net.Uri;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.SparseBooleanArray;
 import android.view.ActionMode;
@@ -32,7 +33,6 @@ import com.boardgamegeek.events.PlaysFilterChangedEvent;
 import com.boardgamegeek.events.PlaysSortChangedEvent;
 import com.boardgamegeek.events.SyncCompleteEvent;
 import com.boardgamegeek.events.SyncEvent;
-import com.boardgamegeek.extensions.TaskUtils;
 import com.boardgamegeek.provider.BggContract;
 import com.boardgamegeek.provider.BggContract.Games;
 import com.boardgamegeek.provider.BggContract.PlayPlayers;
@@ -42,6 +42,7 @@ import com.boardgamegeek.sorter.PlaysSorter;
 import com.boardgamegeek.sorter.PlaysSorterFactory;
 import com.boardgamegeek.tasks.sync.SyncPlaysByDateTask;
 import com.boardgamegeek.tasks.sync.SyncPlaysByGameTask;
+import com.boardgamegeek.tasks.sync.SyncTaskExecutor;
 import com.boardgamegeek.ui.model.PlayModel;
 import com.boardgamegeek.ui.widget.ContentLoadingProgressBar;
 import com.boardgamegeek.ui.widget.RecyclerSectionItemDecoration;
@@ -52,6 +53,7 @@ import com.boardgamegeek.util.PreferencesUtils;
 import com.boardgamegeek.util.PresentationUtils;
 import com.boardgamegeek.util.ResolverUtils;
 import com.boardgamegeek.util.StringUtils;
+import com.boardgamegeek.util.Tracer;
 import com.boardgamegeek.util.UIUtils;
 import com.boardgamegeek.util.fabric.FilterEvent;
 import com.boardgamegeek.util.fabric.SortEvent;
@@ -132,6 +134,7 @@ public class PlaysFragment extends Fragment implements
 	private ShowcaseView showcaseView;
 	private boolean isSyncing = false;
 	private ActionMode actionMode = null;
+	private long createdTime;
 
 	private Unbinder unbinder;
 	@BindView(R.id.swipe_refresh) SwipeRefreshLayout swipeRefreshLayout;
@@ -194,6 +197,7 @@ public class PlaysFragment extends Fragment implements
 	@Override
 	public void onCreate(Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
+		createdTime = SystemClock.elapsedRealtime();
 		setHasOptionsMenu(true);
 	}
 
@@ -485,7 +489,7 @@ public class PlaysFragment extends Fragment implements
 	public void onDateSet(DatePicker view, int year, int month, int day) {
 		isSyncing(true);
 		String date = DateTimeUtils.formatDateForApi(year, month, day);
-		TaskUtils.executeAsyncTask(new SyncPlaysByDateTask((BggApplication) getActivity().getApplication(), date));
+		SyncTaskExecutor.execute(new SyncPlaysByDateTask((BggApplication) getActivity().getApplication(), date));
 	}
 
 	private int getEmptyStringResource() {
@@ -634,6 +638,10 @@ public class PlaysFragment extends Fragment implements
 				new PlaysSortChangedEvent(sorter.getType(), sorter.getDescription());
 			EventBus.getDefault().postSticky(event);
 			progressBar.hide();
+			if (createdTime > 0) {
+				Tracer.record("screen:plays", SystemClock.elapsedRealtime() - createdTime);
+				createdTime = 0;
+			}
 		} else if (token == GameQuery._TOKEN) {
 			if (!hasAutoSyncTriggered && cursor != null && cursor.moveToFirst()) {
 				hasAutoSyncTriggered = true;
@@ -692,7 +700,7 @@ public class PlaysFragment extends Fragment implements
 			case MODE_GAME:
 				isSyncing(true);
 				SyncService.sync(getActivity(), SyncService.FLAG_SYNC_PLAYS_UPLOAD);
-				TaskUtils.executeAsyncTask(new SyncPlaysByGameTask((BggApplication) getActivity().getApplication(), gameId));
+				SyncTaskExecutor.execute(new SyncPlaysByGameTask((BggApplication) getActivity().getApplication(), gameId));
 				break;
 		}
 	}
@@ -8,17 +8,18 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import com.boardgamegeek.R;
-import com.boardgamegeek.extensions.TaskUtils;
 import com.boardgamegeek.provider.BggContract.Artists;
 import com.boardgamegeek.provider.BggContract.Designers;
 import com.boardgamegeek.provider.BggContract.Publishers;
 import com.boardgamegeek.tasks.sync.SyncArtistTask;
 import com.boardgamegeek.tasks.sync.SyncDesignerTask;
 import com.boardgamegeek.tasks.sync.SyncPublisherTask;
+import com.boardgamegeek.tasks.sync.SyncTaskExecutor;
 import com.boardgamegeek.ui.viewmodel.GameViewModel.ProducerType;
 import com.boardgamegeek.ui.widget.TimestampView;
 import com.boardgamegeek.util.DateTimeUtils;
 import com.boardgamegeek.util.PresentationUtils;
+import com.boardgamegeek.util.RemoteConfig;
 import com.boardgamegeek.util.UIUtils;
 
 import org.greenrobot.eventbus.EventBus;
@@ -44,7 +45,6 @@ public class ProducerFragment extends Fragment implements LoaderCallbacks<Cursor
 	private static final String KEY_ID = "ID";
 	private static final String KEY_TITLE = "TITLE";
 
-	private static final int AGE_IN_DAYS_TO_REFRESH = 30;
 	private boolean isRefreshing;
 	private ProducerType type;
 	private int id;
@@ -98,7 +98,7 @@ public class ProducerFragment extends Fragment implements LoaderCallbacks<Cursor
 		nameView.setText(title);
 
 		if (type != ProducerType.UNKNOWN) {
-			LoaderManager.getInstance(this).restartLoader(type.getValue(), null, this);
+			LoaderManager.getInstance(this).initLoader(type.getValue(), null, this);
 		}
 	}
 
@@ -161,7 +161,8 @@ public class ProducerFragment extends Fragment implements LoaderCallbacks<Cursor
 			UIUtils.setTextMaybeHtml(descriptionView, description);
 			updatedView.setTimestamp(updated);
 
-			if (updated == 0 || DateTimeUtils.howManyDaysOld(updated) > AGE_IN_DAYS_TO_REFRESH) {
+			// producers of games in the collection are usually fetched during sync
+			if (updated == 0 || DateTimeUtils.howManyDaysOld(updated) > RemoteConfig.getInt(RemoteConfig.KEY_REFRESH_PRODUCER_DAYS)) {
 				requestRefresh();
 			}
 		} else {
@@ -174,15 +175,15 @@ public class ProducerFragment extends Fragment implements LoaderCallbacks<Cursor
 		if (!isRefreshing) {
 			switch (type) {
 				case DESIGNER:
-					TaskUtils.executeAsyncTask(new SyncDesignerTask(getContext(), id));
+					SyncTaskExecutor.execute(new SyncDesignerTask(getContext(), id));
 					updateRefreshStatus(true);
 					break;
 				case ARTIST:
-					TaskUtils.executeAsyncTask(new SyncArtistTask(getContext(), id));
+					SyncTaskExecutor.execute(new SyncArtistTask(getContext(), id));
 					updateRefreshStatus(true);
 					break;
 				case PUBLISHER:
-					TaskUtils.executeAsyncTask(new SyncPublisherTask(getContext(), id));
+					SyncTaskExecutor.execute(new SyncPublisherTask(getContext(), id));
 					updateRefreshStatus(true);
 					break;
 			}
@@ -7,33 +7,26 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import com.boardgamegeek.R;
-import com.boardgamegeek.model.TopGame;
+import com.boardgamegeek.entities.RefreshableResource;
+import com.boardgamegeek.entities.Status;
+import com.boardgamegeek.entities.TopGameEntity;
 import com.boardgamegeek.ui.adapter.TopGamesAdapter;
+import com.boardgamegeek.ui.viewmodel.TopGamesViewModel;
 import com.boardgamegeek.util.AnimationUtils;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
-
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.widget.ContentLoadingProgressBar;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Observer;
+import androidx.lifecycle.ViewModelProviders;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import butterknife.BindView;
 import butterknife.ButterKnife;
 import butterknife.Unbinder;
-import rx.Single;
-import rx.SingleSubscriber;
-import rx.android.schedulers.AndroidSchedulers;
-import rx.schedulers.Schedulers;
-import timber.log.Timber;
 
 public class TopGamesFragment extends Fragment {
 	private Unbinder unbinder;
@@ -52,7 +45,13 @@ public class TopGamesFragment extends Fragment {
 		super.onViewCreated(view, savedInstanceState);
 		unbinder = ButterKnife.bind(this, view);
 		setUpRecyclerView();
-		loadTopGames();
+		TopGamesViewModel viewModel = ViewModelProviders.of(this).get(TopGamesViewModel.class);
+		viewModel.getTopGames().observe(this, new Observer<RefreshableResource<List<TopGameEntity>>>() {
+			@Override
+			public void onChanged(RefreshableResource<List<TopGameEntity>> resource) {
+				onTopGamesChanged(resource);
+			}
+		});
 	}
 
 	@Override
@@ -64,92 +63,30 @@ public class TopGamesFragment extends Fragment {
 	private void setUpRecyclerView() {
 		recyclerView.setLayoutManager(new LinearLayoutManager(getActivity()));
 		recyclerView.setHasFixedSize(true);
+		adapter = new TopGamesAdapter();
+		recyclerView.setAdapter(adapter);
 	}
 
-	private void loadTopGames() {
-		Single
-			.create(new Single.OnSubscribe<List<TopGame>>() {
-				@Override
-				public void call(SingleSubscriber<? super List<TopGame>> singleSubscriber) {
-					try {
-						List<TopGame> topGames = findTopGames();
-						singleSubscriber.onSuccess(topGames);
-					} catch (Throwable t) {
-						singleSubscriber.onError(t);
-					}
-				}
-			})
-			.subscribeOn(Schedulers.io())
-			.observeOn(AndroidSchedulers.mainThread())
-			.subscribe(new SingleSubscriber<List<TopGame>>() {
-				@Override
-				public void onSuccess(List<TopGame> topGames) {
-					if (!isAdded()) return;
-					if (topGames.isEmpty()) {
-						AnimationUtils.fadeIn(emptyView);
-					} else {
-						adapter = new TopGamesAdapter(topGames);
-						if (recyclerView != null) {
-							recyclerView.setAdapter(adapter);
-							AnimationUtils.fadeIn(getActivity(), recyclerView, isResumed());
-							AnimationUtils.fadeOut(emptyView);
-						}
-					}
-					if (progressView != null) progressView.hide();
-				}
-
-				@Override
-				public void onError(Throwable error) {
-					Timber.w(error, "Error loading top games");
-					if (!isAdded()) return;
-					if (emptyView != null) {
-						emptyView.setText(getString(R.string.empty_http_error, error.getLocalizedMessage()));
-						AnimationUtils.fadeIn(emptyView);
-						AnimationUtils.fadeOut(recyclerView);
-					}
-					if (progressView != null) progressView.hide();
-				}
-			});
-	}
-
-	private List<TopGame> findTopGames() throws IOException {
-		List<TopGame> topGames = new ArrayList<>(100);
-
-		int rank = 1;
-		Document doc = Jsoup
-			.connect("https://www.boardgamegeek.com/browse/boardgame")
-			.timeout(10000)
-			.get();
-		Elements gameElements = doc.select("td.collection_thumbnail");
-		for (Element element : gameElements) {
-			TopGame game = new TopGame();
-			Element link = element.getElementsByTag("a").first();
-			game.setId(getGameIdFromLink(link.attr("href")));
-			game.setRank(rank);
-			game.setYearPublished(0);
-			game.setThumbnailUrl(link.child(0).attr("src"));
-
-			Element gameNameElement = element.parent().select(".collection_objectname").get(0).child(1);
-			game.setName(gameNameElement.child(0).text());
-			String yearPublishedText = gameNameElement.child(1).text();
-			game.setYearPublished(Integer.parseInt(yearPublishedText.substring(1, yearPublishedText.length() - 1)));
-
-			topGames.add(game);
-			rank++;
-		}
-		return topGames;
-	}
-
-	private int getGameIdFromLink(String href) {
-		int boardGameIndex = href.indexOf("/boardgame/");
-		String afterBoardGameString;
-		if (boardGameIndex != -1) {
-			afterBoardGameString = href.substring(boardGameIndex + 11);
+	/**
+	 * Shows the saved ranking as soon as it's loaded; it's only replaced when a background refresh saves a newer one.
+	 */
+	private void onTopGamesChanged(RefreshableResource<List<TopGameEntity>> resource) {
+		if (resource == null || !isAdded()) return;
+		List<TopGameEntity> topGames = resource.getData();
+		adapter.setTopGames(topGames);
+		if (topGames != null && topGames.size() > 0) {
+			AnimationUtils.fadeIn(getActivity(), recyclerView, isResumed());
+			AnimationUtils.fadeOut(emptyView);
+			progressView.hide();
+		} else if (resource.getStatus() == Status.REFRESHING) {
+			progressView.show();
 		} else {
-			int boardGameExpansionIndex = href.indexOf("/boardgameexpansion/");
-			afterBoardGameString = href.substring(boardGameExpansionIndex + 20);
+			if (resource.getStatus() == Status.ERROR) {
+				emptyView.setText(getString(R.string.empty_http_error, resource.getMessage()));
+			}
+			AnimationUtils.fadeIn(emptyView);
+			AnimationUtils.fadeOut(recyclerView);
+			progressView.hide();
 		}
-		int slashIndex = afterBoardGameString.indexOf("/");
-		return Integer.parseInt(afterBoardGameString.substring(0, slashIndex));
 	}
 }
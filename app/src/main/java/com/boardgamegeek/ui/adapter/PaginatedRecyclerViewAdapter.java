@@ -32,10 +32,25 @@ public abstract class PaginatedRecyclerViewAdapter<T> extends RecyclerView.Adapt
 		setHasStableIds(true);
 	}
 
+	/**
+	 * Show the data. When it's the data already shown with more pages added, only the new items are inserted, so the
+	 * rows already bound aren't rebound.
+	 */
 	@DebugLog
 	public void update(PaginatedData<T> data) {
+		PaginatedData<T> oldData = this.data;
 		this.data = data;
-		notifyDataSetChanged();
+		int oldItemCount = oldData.getItems().size();
+		int newItemCount = data.getItems().size();
+		if (oldItemCount > 0 &&
+			data.getCurrentPageNumber() > oldData.getCurrentPageNumber() &&
+			newItemCount >= oldItemCount &&
+			!data.hasError()) {
+			if (hasFooter(oldData)) notifyItemRemoved(oldItemCount);
+			notifyItemRangeInserted(oldItemCount, newItemCount - oldItemCount + (hasFooter(data) ? 1 : 0));
+		} else {
+			notifyDataSetChanged();
+		}
 	}
 
 	@DebugLog
@@ -78,7 +93,11 @@ public abstract class PaginatedRecyclerViewAdapter<T> extends RecyclerView.Adapt
 	@DebugLog
 	@Override
 	public int getItemCount() {
-		return data.getItems().size() + ((data.hasMoreResults() || data.hasError()) ? 1 : 0);
+		return data.getItems().size() + (hasFooter(data) ? 1 : 0);
+	}
+
+	private boolean hasFooter(PaginatedData<T> data) {
+		return data.hasMoreResults() || data.hasError();
 	}
 
 	@DebugLog
@@ -8,11 +8,12 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.boardgamegeek.R;
-import com.boardgamegeek.model.TopGame;
+import com.boardgamegeek.entities.TopGameEntity;
 import com.boardgamegeek.ui.GameActivity;
 import com.boardgamegeek.util.ImageUtils;
 import com.boardgamegeek.util.PresentationUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import butterknife.BindView;
@@ -20,13 +21,18 @@ import butterknife.ButterKnife;
 
 public class TopGamesAdapter extends RecyclerView.Adapter<TopGamesAdapter.ViewHolder> {
 
-	private final List<TopGame> topGames;
+	private final List<TopGameEntity> topGames = new ArrayList<>();
 
-	public TopGamesAdapter(List<TopGame> topGames) {
-		this.topGames = topGames;
+	public TopGamesAdapter() {
 		setHasStableIds(true);
 	}
 
+	public void setTopGames(List<TopGameEntity> topGames) {
+		this.topGames.clear();
+		if (topGames != null) this.topGames.addAll(topGames);
+		notifyDataSetChanged();
+	}
+
 	@Override
 	public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
 		View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.row_top_game, parent, false);
@@ -52,21 +58,23 @@ public class TopGamesAdapter extends RecyclerView.Adapter<TopGamesAdapter.ViewHo
 		@BindView(R.id.name) TextView name;
 		@BindView(R.id.year) TextView year;
 		@BindView(R.id.rank) TextView rank;
+		@BindView(R.id.rank_change) TextView rankChange;
 		@BindView(R.id.thumbnail) ImageView thumbnail;
 
-		private TopGame game;
+		private TopGameEntity game;
 
 		public ViewHolder(View itemView) {
 			super(itemView);
 			ButterKnife.bind(this, itemView);
 		}
 
-		public void bind(TopGame game) {
+		public void bind(TopGameEntity game) {
 			this.game = game;
 			name.setText(game.getName());
 			year.setText(PresentationUtils.describeYear(name.getContext(), game.getYearPublished()));
 			rank.setText(String.valueOf(game.getRank()));
 			ImageUtils.loadThumbnail(thumbnail, game.getThumbnailUrl());
+			bindRankChange(game);
 
 			itemView.setOnClickListener(new View.OnClickListener() {
 				@Override
@@ -79,7 +87,22 @@ public class TopGamesAdapter extends RecyclerView.Adapter<TopGamesAdapter.ViewHo
 			});
 		}
 
-		public TopGame getGame() {
+		private void bindRankChange(TopGameEntity game) {
+			if (!game.isNew() && game.getRankChange() == 0) {
+				rankChange.setVisibility(View.GONE);
+				return;
+			}
+			if (game.isNew()) {
+				rankChange.setText(R.string.top_games_rank_new);
+			} else if (game.getRankChange() > 0) {
+				rankChange.setText(rankChange.getContext().getString(R.string.top_games_rank_up, game.getRankChange()));
+			} else {
+				rankChange.setText(rankChange.getContext().getString(R.string.top_games_rank_down, -game.getRankChange()));
+			}
+			rankChange.setVisibility(View.VISIBLE);
+		}
+
+		public TopGameEntity getGame() {
 			return game;
 		}
 	}
@@ -0,0 +1,54 @@
+package com.boardgamegeek.ui.loader;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+
+import com.boardgamegeek.ui.model.CollectionSnapshot;
+
+/**
+ * Loads the collection into a {@link CollectionSnapshot}, copying the cursor in the background. Reloads when the URI
+ * changes.
+ */
+public class CollectionSnapshotLoader extends BggLoader<CollectionSnapshot> {
+	private final Uri uri;
+	private final String[] projection;
+	private final ForceLoadContentObserver observer;
+	private boolean isObserving;
+
+	public CollectionSnapshotLoader(Context context, Uri uri, String[] projection) {
+		super(context);
+		this.uri = uri;
+		this.projection = projection;
+		observer = new ForceLoadContentObserver();
+	}
+
+	@Override
+	public CollectionSnapshot loadInBackground() {
+		Cursor cursor = getContext().getContentResolver().query(uri, projection, null, null, null);
+		if (cursor == null) return null;
+		try {
+			return CollectionSnapshot.fromCursor(cursor);
+		} finally {
+			cursor.close();
+		}
+	}
+
+	@Override
+	protected void onStartLoading() {
+		if (!isObserving) {
+			getContext().getContentResolver().registerContentObserver(uri, true, observer);
+			isObserving = true;
+		}
+		super.onStartLoading();
+	}
+
+	@Override
+	protected void onReset() {
+		super.onReset();
+		if (isObserving) {
+			getContext().getContentResolver().unregisterContentObserver(observer);
+			isObserving = false;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package com.boardgamegeek.ui.model
+
+import android.database.AbstractCursor
+import android.database.Cursor
+import com.boardgamegeek.sorter.CollectionSorter
+
+/**
+ * An in-memory, column-oriented copy of the collection query. Each column is stored in a single primitive array (or a
+ * string array) of the widest type found in the cursor, with nulls tracked separately. Filtering and sorting the
+ * snapshot uses [CollectionSnapshot.RowFilter.evaluate] and [CollectionSorter.compare] instead of another query.
+ *
+ * The snapshot is immutable once created, so it can be read from any thread.
+ */
+class CollectionSnapshot private constructor(private val columnNames: Array<String>, val count: Int) {
+    private val columnIndexes = columnNames.withIndex().associate { it.value to it.index }
+    private val types = IntArray(columnNames.size) { TYPE_NULL }
+    private val longs = arrayOfNulls<LongArray>(columnNames.size)
+    private val doubles = arrayOfNulls<DoubleArray>(columnNames.size)
+    private val strings = arrayOfNulls<Array<String?>>(columnNames.size)
+    private val nulls = Array(columnNames.size) { BooleanArray(count) }
+
+    interface RowFilter {
+        /**
+         * Whether the row of the snapshot should be included.
+         */
+        fun evaluate(snapshot: CollectionSnapshot, row: Int): Boolean
+    }
+
+    fun getColumnIndex(columnName: String) = columnIndexes[columnName] ?: -1
+
+    /**
+     * Whether the snapshot includes all of these columns, so it can be filtered and sorted in place of a query with
+     * this projection.
+     */
+    fun hasColumns(projection: Array<String>?) = projection?.all { columnIndexes.containsKey(it) } ?: true
+
+    fun isNull(column: Int, row: Int) = column < 0 || nulls[column][row]
+
+    fun isNull(columnName: String, row: Int) = isNull(getColumnIndex(columnName), row)
+
+    fun getLong(column: Int, row: Int): Long {
+        if (isNull(column, row)) return 0L
+        return when (types[column]) {
+            TYPE_LONG -> longs[column]!![row]
+            TYPE_DOUBLE -> doubles[column]!![row].toLong()
+            TYPE_STRING -> strings[column]!![row]?.toDoubleOrNull()?.toLong() ?: 0L
+            else -> 0L
+        }
+    }
+
+    fun getLong(columnName: String, row: Int) = getLong(getColumnIndex(columnName), row)
+
+    fun getInt(columnName: String, row: Int) = getLong(getColumnIndex(columnName), row).toInt()
+
+    fun getDouble(column: Int, row: Int): Double {
+        if (isNull(column, row)) return 0.0
+        return when (types[column]) {
+            TYPE_LONG -> longs[column]!![row].toDouble()
+            TYPE_DOUBLE -> doubles[column]!![row]
+            TYPE_STRING -> strings[column]!![row]?.toDoubleOrNull() ?: 0.0
+            else -> 0.0
+        }
+    }
+
+    fun getDouble(columnName: String, row: Int) = getDouble(getColumnIndex(columnName), row)
+
+    fun getString(column: Int, row: Int): String? {
+        if (isNull(column, row)) return null
+        return when (types[column]) {
+            TYPE_LONG -> longs[column]!![row].toString()
+            TYPE_DOUBLE -> doubles[column]!![row].toString()
+            TYPE_STRING -> strings[column]!![row]
+            else -> null
+        }
+    }
+
+    fun getString(columnName: String, row: Int) = getString(getColumnIndex(columnName), row)
+
+    /**
+     * Compare the column of two rows the way SQLite orders them ascending: nulls first, then numbers, then text
+     * (optionally ignoring case, like COLLATE NOCASE).
+     */
+    fun compare(columnName: String, a: Int, b: Int, ignoreCase: Boolean = false): Int {
+        val column = getColumnIndex(columnName)
+        val aIsNull = isNull(column, a)
+        val bIsNull = isNull(column, b)
+        if (aIsNull || bIsNull) return bIsNull.compareTo(aIsNull)
+        return when (types[column]) {
+            TYPE_LONG -> longs[column]!![a].compareTo(longs[column]!![b])
+            TYPE_DOUBLE -> doubles[column]!![a].compareTo(doubles[column]!![b])
+            else -> (getString(column, a) ?: "").compareTo(getString(column, b) ?: "", ignoreCase)
+        }
+    }
+
+    /**
+     * Returns the rows that pass all of the filters, in the order of the sorter. Rows that sort equally stay in the
+     * order of the query, which is the sorter's default sort.
+     */
+    fun select(filters: List<RowFilter>, sorter: CollectionSorter?): IntArray {
+        val rows = (0 until count).filter { row -> filters.all { it.evaluate(this, row) } }
+        return (if (sorter == null) rows else rows.sortedWith(Comparator { a, b -> sorter.compare(this, a, b) })).toIntArray()
+    }
+
+    /**
+     * Creates a cursor over the snapshot, so code that reads a collection cursor can read a row of the snapshot. Each
+     * cursor has its own position; create one per thread.
+     */
+    fun newCursor(): Cursor = RowCursor()
+
+    private inner class RowCursor : AbstractCursor() {
+        override fun getCount() = this@CollectionSnapshot.count
+
+        override fun getColumnNames() = this@CollectionSnapshot.columnNames
+
+        override fun getString(column: Int) = this@CollectionSnapshot.getString(column, position)
+
+        override fun getShort(column: Int) = this@CollectionSnapshot.getLong(column, position).toShort()
+
+        override fun getInt(column: Int) = this@CollectionSnapshot.getLong(column, position).toInt()
+
+        override fun getLong(column: Int) = this@CollectionSnapshot.getLong(column, position)
+
+        override fun getFloat(column: Int) = this@CollectionSnapshot.getDouble(column, position).toFloat()
+
+        override fun getDouble(column: Int) = this@CollectionSnapshot.getDouble(column, position)
+
+        override fun isNull(column: Int) = this@CollectionSnapshot.isNull(column, position)
+
+        override fun getType(column: Int): Int {
+            if (isNull(column)) return Cursor.FIELD_TYPE_NULL
+            return when (types[column]) {
+                TYPE_LONG -> Cursor.FIELD_TYPE_INTEGER
+                TYPE_DOUBLE -> Cursor.FIELD_TYPE_FLOAT
+                else -> Cursor.FIELD_TYPE_STRING
+            }
+        }
+    }
+
+    companion object {
+        private const val TYPE_NULL = 0
+        private const val TYPE_LONG = 1
+        private const val TYPE_DOUBLE = 2
+        private const val TYPE_STRING = 3
+
+        /**
+         * Copy the cursor into a snapshot. The cursor is read twice: once to find the type of each column, and once to
+         * copy the values.
+         */
+        @JvmStatic
+        fun fromCursor(cursor: Cursor): CollectionSnapshot {
+            val snapshot = CollectionSnapshot(cursor.columnNames, cursor.count)
+            val columnCount = cursor.columnCount
+            val types = snapshot.types
+
+            cursor.moveToPosition(-1)
+            while (cursor.moveToNext()) {
+                for (column in 0 until columnCount) {
+                    types[column] = widen(types[column], cursor.getType(column))
+                }
+            }
+
+            for (column in 0 until columnCount) {
+                when (types[column]) {
+                    TYPE_LONG -> snapshot.longs[column] = LongArray(snapshot.count)
+                    TYPE_DOUBLE -> snapshot.doubles[column] = DoubleArray(snapshot.count)
+                    TYPE_STRING -> snapshot.strings[column] = arrayOfNulls(snapshot.count)
+                }
+            }
+
+            cursor.moveToPosition(-1)
+            var row = 0
+            while (cursor.moveToNext()) {
+                for (column in 0 until columnCount) {
+                    if (cursor.isNull(column)) {
+                        snapshot.nulls[column][row] = true
+                    } else when (types[column]) {
+                        TYPE_LONG -> snapshot.longs[column]!![row] = cursor.getLong(column)
+                        TYPE_DOUBLE -> snapshot.doubles[column]!![row] = cursor.getDouble(column)
+                        TYPE_STRING -> snapshot.strings[column]!![row] = cursor.getString(column)
+                    }
+                }
+                row++
+            }
+            return snapshot
+        }
+
+        private fun widen(type: Int, fieldType: Int): Int {
+            val newType = when (fieldType) {
+                Cursor.FIELD_TYPE_NULL -> TYPE_NULL
+                Cursor.FIELD_TYPE_INTEGER -> TYPE_LONG
+                Cursor.FIELD_TYPE_FLOAT -> TYPE_DOUBLE
+                else -> TYPE_STRING
+            }
+            return maxOf(type, newType)
+        }
+    }
+}
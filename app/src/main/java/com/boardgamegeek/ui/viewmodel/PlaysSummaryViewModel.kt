@@ -6,7 +6,6 @@ import androidx.lifecycle.LiveData
 import androidx.lifecycle.MutableLiveData
 import androidx.lifecycle.Transformations
 import com.boardgamegeek.auth.AccountUtils
-import com.boardgamegeek.db.PlayDao
 import com.boardgamegeek.entities.*
 import com.boardgamegeek.extensions.isOlderThan
 import com.boardgamegeek.livedata.AbsentLiveData
@@ -26,35 +25,29 @@ class PlaysSummaryViewModel(application: Application) : AndroidViewModel(applica
 
     private val playRepository = PlayRepository(getApplication())
 
-    val plays: LiveData<RefreshableResource<List<PlayEntity>>> = Transformations.switchMap(syncTimestamp) {
-        playRepository.getPlays()
+    val plays: LiveData<RefreshableResource<Int>> = Transformations.switchMap(syncTimestamp) {
+        playRepository.getPlayCount()
     }
 
-    val playCount: LiveData<Int> = Transformations.map(plays) { list ->
-        list?.data?.sumBy { it.quantity } ?: 0
+    val playCount: LiveData<Int> = Transformations.map(plays) {
+        it?.data ?: 0
     }
 
-    val playsInProgress: LiveData<List<PlayEntity>> = Transformations.map(plays) { list ->
-        list?.data?.filter { it.dirtyTimestamp > 0L }
+    val playsInProgress: LiveData<List<PlayEntity>> = Transformations.switchMap(syncTimestamp) {
+        playRepository.loadPlaysInProgress()
     }
 
-    val playsNotInProgress: LiveData<List<PlayEntity>> = Transformations.map(plays) { list ->
-        list?.data?.filter { it.dirtyTimestamp == 0L }?.take(ITEMS_TO_DISPLAY)
+    val playsNotInProgress: LiveData<List<PlayEntity>> = Transformations.switchMap(syncTimestamp) {
+        playRepository.loadRecentPlays(ITEMS_TO_DISPLAY)
     }
 
-    val players: LiveData<List<PlayerEntity>> =
-            Transformations.map(Transformations.switchMap(plays) {
-                playRepository.loadPlayers(PlayDao.PlayerSortBy.PLAY_COUNT)
-            }) { p ->
-                p.filter { it.username != AccountUtils.getUsername(getApplication()) }.take(ITEMS_TO_DISPLAY)
-            }
+    val players: LiveData<List<PlayerEntity>> = Transformations.switchMap(syncTimestamp) {
+        playRepository.loadTopPlayers(ITEMS_TO_DISPLAY)
+    }
 
-    val locations: LiveData<List<LocationEntity>> =
-            Transformations.map(Transformations.switchMap(plays) {
-                playRepository.loadLocations(PlayDao.LocationSortBy.PLAY_COUNT)
-            }) { p ->
-                p.filter { it.name.isNotBlank() }.take(ITEMS_TO_DISPLAY)
-            }
+    val locations: LiveData<List<LocationEntity>> = Transformations.switchMap(syncTimestamp) {
+        playRepository.loadTopLocations(ITEMS_TO_DISPLAY)
+    }
 
     val colors: LiveData<List<PlayerColorEntity>>
         get() {
@@ -0,0 +1,14 @@
+package com.boardgamegeek.ui.viewmodel
+
+import android.app.Application
+import androidx.lifecycle.AndroidViewModel
+import androidx.lifecycle.LiveData
+import com.boardgamegeek.entities.RefreshableResource
+import com.boardgamegeek.entities.TopGameEntity
+import com.boardgamegeek.repository.TopGamesRepository
+
+class TopGamesViewModel(application: Application) : AndroidViewModel(application) {
+    private val repository = TopGamesRepository(getApplication())
+
+    val topGames: LiveData<RefreshableResource<List<TopGameEntity>>> = repository.getTopGames()
+}
@@ -8,7 +8,6 @@ import android.graphics.Paint.Style
 import android.util.AttributeSet
 import android.util.TypedValue
 import android.view.View
-import androidx.annotation.ColorInt
 import androidx.core.content.ContextCompat
 import com.boardgamegeek.R
 import com.boardgamegeek.extensions.significantDigits
@@ -35,35 +34,70 @@ class ScoreGraphView @JvmOverloads constructor(
     private val highScoreColor: Int
 
     var lowScore: Double = 0.toDouble()
+        set(value) {
+            field = value
+            invalidateGraph()
+        }
+
     var averageScore: Double = 0.toDouble()
+        set(value) {
+            field = value
+            invalidateGraph()
+        }
+
     var averageWinScore: Double = 0.toDouble()
+        set(value) {
+            field = value
+            invalidateGraph()
+        }
+
     var highScore: Double = 0.toDouble()
+        set(value) {
+            field = value
+            invalidateGraph()
+        }
+
     private var hasPersonalScores: Boolean = false
 
     var personalLowScore: Double = 0.toDouble()
         set(value) {
             field = value
             hasPersonalScores = true
+            invalidateGraph()
         }
 
     var personalAverageScore: Double = 0.toDouble()
         set(value) {
             field = value
             hasPersonalScores = true
+            invalidateGraph()
         }
 
     var personalAverageWinScore: Double = 0.toDouble()
         set(value) {
             field = value
             hasPersonalScores = true
+            invalidateGraph()
         }
 
     var personalHighScore: Double = 0.toDouble()
         set(value) {
             field = value
             hasPersonalScores = true
+            invalidateGraph()
         }
 
+    // the geometry of the graph, laid out when the scores or size change rather than on every draw
+    private var isGraphLaidOut = false
+    private var barY = 0f
+    private var barLeft = 0f
+    private var barRight = 0f
+    private var tickXs = FloatArray(0)
+    private var tickHeights = FloatArray(0)
+    private var labels = emptyArray<String>()
+    private var labelXs = FloatArray(0)
+    private val scoreXs = FloatArray(SCORE_COUNT)
+    private val scoreColors = IntArray(SCORE_COUNT)
 
     init {
         barPaint.color = Color.BLACK
@@ -84,16 +118,55 @@ class ScoreGraphView @JvmOverloads constructor(
         highScoreColor = ContextCompat.getColor(getContext(), R.color.score_high)
     }
 
+    override fun onSizeChanged(w: Int, h: Int, oldw: Int, oldh: Int) {
+        super.onSizeChanged(w, h, oldw, oldh)
+        isGraphLaidOut = false
+    }
+
+    private fun invalidateGraph() {
+        isGraphLaidOut = false
+        invalidate()
+    }
+
     override fun onDraw(canvas: Canvas) {
         super.onDraw(canvas)
+        if (!isGraphLaidOut) layoutGraph()
 
-        val y = (height / 2).toFloat()
-        val left = scoreRadius + SCORE_STROKE_WIDTH
-        val right = width.toFloat() - scoreRadius - SCORE_STROKE_WIDTH.toFloat()
+        canvas.drawLine(barLeft, barY, barRight, barY, barPaint)
 
-        canvas.drawLine(left, y, right, y, barPaint)
+        for (i in tickXs.indices) {
+            canvas.drawLine(tickXs[i], barY - tickHeights[i], tickXs[i], barY + tickHeights[i], barPaint)
+        }
+        for (i in labels.indices) {
+            canvas.drawText(labels[i], labelXs[i], height.toFloat(), textPaint)
+        }
+
+        // score dots
+        scorePaint.style = if (hasPersonalScores) Style.STROKE else Style.FILL
+        for (i in 0 until OVERALL_SCORE_COUNT) {
+            drawScore(canvas, i)
+        }
+        if (hasPersonalScores) {
+            scorePaint.style = Style.FILL
+            for (i in OVERALL_SCORE_COUNT until SCORE_COUNT) {
+                drawScore(canvas, i)
+            }
+        }
+    }
+
+    private fun drawScore(canvas: Canvas, index: Int) {
+        scorePaint.color = scoreColors[index]
+        canvas.drawCircle(scoreXs[index], barY, scoreRadius, scorePaint)
+    }
+
+    /**
+     * Calculate the positions of the bar, its ticks and labels, and the score dots, and measure the labels.
+     */
+    private fun layoutGraph() {
+        barY = (height / 2).toFloat()
+        barLeft = scoreRadius + SCORE_STROKE_WIDTH
+        barRight = width.toFloat() - scoreRadius - SCORE_STROKE_WIDTH.toFloat()
 
-        // ticks
         val scoreSpread = highScore - lowScore
         val tickSpacing = when {
             scoreSpread <= 20 -> 1
@@ -102,47 +175,49 @@ class ScoreGraphView @JvmOverloads constructor(
             scoreSpread <= 500 -> 20
             else -> (ceil(scoreSpread / 100) * 10).toInt().significantDigits(2)
         }
+        val ticks = mutableListOf<Float>()
+        val heights = mutableListOf<Float>()
+        val tickLabels = mutableListOf<String>()
+        val tickLabelXs = mutableListOf<Float>()
         var tickScore = Math.ceil(lowScore / tickSpacing) * tickSpacing
         while (tickScore <= highScore) {
-            val x = ((tickScore - lowScore) / scoreSpread * (right - left) + left).toFloat()
-            val tickHeight: Float
+            val x = scoreToX(tickScore)
+            ticks += x
             if (tickScore % (5 * tickSpacing) == 0.0) {
-                tickHeight = largeTickHeight
+                heights += largeTickHeight
                 val label = SCORE_FORMAT.format(tickScore)
                 val labelWidth = textPaint.measureText(label)
-                val labelLeft = (x - labelWidth / 2).coerceIn(0f, width - labelWidth)
-                canvas.drawText(label, labelLeft, height.toFloat(), textPaint)
+                tickLabels += label
+                tickLabelXs += (x - labelWidth / 2).coerceIn(0f, width - labelWidth)
             } else {
-                tickHeight = smallTickHeight
+                heights += smallTickHeight
             }
-            canvas.drawLine(x, y - tickHeight, x, y + tickHeight, barPaint)
             tickScore += tickSpacing.toDouble()
         }
-
-        // score dots
-        scorePaint.style = if (hasPersonalScores) Style.STROKE else Style.FILL
-        drawScore(canvas, y, left, right, lowScore, lowScoreColor)
-        drawScore(canvas, y, left, right, highScore, highScoreColor)
-        drawScore(canvas, y, left, right, averageScore, averageScoreColor)
-        drawScore(canvas, y, left, right, averageWinScore, averageWinScoreColor)
-
-        if (hasPersonalScores) {
-            scorePaint.style = Style.FILL
-            drawScore(canvas, y, left, right, personalLowScore, lowScoreColor)
-            drawScore(canvas, y, left, right, personalHighScore, highScoreColor)
-            drawScore(canvas, y, left, right, personalAverageScore, averageScoreColor)
-            drawScore(canvas, y, left, right, personalAverageWinScore, averageWinScoreColor)
+        tickXs = ticks.toFloatArray()
+        tickHeights = heights.toFloatArray()
+        labels = tickLabels.toTypedArray()
+        labelXs = tickLabelXs.toFloatArray()
+
+        // drawn in this order, so the averages are on top
+        val scores = doubleArrayOf(lowScore, highScore, averageScore, averageWinScore,
+                personalLowScore, personalHighScore, personalAverageScore, personalAverageWinScore)
+        val colors = intArrayOf(lowScoreColor, highScoreColor, averageScoreColor, averageWinScoreColor)
+        for (i in 0 until SCORE_COUNT) {
+            scoreXs[i] = scoreToX(scores[i])
+            scoreColors[i] = colors[i % OVERALL_SCORE_COUNT]
         }
+        isGraphLaidOut = true
     }
 
-    private fun drawScore(canvas: Canvas, y: Float, left: Float, right: Float, score: Double, @ColorInt color: Int) {
-        scorePaint.color = color
-        val x = ((score - lowScore) / (highScore - lowScore) * (right - left) + left).toFloat()
-        canvas.drawCircle(x, y, scoreRadius, scorePaint)
+    private fun scoreToX(score: Double): Float {
+        return ((score - lowScore) / (highScore - lowScore) * (barRight - barLeft) + barLeft).toFloat()
     }
 
     companion object {
         private val SCORE_FORMAT = DecimalFormat("0")
         private const val SCORE_STROKE_WIDTH = 2
+        private const val OVERALL_SCORE_COUNT = 4
+        private const val SCORE_COUNT = 8
     }
 }
@@ -0,0 +1,78 @@
+package com.boardgamegeek.ui.widget
+
+import android.text.TextUtils
+import androidx.recyclerview.widget.RecyclerView
+import java.util.*
+
+/**
+ * The sections of a sorted list: each section's header and the position of its first item. Build it once, when the
+ * list is built, so the section of a position is found with a binary search instead of comparing each item's header
+ * to the one before it on every frame.
+ */
+class SectionIndex private constructor(
+        private val headers: Array<CharSequence>,
+        private val startPositions: IntArray,
+        val itemCount: Int) : RecyclerSectionItemDecoration.SectionCallback {
+
+    val sectionCount: Int
+        get() = headers.size
+
+    /**
+     * Returns the index of the section containing the position, or -1 if the position is outside of the list.
+     */
+    fun getSectionForPosition(position: Int): Int {
+        if (position < 0 || position >= itemCount) return -1
+        val index = Arrays.binarySearch(startPositions, position)
+        return if (index >= 0) index else -index - 2
+    }
+
+    fun getPositionForSection(section: Int): Int {
+        if (section < 0 || section >= startPositions.size) return RecyclerView.NO_POSITION
+        return startPositions[section]
+    }
+
+    fun getHeaderForSection(section: Int): CharSequence {
+        if (section < 0 || section >= headers.size) return MISSING_HEADER
+        return headers[section]
+    }
+
+    fun getHeaders(): Array<CharSequence> = headers.copyOf()
+
+    override fun isSection(position: Int): Boolean {
+        if (position < 0 || position >= itemCount) return false
+        return Arrays.binarySearch(startPositions, position) >= 0
+    }
+
+    override fun getSectionHeader(position: Int): CharSequence {
+        return getHeaderForSection(getSectionForPosition(position))
+    }
+
+    /**
+     * Add the header of each item in list order. A new section starts whenever the header differs from the previous
+     * item's.
+     */
+    class Builder {
+        private val headers = mutableListOf<CharSequence>()
+        private val startPositions = mutableListOf<Int>()
+        private var itemCount = 0
+
+        fun add(header: CharSequence?): Builder {
+            val text = header ?: ""
+            if (headers.isEmpty() || !TextUtils.equals(headers.last(), text)) {
+                headers += text
+                startPositions += itemCount
+            }
+            itemCount++
+            return this
+        }
+
+        fun build() = SectionIndex(headers.toTypedArray(), startPositions.toIntArray(), itemCount)
+    }
+
+    companion object {
+        private const val MISSING_HEADER = "-"
+
+        @JvmField
+        val EMPTY = Builder().build()
+    }
+}
@@ -0,0 +1,295 @@
+package com.boardgamegeek.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import timber.log.Timber;
+
+/**
+ * Assigns each player one of the available colors, favoring the colors they've chosen before.
+ * <p>
+ * In each round, a player gets their top remaining choice when nobody else has it as their top choice. When every top
+ * choice is contested, the player who'd lose the most by not getting theirs gets it, with ties broken randomly. Players
+ * left without a choice get a random color.
+ * <p>
+ * Preferences are kept in a matrix of players by colors, so each step is a pass over the remaining players rather than
+ * a search of every player's list of choices. Given the same {@link Random} seed, the assignment is always the same.
+ */
+public class ColorAssigner {
+	private static final int NO_PREFERENCE = Integer.MIN_VALUE;
+	private static final int NOBODY = -1;
+	private static final int MAX_PREFERENCE = 100;
+
+	private final Random random;
+	private final List<String> colors;
+	private final Map<String, Integer> colorIndexes;
+	private final List<String> playerKeys = new ArrayList<>();
+	private final Map<String, Integer> playerIndexes = new HashMap<>();
+	private final List<int[]> sortOrders = new ArrayList<>();
+
+	// state of an assignment
+	private boolean[] isColorAssigned;
+	private boolean[] isPlayerAssigned;
+	private int[][] choices;
+	private int[] nextChoice;
+	private int[] choiceCount;
+	private int[] choiceTotal;
+	private int round;
+
+	public static class Assignment {
+		public final String player;
+		public final String color;
+		public final String reason;
+		public final int round;
+
+		Assignment(String player, String color, String reason, int round) {
+			this.player = player;
+			this.color = color;
+			this.reason = reason;
+			this.round = round;
+		}
+
+		@NonNull
+		@Override
+		public String toString() {
+			return String.format(Locale.US, "%1$s - %2$s (%3$s in round %4$d)", player, color, reason, round);
+		}
+	}
+
+	/**
+	 * @param colors the colors available to assign, in the order they're considered
+	 */
+	public ColorAssigner(@NonNull List<String> colors, @NonNull Random random) {
+		this.random = random;
+		this.colors = new ArrayList<>(colors);
+		colorIndexes = new HashMap<>(colors.size());
+		for (int i = 0; i < this.colors.size(); i++) {
+			colorIndexes.put(this.colors.get(i), i);
+		}
+	}
+
+	/**
+	 * Add a player needing a color, identified by a key unique among players. Returns false if the player was already
+	 * added.
+	 */
+	public boolean addPlayer(@NonNull String key) {
+		if (playerIndexes.containsKey(key)) return false;
+		playerIndexes.put(key, playerKeys.size());
+		playerKeys.add(key);
+		int[] row = new int[colors.size()];
+		Arrays.fill(row, NO_PREFERENCE);
+		sortOrders.add(row);
+		return true;
+	}
+
+	/**
+	 * Record that the player chose the color, where a lower sort order is preferred. Choices of unknown players or
+	 * unavailable colors are ignored.
+	 */
+	public void addChoice(@NonNull String playerKey, @Nullable String color, int sortOrder) {
+		Integer player = playerIndexes.get(playerKey);
+		Integer colorIndex = color == null ? null : colorIndexes.get(color);
+		if (player == null || colorIndex == null) return;
+		sortOrders.get(player)[colorIndex] = sortOrder;
+	}
+
+	/**
+	 * Assign a color to each player. Requires at least as many colors as players.
+	 */
+	@NonNull
+	public List<Assignment> assign() {
+		int playerCount = playerKeys.size();
+		int colorCount = colors.size();
+		if (colorCount < playerCount) throw new IllegalStateException("Fewer colors than players");
+		initialize();
+
+		List<Assignment> assignments = new ArrayList<>(playerCount);
+		int[] topChoiceCounts = new int[colorCount];
+		int[] topChoicePlayers = new int[colorCount];
+		round = 1;
+		boolean shouldContinue = true;
+		while (shouldContinue && assignments.size() < playerCount) {
+			while (shouldContinue && assignments.size() < playerCount) {
+				shouldContinue = assignTopChoice(assignments, topChoiceCounts, topChoicePlayers);
+			}
+			shouldContinue = assignMostPreferredChoice(assignments, topChoiceCounts);
+			round++;
+		}
+
+		// assign a random player a random color
+		while (assignments.size() < playerCount) {
+			int color = pickRandom(isColorAssigned);
+			int player = pickRandom(isPlayerAssigned);
+			assign(assignments, player, color, "random");
+		}
+		return assignments;
+	}
+
+	private void initialize() {
+		int playerCount = playerKeys.size();
+		isColorAssigned = new boolean[colors.size()];
+		isPlayerAssigned = new boolean[playerCount];
+		choices = new int[playerCount][];
+		nextChoice = new int[playerCount];
+		choiceCount = new int[playerCount];
+		choiceTotal = new int[playerCount];
+		for (int player = 0; player < playerCount; player++) {
+			final int[] row = sortOrders.get(player);
+			List<Integer> playerChoices = new ArrayList<>();
+			for (int color = 0; color < row.length; color++) {
+				if (row[color] != NO_PREFERENCE) {
+					playerChoices.add(color);
+					choiceTotal[player] += row[color];
+				}
+			}
+			// a stable sort by sort order, so equal choices keep the order of the colors
+			Integer[] sorted = playerChoices.toArray(new Integer[0]);
+			Arrays.sort(sorted, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer left, Integer right) {
+					return compareInts(row[left], row[right]);
+				}
+			});
+			choices[player] = new int[sorted.length];
+			for (int i = 0; i < sorted.length; i++) {
+				choices[player][i] = sorted[i];
+			}
+			choiceCount[player] = sorted.length;
+		}
+	}
+
+	/**
+	 * Assigns a player their top color choice if no one else has that top choice as well.
+	 */
+	private boolean assignTopChoice(List<Assignment> assignments, int[] topChoiceCounts, int[] topChoicePlayers) {
+		countTopChoices(topChoiceCounts, topChoicePlayers);
+		for (int color = 0; color < colors.size(); color++) {
+			if (!isColorAssigned[color] && topChoiceCounts[color] == 1) {
+				assign(assignments, topChoicePlayers[color], color, "top choice");
+				return true;
+			}
+		}
+		Timber.i("No more players have a unique top choice in round %d", round);
+		return false;
+	}
+
+	/**
+	 * Of the players sharing a top choice with someone else, assigns the top choice to the one who prefers it most.
+	 */
+	private boolean assignMostPreferredChoice(List<Assignment> assignments, int[] topChoiceCounts) {
+		countTopChoices(topChoiceCounts, null);
+		List<Integer> players = new ArrayList<>();
+		double maxPreference = 0.0;
+		for (int player = 0; player < playerKeys.size(); player++) {
+			if (isPlayerAssigned[player]) continue;
+			int color = getTopChoice(player);
+			if (color == NOBODY || topChoiceCounts[color] < 2) continue;
+			double preference = calculatePreference(player, color);
+			if (preference > maxPreference) {
+				maxPreference = preference;
+				players.clear();
+				players.add(player);
+			} else if (preference == maxPreference) {
+				players.add(player);
+			}
+		}
+
+		if (players.size() == 0) {
+			Timber.i("Nobody wants any color");
+			return false;
+		}
+		if (players.size() == 1) {
+			int player = players.get(0);
+			assign(assignments, player, getTopChoice(player), String.format(Locale.US, "most preferred (%,.2f)", maxPreference));
+		} else {
+			int player = players.get(random.nextInt(players.size()));
+			assign(assignments, player, getTopChoice(player), String.format(Locale.US, "most preferred, but randomly chosen in a tie breaker (%,.2f)", maxPreference));
+		}
+		return true;
+	}
+
+	/**
+	 * Counts the remaining players whose top choice is each color, and, if requested, the last player found with it.
+	 */
+	private void countTopChoices(int[] topChoiceCounts, @Nullable int[] topChoicePlayers) {
+		Arrays.fill(topChoiceCounts, 0);
+		for (int player = 0; player < playerKeys.size(); player++) {
+			if (isPlayerAssigned[player]) continue;
+			int color = getTopChoice(player);
+			if (color == NOBODY) continue;
+			topChoiceCounts[color]++;
+			if (topChoicePlayers != null) topChoicePlayers[color] = player;
+		}
+	}
+
+	/**
+	 * Returns the player's top remaining color, or {@link #NOBODY} if they have no choices left.
+	 */
+	private int getTopChoice(int player) {
+		int[] playerChoices = choices[player];
+		while (nextChoice[player] < playerChoices.length && isColorAssigned[playerChoices[nextChoice[player]]]) {
+			nextChoice[player]++;
+		}
+		return nextChoice[player] < playerChoices.length ? playerChoices[nextChoice[player]] : NOBODY;
+	}
+
+	/**
+	 * How much worse, on average, the player's remaining choices are without this color.
+	 */
+	private double calculatePreference(int player, int color) {
+		int count = choiceCount[player];
+		int sortOrder = sortOrders.get(player)[color];
+		if (count == 0) {
+			return 0;
+		} else if (count == 1) {
+			return MAX_PREFERENCE - sortOrder;
+		}
+		double expectedValue = ((double) choiceTotal[player]) / count;
+		double expectedValueWithoutColor = ((double) (choiceTotal[player] - sortOrder)) / (count - 1);
+		return expectedValueWithoutColor - expectedValue;
+	}
+
+	private void assign(List<Assignment> assignments, int player, int color, String reason) {
+		Assignment assignment = new Assignment(playerKeys.get(player), colors.get(color), reason, round);
+		assignments.add(assignment);
+		Timber.i("Assigned %s", assignment);
+
+		isColorAssigned[color] = true;
+		isPlayerAssigned[player] = true;
+		for (int other = 0; other < playerKeys.size(); other++) {
+			int sortOrder = sortOrders.get(other)[color];
+			if (!isPlayerAssigned[other] && sortOrder != NO_PREFERENCE) {
+				choiceCount[other]--;
+				choiceTotal[other] -= sortOrder;
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of a random unassigned item.
+	 */
+	private int pickRandom(boolean[] isAssigned) {
+		int remaining = 0;
+		for (boolean assigned : isAssigned) {
+			if (!assigned) remaining++;
+		}
+		int n = random.nextInt(remaining);
+		for (int i = 0; i < isAssigned.length; i++) {
+			if (!isAssigned[i] && n-- == 0) return i;
+		}
+		throw new IllegalStateException("Nothing left to pick");
+	}
+
+	private static int compareInts(int left, int right) {
+		return left < right ? -1 : (left == right ? 0 : 1);
+	}
+}
@@ -1,7 +1,5 @@
 package com.boardgamegeek.util;
 
-import android.text.TextUtils;
-
 public class DataUtils {
 	public static String generatePollResultsKey(int level, String value) {
 		if (level <= 0) {
@@ -13,7 +11,7 @@ public class DataUtils {
 
 	public static String generatePollResultsKey(String level, String value) {
 		String key = level;
-		if (TextUtils.isEmpty(key)) {
+		if (key == null || key.isEmpty()) {
 			key = value;
 			int index = key.indexOf(" ");
 			if (index > -1) {
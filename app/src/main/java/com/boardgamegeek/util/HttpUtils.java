@@ -6,6 +6,7 @@ import android.text.TextUtils;
 
 import com.boardgamegeek.BuildConfig;
 import com.boardgamegeek.io.AuthInterceptor;
+import com.boardgamegeek.io.RequestPacer;
 import com.boardgamegeek.io.RetryInterceptor;
 import com.boardgamegeek.io.UserAgentInterceptor;
 import com.facebook.stetho.okhttp3.StethoInterceptor;
@@ -52,6 +53,20 @@ public class HttpUtils {
 		return builder.build();
 	}
 
+	/**
+	 * Returns a client authenticated as the user, whose requests are paced along with those of every other client
+	 * sharing the pacer. Retries are paced too.
+	 */
+	public static OkHttpClient getHttpClientWithAuth(Context context, @NonNull RequestPacer pacer) {
+		OkHttpClient.Builder builder = getBuilder();
+		builder.addInterceptor(new UserAgentInterceptor(context));
+		builder.addInterceptor(new AuthInterceptor(context));
+		builder.addInterceptor(new RetryInterceptor());
+		builder.addInterceptor(pacer);
+		addLoggingInterceptor(builder);
+		return builder.build();
+	}
+
 	public static OkHttpClient getHttpClientWithCache(Context context) {
 		OkHttpClient.Builder builder = getBuilder();
 		final List<Interceptor> interceptors = builder.interceptors();
@@ -4,13 +4,10 @@ import android.graphics.drawable.BitmapDrawable
 import android.widget.ImageView
 import androidx.annotation.DrawableRes
 import androidx.palette.graphics.Palette
+import com.boardgamegeek.BggApplication
 import com.boardgamegeek.R
 import com.boardgamegeek.extensions.ensureHttpsScheme
-import com.boardgamegeek.io.Adapter
-import com.boardgamegeek.io.model.Image
 import com.squareup.picasso.Picasso
-import retrofit2.Call
-import retrofit2.Response
 import timber.log.Timber
 import java.util.*
 
@@ -38,25 +35,12 @@ object ImageUtils {
     fun ImageView.safelyLoadImage(imageId: Int, callback: Callback? = null) {
         RemoteConfig.fetch()
         if (RemoteConfig.getBoolean(RemoteConfig.KEY_FETCH_IMAGE_WITH_API)) {
-            val call = Adapter.createGeekdoApi().image(imageId)
-            call.enqueue(object : retrofit2.Callback<Image> {
-                override fun onResponse(call: Call<Image>, response: Response<Image>) {
-                    val body = response.body()
-                    if (response.code() == 200 && body != null) {
-                        val queue = LinkedList<String>()
-                        queue.add(body.images.medium.url)
-                        queue.add(body.images.small.url)
-                        addDefaultImagesToQueue(imageId, queue)
-                        safelyLoadImage(queue, callback)
-                    } else {
-                        safelyLoadImage(addDefaultImagesToQueue(imageId), callback)
-                    }
-                }
-
-                override fun onFailure(call: Call<Image>, t: Throwable) {
-                    safelyLoadImage(addDefaultImagesToQueue(imageId), callback)
-                }
-            })
+            imageRepository.resolve(imageId) { image ->
+                val queue = LinkedList<String>()
+                queue.addUrls(image?.mediumUrl, image?.smallUrl)
+                addDefaultImagesToQueue(imageId, queue)
+                safelyLoadImage(queue, callback)
+            }
         } else {
             safelyLoadImage(addDefaultImagesToQueue(imageId), callback)
         }
@@ -77,24 +61,11 @@ object ImageUtils {
         } else if (RemoteConfig.getBoolean(RemoteConfig.KEY_FETCH_IMAGE_WITH_API)) {
             val imageId = getImageId(imageUrl)
             if (imageId > 0) {
-                val call = Adapter.createGeekdoApi().image(imageId)
-                call.enqueue(object : retrofit2.Callback<Image> {
-                    override fun onResponse(call: Call<Image>, response: Response<Image>) {
-                        val body = response.body()
-                        if (response.code() == 200 && body != null) {
-                            val queue = LinkedList<String>()
-                            queue.add(body.images.medium.url)
-                            queue.add(body.images.small.url)
-                            loadImages(thumbnailUrl, imageUrl, callback, queue)
-                        } else {
-                            loadImages(thumbnailUrl, imageUrl, callback)
-                        }
-                    }
-
-                    override fun onFailure(call: Call<Image>, t: Throwable) {
-                        loadImages(thumbnailUrl, imageUrl, callback)
-                    }
-                })
+                imageRepository.resolve(imageId) { image ->
+                    val queue = LinkedList<String>()
+                    queue.addUrls(image?.mediumUrl, image?.smallUrl)
+                    loadImages(thumbnailUrl, imageUrl, callback, queue)
+                }
             } else {
                 loadImages(thumbnailUrl, imageUrl, callback)
             }
@@ -133,29 +104,37 @@ object ImageUtils {
     fun ImageView.loadThumbnail(imageId: Int) {
         RemoteConfig.fetch()
         if (RemoteConfig.getBoolean(RemoteConfig.KEY_FETCH_IMAGE_WITH_API)) {
-            val call = Adapter.createGeekdoApi().image(imageId)
-            call.enqueue(object : retrofit2.Callback<Image> {
-                override fun onResponse(call: Call<Image>, response: Response<Image>) {
-                    val body = response.body()
-                    if (response.code() == 200 && body != null) {
-                        val queue = LinkedList<String>()
-                        queue.add(body.images.small.url)
-                        addDefaultImagesToQueue(imageId, queue)
-                        safelyLoadThumbnail(queue)
-                    } else {
-                        safelyLoadThumbnail(addDefaultImagesToQueue(imageId))
-                    }
-                }
-
-                override fun onFailure(call: Call<Image>, t: Throwable) {
-                    safelyLoadThumbnail(addDefaultImagesToQueue(imageId))
-                }
-            })
+            imageRepository.resolve(imageId) { image ->
+                val queue = LinkedList<String>()
+                queue.addUrls(image?.smallUrl)
+                addDefaultImagesToQueue(imageId, queue)
+                safelyLoadThumbnail(queue)
+            }
         } else {
             safelyLoadThumbnail(addDefaultImagesToQueue(imageId))
         }
     }
 
+    /**
+     * Image URLs resolved through the geekdo API are cached by the application, so rebinding an image doesn't call the
+     * API again.
+     */
+    private val ImageView.imageRepository
+        get() = (context.applicationContext as BggApplication).imageRepository
+
+    /**
+     * Thumbnails prefetched for offline use are loaded from the store before the network.
+     */
+    private val ImageView.thumbnailStore
+        get() = (context.applicationContext as BggApplication).thumbnailStore
+
+    private val ImageView.paletteCache
+        get() = (context.applicationContext as BggApplication).paletteCache
+
+    private fun Queue<String>.addUrls(vararg urls: String?) {
+        urls.filterNotNull().filter { it.isNotBlank() }.forEach { add(it) }
+    }
+
     private fun addDefaultImagesToQueue(imageId: Int, q: Queue<String>? = null): Queue<String> {
         return (q ?: LinkedList()).apply {
             add("$IMAGE_URL_PREFIX$imageId.jpg")
@@ -198,8 +177,10 @@ object ImageUtils {
             }
         }
         val imageUrl = url
-        Picasso.with(context)
-                .load(imageUrl.ensureHttpsScheme())
+        val storedFile = thumbnailStore.getFile(imageUrl)
+        val picasso = Picasso.with(context)
+        val request = if (storedFile != null) picasso.load(storedFile) else picasso.load(imageUrl.ensureHttpsScheme())
+        request
                 .placeholder(errorResId)
                 .error(errorResId)
                 .fit()
@@ -207,10 +188,20 @@ object ImageUtils {
                 .into(this, object : com.squareup.picasso.Callback {
                     override fun onSuccess() {
                         setTag(R.id.url, imageUrl)
+                        if (storedFile != null) thumbnailStore.touch(imageUrl)
                     }
 
                     override fun onError() {
-                        safelyLoadThumbnail(imageUrls, errorResId)
+                        if (storedFile != null) {
+                            // the stored copy is missing or corrupt; try the network instead
+                            thumbnailStore.remove(imageUrl)
+                            val queue = LinkedList<String>()
+                            queue.add(imageUrl!!)
+                            queue.addAll(imageUrls)
+                            safelyLoadThumbnail(queue, errorResId)
+                        } else {
+                            safelyLoadThumbnail(imageUrls, errorResId)
+                        }
                     }
                 })
     }
@@ -239,13 +230,13 @@ object ImageUtils {
         val imageUrl = url
         Picasso.with(context)
                 .load(imageUrl.ensureHttpsScheme())
-                .transform(PaletteTransformation.instance())
+                .transform(if (callback == null) PaletteTransformation.instance() else PaletteTransformation.forUrl(paletteCache, imageUrl))
                 .into(this, object : com.squareup.picasso.Callback {
                     override fun onSuccess() {
                         setTag(R.id.url, imageUrl)
                         if (callback != null) {
                             val bitmap = (drawable as BitmapDrawable).bitmap
-                            val palette = PaletteTransformation.getPalette(bitmap)
+                            val palette = PaletteTransformation.getPalette(bitmap) ?: paletteCache.getCached(imageUrl)
                             callback.onSuccessfulImageLoad(palette)
                         }
                     }
@@ -0,0 +1,44 @@
+package com.boardgamegeek.util;
+
+import android.content.Context;
+import android.net.Uri;
+
+import com.jakewharton.picasso.OkHttp3Downloader;
+import com.squareup.picasso.Downloader;
+
+import java.io.IOException;
+
+/**
+ * A Picasso downloader that doesn't build its cached HTTP client until the first image is downloaded, which happens
+ * on one of Picasso's threads. This keeps building the client (and touching its disk cache) off the main thread while
+ * the application starts.
+ */
+public class LazyOkHttpDownloader implements Downloader {
+	private final Context context;
+	private volatile OkHttp3Downloader downloader;
+
+	public LazyOkHttpDownloader(Context context) {
+		this.context = context.getApplicationContext();
+	}
+
+	@Override
+	public Response load(Uri uri, int networkPolicy) throws IOException {
+		return getDownloader().load(uri, networkPolicy);
+	}
+
+	@Override
+	public void shutdown() {
+		if (downloader != null) downloader.shutdown();
+	}
+
+	private OkHttp3Downloader getDownloader() {
+		if (downloader == null) {
+			synchronized (this) {
+				if (downloader == null) {
+					downloader = new OkHttp3Downloader(HttpUtils.getHttpClientWithCache(context));
+				}
+			}
+		}
+		return downloader;
+	}
+}
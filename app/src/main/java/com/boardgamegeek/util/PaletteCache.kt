@@ -0,0 +1,97 @@
+package com.boardgamegeek.util
+
+import android.graphics.Bitmap
+import android.os.Handler
+import android.os.Looper
+import androidx.annotation.WorkerThread
+import androidx.collection.LruCache
+import androidx.palette.graphics.Palette
+import androidx.palette.graphics.Target
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.db.ImageDao
+import timber.log.Timber
+
+/**
+ * Caches the [Palette] of each image by URL, in memory and in the image palettes table. Only the swatches are saved;
+ * the palette is rebuilt from them, which selects the same target swatches without decoding the image again.
+ */
+class PaletteCache(private val application: BggApplication) {
+    private val dao = ImageDao(application)
+    private val cache = LruCache<String, Palette>(CACHE_SIZE)
+    private val handler = Handler(Looper.getMainLooper())
+
+    fun getCached(url: String?): Palette? = if (url.isNullOrBlank()) null else cache.get(url)
+
+    /**
+     * Load the palette of the image, calling back on the main thread with null if it hasn't been generated yet.
+     */
+    fun load(url: String?, callback: (Palette?) -> Unit) {
+        if (url.isNullOrBlank()) {
+            callback(null)
+            return
+        }
+        val cached = cache.get(url)
+        if (cached != null) {
+            callback(cached)
+            return
+        }
+        application.appExecutors.diskRead.execute {
+            val palette = get(url)
+            handler.post { callback(palette) }
+        }
+    }
+
+    /**
+     * Returns the palette of the image from memory or the database, or null if it hasn't been generated yet.
+     */
+    @WorkerThread
+    fun get(url: String): Palette? {
+        cache.get(url)?.let { return it }
+        val palette = fromSwatches(dao.loadPaletteSwatches(url)) ?: return null
+        cache.put(url, palette)
+        return palette
+    }
+
+    /**
+     * Returns the palette of the image, generating it from the bitmap and saving it if it hasn't been generated yet.
+     */
+    @WorkerThread
+    fun getOrGenerate(url: String?, bitmap: Bitmap): Palette {
+        if (url.isNullOrBlank()) return Palette.from(bitmap).generate()
+        get(url)?.let { return it }
+        val palette = Palette.from(bitmap).generate()
+        cache.put(url, palette)
+        val swatches = toSwatches(palette)
+        if (swatches.isNotEmpty()) {
+            application.appExecutors.diskIO.execute { dao.savePaletteSwatches(url, swatches) }
+        }
+        return palette
+    }
+
+    private fun toSwatches(palette: Palette): String {
+        return palette.swatches.joinToString(SWATCH_SEPARATOR) { "${it.rgb}$VALUE_SEPARATOR${it.population}" }
+    }
+
+    private fun fromSwatches(value: String?): Palette? {
+        if (value.isNullOrBlank()) return null
+        return try {
+            val swatches = value.split(SWATCH_SEPARATOR).map {
+                val (rgb, population) = it.split(VALUE_SEPARATOR)
+                Palette.Swatch(rgb.toInt(), population.toInt())
+            }
+            Palette.Builder(swatches).apply { TARGETS.forEach { target -> addTarget(target) } }.generate()
+        } catch (e: RuntimeException) {
+            Timber.w(e, "Unable to read palette swatches [%s]", value)
+            null
+        }
+    }
+
+    companion object {
+        private const val CACHE_SIZE = 100
+        private const val SWATCH_SEPARATOR = ";"
+        private const val VALUE_SEPARATOR = ":"
+
+        // the targets a palette generated from a bitmap selects
+        private val TARGETS = arrayOf(Target.LIGHT_VIBRANT, Target.VIBRANT, Target.DARK_VIBRANT, Target.LIGHT_MUTED, Target.MUTED, Target.DARK_MUTED)
+    }
+}
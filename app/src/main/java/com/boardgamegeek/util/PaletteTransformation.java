@@ -7,30 +7,47 @@ import com.squareup.picasso.Transformation;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+import androidx.annotation.Nullable;
 import androidx.palette.graphics.Palette;
 
 /**
- * Used to get Picasso and Palette to play well with each other.
+ * Used to get Picasso and Palette to play well with each other. Transformations created for a URL read the palette
+ * from, and save it to, the {@link PaletteCache} instead of generating it every time the image is decoded.
  */
 public final class PaletteTransformation implements Transformation {
-	private static final PaletteTransformation INSTANCE = new PaletteTransformation();
+	private static final PaletteTransformation INSTANCE = new PaletteTransformation(null, null);
 	private static final Map<Bitmap, Palette> CACHE = new WeakHashMap<>();
 
-	private PaletteTransformation() {
+	@Nullable private final PaletteCache paletteCache;
+	@Nullable private final String url;
+
+	private PaletteTransformation(@Nullable PaletteCache paletteCache, @Nullable String url) {
+		this.paletteCache = paletteCache;
+		this.url = url;
 	}
 
 	public static PaletteTransformation instance() {
 		return INSTANCE;
 	}
 
+	public static PaletteTransformation forUrl(PaletteCache paletteCache, String url) {
+		return new PaletteTransformation(paletteCache, url);
+	}
+
 	public static Palette getPalette(Bitmap bitmap) {
-		return CACHE.get(bitmap);
+		synchronized (CACHE) {
+			return CACHE.get(bitmap);
+		}
 	}
 
 	@Override
 	public Bitmap transform(Bitmap source) {
-		Palette palette = Palette.from(source).generate();
-		CACHE.put(source, palette);
+		Palette palette = paletteCache == null ?
+			Palette.from(source).generate() :
+			paletteCache.getOrGenerate(url, source);
+		synchronized (CACHE) {
+			CACHE.put(source, palette);
+		}
 		return source;
 	}
 
@@ -26,11 +26,19 @@ class RemoteConfig {
         const val KEY_SYNC_GAMES_FETCH_PAUSE_MILLIS = "sync_games_fetch_pause_millis"
         const val KEY_SYNC_GAMES_DELETE_VIEW_HOURS = "sync_games_delete_view_hours"
         const val KEY_SYNC_PLAYS_FETCH_PAUSE_MILLIS = "sync_plays_fetch_pause_millis"
+        const val KEY_SYNC_PRODUCERS_FETCH_MAX = "sync_producers_fetch_max"
+        const val KEY_SYNC_PRODUCERS_FETCH_PAUSE_MILLIS = "sync_producers_fetch_pause_millis"
+        const val KEY_SYNC_MAX_CONCURRENT_NETWORK_TASKS = "sync_max_concurrent_network_tasks"
+        const val KEY_SYNC_REQUEST_INTERVAL_MILLIS = "sync_request_interval_millis"
 
         const val KEY_REFRESH_GAME_MINUTES = "refresh_game_minutes"
         const val KEY_REFRESH_GAME_COLLECTION_MINUTES = "refresh_game_collection_minutes"
         const val KEY_REFRESH_GAME_PLAYS_PARTIAL_MINUTES = "refresh_game_plays_partial_minutes"
         const val KEY_REFRESH_GAME_PLAYS_FULL_HOURS = "refresh_game_plays_full_hours"
+        const val KEY_REFRESH_HOTNESS_MINUTES = "refresh_hotness_minutes"
+        const val KEY_REFRESH_TOP_GAMES_HOURS = "refresh_top_games_hours"
+        const val KEY_REFRESH_PRODUCER_DAYS = "refresh_producer_days"
+        const val KEY_REFRESH_COMMENTS_MINUTES = "refresh_comments_minutes"
 
         const val KEY_RETRY_202_INITIAL_INTERVAL_MILLIS = "retry_202_initial_interval_millis"
         const val KEY_RETRY_202_RANDOMIZATION_FACTOR = "retry_202_randomization_factor"
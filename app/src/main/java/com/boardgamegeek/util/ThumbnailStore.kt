@@ -0,0 +1,180 @@
+package com.boardgamegeek.util
+
+import android.graphics.Bitmap
+import androidx.annotation.WorkerThread
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.provider.BggContract
+import timber.log.Timber
+import java.io.BufferedOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * A bounded store of downscaled thumbnails, kept in their own directory under the thumbnails content path so they can
+ * be shown offline. A thumbnail is stored under the file name of its URL, so the same image is never stored twice.
+ *
+ * The files in the store are indexed in memory, so [getFile] can be called while binding a view. Showing a thumbnail
+ * marks it as recently used; when the store grows past [MAX_BYTES] the least recently used thumbnails are evicted.
+ */
+class ThumbnailStore(private val application: BggApplication) {
+    private val sizes = ConcurrentHashMap<String, Long>()
+    private val totalBytes = AtomicLong()
+    @Volatile
+    private var directory: File? = null
+
+    init {
+        application.appExecutors.diskIO.execute { loadIndex() }
+    }
+
+    /**
+     * Whether the store has reached its size limit, so storing another thumbnail will evict one.
+     */
+    val isFull: Boolean
+        get() = totalBytes.get() >= MAX_BYTES
+
+    /**
+     * Returns the stored thumbnail for this URL, or null if it isn't in the store. Doesn't touch the disk.
+     */
+    fun getFile(url: String?): File? {
+        val directory = directory ?: return null
+        val fileName = FileUtils.getFileNameFromUrl(url) ?: return null
+        return if (sizes.containsKey(fileName)) File(directory, fileName) else null
+    }
+
+    /**
+     * Whether the thumbnail for this URL is in the store and still on disk.
+     */
+    @WorkerThread
+    fun contains(url: String?): Boolean {
+        val file = getFile(url) ?: return false
+        if (file.exists()) return true
+        removeFromIndex(file.name)
+        return false
+    }
+
+    /**
+     * Mark the thumbnail as recently used, so it's the last to be evicted.
+     */
+    fun touch(url: String?) {
+        val file = getFile(url) ?: return
+        application.appExecutors.diskIO.execute { file.setLastModified(System.currentTimeMillis()) }
+    }
+
+    /**
+     * Remove the thumbnail from the store, e.g. because it couldn't be decoded.
+     */
+    fun remove(url: String?) {
+        val file = getFile(url) ?: return
+        removeFromIndex(file.name)
+        application.appExecutors.diskIO.execute { file.delete() }
+    }
+
+    /**
+     * Compress the bitmap into the store as the thumbnail for this URL, evicting the least recently used thumbnails if
+     * the store is full. Returns whether it was stored.
+     */
+    @WorkerThread
+    fun store(url: String?, bitmap: Bitmap): Boolean {
+        val directory = directory ?: createDirectory() ?: return false
+        val fileName = FileUtils.getFileNameFromUrl(url) ?: return false
+        val file = File(directory, fileName)
+        val tempFile = File(directory, fileName + TEMP_FILE_SUFFIX)
+        try {
+            BufferedOutputStream(FileOutputStream(tempFile)).use {
+                bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, it)
+            }
+            if (!tempFile.renameTo(file)) {
+                Timber.w("Unable to move the thumbnail to %s", file)
+                tempFile.delete()
+                return false
+            }
+        } catch (e: IOException) {
+            Timber.w(e, "Unable to store the thumbnail for %s", url)
+            tempFile.delete()
+            return false
+        }
+        addToIndex(fileName, file.length())
+        trim()
+        return true
+    }
+
+    /**
+     * Forget the thumbnails in the store and index them again, e.g. because the thumbnails were deleted from disk.
+     */
+    fun invalidate() {
+        synchronized(this) {
+            sizes.clear()
+            totalBytes.set(0L)
+        }
+        application.appExecutors.diskIO.execute { loadIndex() }
+    }
+
+    /**
+     * Returns the store's directory, separate from the shortcut icons in the thumbnails content path, creating it if
+     * needed.
+     */
+    private fun createDirectory(): File? {
+        val base = FileUtils.generateContentPath(application, BggContract.PATH_THUMBNAILS) ?: return null
+        val directory = File(base, DIRECTORY_NAME)
+        return if (directory.exists() || directory.mkdirs()) directory else null
+    }
+
+    @WorkerThread
+    @Synchronized
+    private fun loadIndex() {
+        val directory = createDirectory() ?: return
+        directory.listFiles()?.forEach {
+            when {
+                it.name.endsWith(TEMP_FILE_SUFFIX) -> it.delete()
+                it.isFile -> addToIndex(it.name, it.length())
+            }
+        }
+        this.directory = directory
+        Timber.i("Thumbnail store has %,d files using %,d bytes", sizes.size, totalBytes.get())
+        trim()
+    }
+
+    private fun addToIndex(fileName: String, length: Long) {
+        val previousLength = sizes.put(fileName, length) ?: 0L
+        totalBytes.addAndGet(length - previousLength)
+    }
+
+    private fun removeFromIndex(fileName: String) {
+        val length = sizes.remove(fileName) ?: return
+        totalBytes.addAndGet(-length)
+    }
+
+    /**
+     * Evict the least recently used thumbnails until the store is comfortably under its limit.
+     */
+    @WorkerThread
+    @Synchronized
+    private fun trim() {
+        if (totalBytes.get() <= MAX_BYTES) return
+        val directory = directory ?: return
+        val files = sizes.keys
+                .map { File(directory, it) }
+                .map { it to it.lastModified() }
+                .sortedBy { it.second }
+        var count = 0
+        for ((file, _) in files) {
+            if (totalBytes.get() <= TRIMMED_BYTES) break
+            if (file.delete() || !file.exists()) {
+                removeFromIndex(file.name)
+                count++
+            }
+        }
+        Timber.i("Evicted %,d thumbnails from the store", count)
+    }
+
+    companion object {
+        private const val MAX_BYTES = 50L * 1024 * 1024
+        private const val TRIMMED_BYTES = MAX_BYTES * 9 / 10
+        private const val JPEG_QUALITY = 85
+        private const val TEMP_FILE_SUFFIX = ".tmp"
+        private const val DIRECTORY_NAME = "store"
+    }
+}
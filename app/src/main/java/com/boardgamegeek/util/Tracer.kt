@@ -0,0 +1,138 @@
+package com.boardgamegeek.util
+
+import android.os.Build
+import android.os.SystemClock
+import androidx.core.os.TraceCompat
+import com.boardgamegeek.BuildConfig
+
+/**
+ * Measures how long named sections of code take. Each section is marked with [TraceCompat], so it shows up in systrace,
+ * and its duration is added to an in-process histogram of the most recent [SAMPLE_COUNT] durations of that name.
+ *
+ * Section names are grouped by a prefix, e.g. "query:", "sync:", or "startup:". IDs in a name are replaced with "#"
+ * when it's recorded, so e.g. the queries of every game share one histogram, and at most [MAX_HISTOGRAMS] names are
+ * kept; durations of any other names are recorded as [OTHER_NAME].
+ */
+object Tracer {
+    private const val SAMPLE_COUNT = 256
+    private const val MAX_SECTION_NAME_LENGTH = 127
+    private const val MAX_HISTOGRAMS = 200
+    private const val OTHER_NAME = "other"
+    private val ID_REGEX = Regex("\\d+")
+
+    private val histograms = mutableMapOf<String, Histogram>()
+
+    /**
+     * Begin a section on the current thread. Returns the start time to pass to [endSection].
+     */
+    @JvmStatic
+    fun beginSection(name: String): Long {
+        TraceCompat.beginSection(name.take(MAX_SECTION_NAME_LENGTH))
+        return SystemClock.elapsedRealtime()
+    }
+
+    /**
+     * End the most recent section begun on the current thread, recording its duration.
+     */
+    @JvmStatic
+    fun endSection(name: String, startTime: Long) {
+        TraceCompat.endSection()
+        record(name, SystemClock.elapsedRealtime() - startTime)
+    }
+
+    inline fun <T> trace(name: String, block: () -> T): T {
+        val startTime = beginSection(name)
+        try {
+            return block()
+        } finally {
+            endSection(name, startTime)
+        }
+    }
+
+    /**
+     * Record a duration measured elsewhere, e.g. one that spans threads or callbacks.
+     */
+    @JvmStatic
+    fun record(name: String, durationMillis: Long) {
+        val metricName = name.replace(ID_REGEX, "#")
+        synchronized(histograms) {
+            val histogramName = if (histograms.size < MAX_HISTOGRAMS || histograms.containsKey(metricName)) metricName else OTHER_NAME
+            histograms.getOrPut(histogramName) { Histogram(histogramName) }.add(durationMillis)
+        }
+    }
+
+    /**
+     * Returns the statistics of every section recorded so far, slowest 95th percentile first.
+     */
+    @JvmStatic
+    fun getStatistics(): List<Statistics> {
+        synchronized(histograms) {
+            return histograms.values.map { it.toStatistics() }.sortedByDescending { it.p95Millis }
+        }
+    }
+
+    @JvmStatic
+    fun reset() {
+        synchronized(histograms) {
+            histograms.clear()
+        }
+    }
+
+    /**
+     * Returns the statistics and recent samples of every section as CSV, headed by the build and device, so traces from
+     * different builds can be compared.
+     */
+    @JvmStatic
+    fun export(): String {
+        val sb = StringBuilder()
+        sb.append("# ${BuildConfig.VERSION_NAME} (${BuildConfig.VERSION_CODE}) ${BuildConfig.GIT_SHA}\n")
+        sb.append("# ${Build.MANUFACTURER} ${Build.MODEL}, API ${Build.VERSION.SDK_INT}\n")
+        sb.append("name,count,p50,p95,max,samples\n")
+        synchronized(histograms) {
+            histograms.values.sortedBy { it.name }.forEach {
+                val stats = it.toStatistics()
+                sb.append("\"${it.name}\",${stats.count},${stats.p50Millis},${stats.p95Millis},${stats.maxMillis},")
+                sb.append(it.samples().joinToString(" "))
+                sb.append("\n")
+            }
+        }
+        return sb.toString()
+    }
+
+    data class Statistics(
+            val name: String,
+            val count: Int,
+            val p50Millis: Long,
+            val p95Millis: Long,
+            val maxMillis: Long
+    )
+
+    private class Histogram(val name: String) {
+        private val durations = LongArray(SAMPLE_COUNT)
+        private var count = 0
+        private var maxMillis = 0L
+
+        fun add(durationMillis: Long) {
+            durations[count % SAMPLE_COUNT] = durationMillis
+            count++
+            if (durationMillis > maxMillis) maxMillis = durationMillis
+        }
+
+        fun samples(): LongArray {
+            if (count <= SAMPLE_COUNT) return durations.copyOf(count)
+            val start = count % SAMPLE_COUNT
+            return durations.copyOfRange(start, SAMPLE_COUNT) + durations.copyOfRange(0, start)
+        }
+
+        fun toStatistics(): Statistics {
+            val sorted = samples().sortedArray()
+            return Statistics(name, count, percentile(sorted, 50), percentile(sorted, 95), maxMillis)
+        }
+
+        private fun percentile(sorted: LongArray, percentile: Int): Long {
+            if (sorted.isEmpty()) return 0L
+            val index = Math.ceil(percentile / 100.0 * sorted.size).toInt() - 1
+            return sorted[index.coerceIn(0, sorted.size - 1)]
+        }
+    }
+}
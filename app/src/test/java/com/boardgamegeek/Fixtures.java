@@ -0,0 +1,55 @@
+package com.boardgamegeek;
+
+import org.simpleframework.xml.core.Persister;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Scanner;
+
+/**
+ * Loads the recorded BGG API responses in the test resources, parsed the way the app's XML converter parses them.
+ */
+public class Fixtures {
+	public static final String THING = "fixtures/thing.xml";
+	public static final String COLLECTION = "fixtures/collection.xml";
+
+	private Fixtures() {
+	}
+
+	/**
+	 * Returns the raw text of the fixture, e.g. to use as a template for synthetic responses.
+	 */
+	public static String readText(String name) {
+		InputStream stream = open(name);
+		try {
+			return new Scanner(stream, "UTF-8").useDelimiter("\\A").next();
+		} finally {
+			close(stream);
+		}
+	}
+
+	public static <T> T read(Class<? extends T> type, String name) {
+		InputStream stream = open(name);
+		try {
+			return new Persister().read(type, stream, false);
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to parse fixture " + name, e);
+		} finally {
+			close(stream);
+		}
+	}
+
+	private static InputStream open(String name) {
+		InputStream stream = Fixtures.class.getClassLoader().getResourceAsStream(name);
+		if (stream == null) throw new IllegalArgumentException("Missing fixture " + name);
+		return stream;
+	}
+
+	private static void close(InputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// ignored
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.boardgamegeek;
+
+import com.crashlytics.android.Crashlytics;
+import com.crashlytics.android.core.CrashlyticsCore;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+
+import io.fabric.sdk.android.Fabric;
+
+/**
+ * The application under Robolectric. It skips the startup work, except for what the sync tasks need: Crashlytics
+ * (disabled) and a Firebase app for the remote config.
+ */
+public class TestBggApplication extends BggApplication {
+	@Override
+	protected void addStartupTasks(StartupOrchestrator orchestrator) {
+		Fabric.with(this, new Crashlytics.Builder().core(new CrashlyticsCore.Builder().disabled(true).build()).build());
+		if (FirebaseApp.getApps(this).isEmpty()) {
+			FirebaseApp.initializeApp(this, new FirebaseOptions.Builder().setApplicationId("1:1:android:1").build());
+		}
+	}
+}
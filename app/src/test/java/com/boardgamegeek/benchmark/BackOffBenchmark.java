@@ -0,0 +1,22 @@
+package com.boardgamegeek.benchmark;
+
+import com.boardgamegeek.io.ExponentialBackOff;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Creates a back off and steps through the intervals of a retried request, as each throttled request does.
+ */
+public class BackOffBenchmark extends BaseBenchmark {
+	private static final int STEPS = 10;
+
+	@Benchmark
+	public long nextBackOffMillis() {
+		ExponentialBackOff backOff = new ExponentialBackOff();
+		long total = 0;
+		for (int i = 0; i < STEPS; i++) {
+			total += backOff.nextBackOffMillis();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,57 @@
+package com.boardgamegeek.benchmark;
+
+import com.boardgamegeek.Fixtures;
+import com.boardgamegeek.entities.CollectionItemEntity;
+import com.boardgamegeek.entities.CollectionItemGameEntity;
+import com.boardgamegeek.entities.GameEntity;
+import com.boardgamegeek.io.model.CollectionItem;
+import com.boardgamegeek.io.model.CollectionResponse;
+import com.boardgamegeek.io.model.Game;
+import com.boardgamegeek.io.model.ThingResponse;
+import com.boardgamegeek.mappers.CollectionItemMapper;
+import com.boardgamegeek.mappers.GameMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+import kotlin.Pair;
+
+/**
+ * Maps the recorded thing and collection responses to entities, as every game and collection sync does.
+ */
+@State(Scope.Thread)
+public class MapperBenchmark extends BaseBenchmark {
+	private Game game;
+	private List<CollectionItem> collectionItems;
+	private GameMapper gameMapper;
+	private CollectionItemMapper collectionItemMapper;
+
+	@Setup
+	public void setUp() {
+		game = Fixtures.read(ThingResponse.class, Fixtures.THING).getGames().get(0);
+		collectionItems = Fixtures.read(CollectionResponse.class, Fixtures.COLLECTION).items;
+		gameMapper = new GameMapper();
+		collectionItemMapper = new CollectionItemMapper();
+	}
+
+	@Benchmark
+	public GameEntity mapGame() {
+		return gameMapper.map(game);
+	}
+
+	/**
+	 * Maps a whole page of the collection per operation.
+	 */
+	@Benchmark
+	public void mapCollectionPage(Blackhole blackhole) {
+		for (CollectionItem item : collectionItems) {
+			Pair<CollectionItemEntity, CollectionItemGameEntity> pair = collectionItemMapper.map(item);
+			blackhole.consume(pair);
+		}
+	}
+}
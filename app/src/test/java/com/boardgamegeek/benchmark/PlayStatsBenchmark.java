@@ -0,0 +1,73 @@
+package com.boardgamegeek.benchmark;
+
+import com.boardgamegeek.entities.GameForPlayStatEntity;
+import com.boardgamegeek.entities.PlayStatsEntity;
+import com.boardgamegeek.entities.PlayerEntity;
+import com.boardgamegeek.entities.PlayerStatsEntity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Calculates the play stats of a collection, as the play stats screen does. The games and players are generated from a
+ * fixed seed, sorted by play count the way they're loaded.
+ */
+@State(Scope.Thread)
+public class PlayStatsBenchmark extends BaseBenchmark {
+	private static final long SEED = 13;
+
+	@Param({ "100", "1000" })
+	public int size;
+
+	private List<GameForPlayStatEntity> games;
+	private List<PlayerEntity> players;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(SEED);
+		games = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			games.add(new GameForPlayStatEntity(i + 1, "Game " + i, random.nextInt(120), random.nextInt(5000), random.nextBoolean()));
+		}
+		Collections.sort(games, new Comparator<GameForPlayStatEntity>() {
+			@Override
+			public int compare(GameForPlayStatEntity left, GameForPlayStatEntity right) {
+				return Integer.compare(right.getPlayCount(), left.getPlayCount());
+			}
+		});
+		players = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			players.add(new PlayerEntity(i + 1, "Player " + i, i % 3 == 0 ? "user" + i : "", random.nextInt(200), random.nextInt(50)));
+		}
+		Collections.sort(players, new Comparator<PlayerEntity>() {
+			@Override
+			public int compare(PlayerEntity left, PlayerEntity right) {
+				return Integer.compare(right.getPlayCount(), left.getPlayCount());
+			}
+		});
+	}
+
+	@Benchmark
+	public void playStats(Blackhole blackhole) {
+		PlayStatsEntity stats = new PlayStatsEntity(games, true);
+		blackhole.consume(stats.getHIndex());
+		blackhole.consume(stats.getFriendless());
+		blackhole.consume(stats.getUtilization());
+		blackhole.consume(stats.getCfm());
+	}
+
+	@Benchmark
+	public int playerStats() {
+		return new PlayerStatsEntity(players).getHIndex();
+	}
+}
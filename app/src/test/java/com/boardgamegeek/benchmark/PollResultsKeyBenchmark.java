@@ -0,0 +1,30 @@
+package com.boardgamegeek.benchmark;
+
+import com.boardgamegeek.util.DataUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Generates the keys of poll results, as saving each game's polls does for every result.
+ */
+public class PollResultsKeyBenchmark extends BaseBenchmark {
+	private static final String[] VALUES = {
+		"1", "2", "3", "4", "4+", "Best", "Recommended", "Not Recommended", "18", "21 and up",
+		"No necessary in-game text", "Some necessary text - easily memorized or small crib sheet"
+	};
+
+	@Benchmark
+	public void withoutLevel(Blackhole blackhole) {
+		for (String value : VALUES) {
+			blackhole.consume(DataUtils.generatePollResultsKey(0, value));
+		}
+	}
+
+	@Benchmark
+	public void withLevel(Blackhole blackhole) {
+		for (int i = 0; i < VALUES.length; i++) {
+			blackhole.consume(DataUtils.generatePollResultsKey(i + 1, VALUES[i]));
+		}
+	}
+}
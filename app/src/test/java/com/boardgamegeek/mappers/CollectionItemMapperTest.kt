@@ -0,0 +1,36 @@
+package com.boardgamegeek.mappers
+
+import com.boardgamegeek.Fixtures
+import com.boardgamegeek.io.model.CollectionResponse
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class CollectionItemMapperTest {
+    private val items = Fixtures.read(CollectionResponse::class.java, Fixtures.COLLECTION).items.map { CollectionItemMapper().map(it) }
+
+    @Test
+    fun mapsEveryItem() {
+        assertEquals(100, items.size)
+    }
+
+    @Test
+    fun mapsItem() {
+        val (item, game) = items.first()
+        assertEquals(1000, item.gameId)
+        assertEquals(31002122, item.collectionId)
+        assertEquals("The Castles of Burgundy", item.gameName)
+        assertEquals("Castles of Burgundy, The", item.sortName)
+        assertTrue(item.own)
+        assertFalse(item.wishList)
+        assertEquals(9.5, item.rating, 0.0)
+        assertEquals(79.58, item.pricePaid, 0.0)
+        assertEquals(0.0, item.currentValue, 0.0)
+        assertEquals("Math trade", item.acquiredFrom)
+        assertTrue(item.lastModifiedDate > 0)
+        assertEquals(1000, game.gameId)
+        assertEquals(41, game.numberOfPlays)
+        assertEquals(85011, game.numberOwned)
+    }
+}
@@ -0,0 +1,50 @@
+package com.boardgamegeek.mappers
+
+import com.boardgamegeek.Fixtures
+import com.boardgamegeek.io.model.ThingResponse
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class GameMapperTest {
+    private val game = GameMapper().map(Fixtures.read(ThingResponse::class.java, Fixtures.THING).games.first())
+
+    @Test
+    fun mapsNames() {
+        assertEquals(84876, game.id)
+        assertEquals("The Castles of Burgundy", game.name)
+        assertEquals("Castles of Burgundy, The", game.sortName)
+    }
+
+    @Test
+    fun replacesLineFeedsInDescription() {
+        assertTrue(game.description.startsWith("The game is set in the Burgundy region"))
+        assertTrue(game.description.contains("princedom.\n\nWhile"))
+    }
+
+    @Test
+    fun mapsStatistics() {
+        assertTrue(game.hasStatistics)
+        assertEquals(38513, game.numberOfRatings)
+        assertEquals(8.13161, game.rating, 0.00001)
+        assertEquals(11, game.overallRank)
+        assertEquals(2, game.ranks.size)
+    }
+
+    @Test
+    fun separatesThePlayerPoll() {
+        assertEquals(2, game.polls.size)
+        val playerPoll = game.playerPoll
+        assertNotNull(playerPoll)
+        assertEquals(5, playerPoll!!.results.size)
+        assertEquals(686, playerPoll.results.first { it.playerCount == "2" }.bestVoteCount)
+    }
+
+    @Test
+    fun mapsLinks() {
+        assertEquals(listOf(127 to "Stefan Feld"), game.designers)
+        assertEquals(2, game.publishers.size)
+        assertEquals(3, game.expansions.size)
+    }
+}
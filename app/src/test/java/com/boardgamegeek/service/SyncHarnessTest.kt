@@ -0,0 +1,369 @@
+package com.boardgamegeek.service
+
+import android.accounts.Account
+import android.content.ContentValues
+import android.content.SyncResult
+import android.net.Uri
+import android.os.SystemClock
+import android.preference.PreferenceManager
+import com.boardgamegeek.BggApplication
+import com.boardgamegeek.Fixtures
+import com.boardgamegeek.TestBggApplication
+import com.boardgamegeek.io.BggService
+import com.boardgamegeek.provider.BggContract
+import com.boardgamegeek.provider.BggContract.Buddies
+import com.boardgamegeek.provider.BggContract.Collection
+import com.boardgamegeek.provider.BggContract.Games
+import com.boardgamegeek.provider.BggContract.Plays
+import com.boardgamegeek.provider.BggProvider
+import com.boardgamegeek.util.HttpUtils
+import com.boardgamegeek.util.PreferencesUtils
+import com.boardgamegeek.util.RemoteConfig
+import com.boardgamegeek.util.SelectionBuilder
+import com.google.firebase.remoteconfig.FirebaseRemoteConfig
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.ParameterizedRobolectricTestRunner
+import org.robolectric.Robolectric
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import retrofit2.Retrofit
+import retrofit2.converter.simplexml.SimpleXmlConverterFactory
+import java.util.Calendar
+import java.util.Locale
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Drives the sync tasks against a local stand-in for the BGG API, for a synthetic account of each size, and reports the
+ * items synced per second, the database writes, the content change notifications fired, the status bar notifications
+ * shown, and the peak heap of each pass.
+ *
+ * The account owns one game per item, has played each once, and has one buddy for every 50 items. Game details are the
+ * recorded thing fixture, stamped with each game's ID and name; the collection, plays, and users are generated.
+ *
+ * The passes run in the order of a sync: the collection, after BGG queues the request (202); the details of its games;
+ * the plays; the buddies and their details; and the collection again, after a rate limit (429), when every item is
+ * unchanged, so it should only touch their timestamps. The 20,000-item account takes several minutes.
+ */
+@RunWith(ParameterizedRobolectricTestRunner::class)
+@Config(application = TestBggApplication::class)
+class SyncHarnessTest(private val itemCount: Int) {
+    private val server = MockWebServer()
+    private val bgg = FakeBgg()
+    private val buddyCount = itemCount / ITEMS_PER_BUDDY
+    private lateinit var application: BggApplication
+    private lateinit var service: BggService
+    private lateinit var account: Account
+
+    @Before
+    fun setUp() {
+        application = RuntimeEnvironment.application as BggApplication
+        account = Account(ACCOUNT_NAME, ACCOUNT_TYPE)
+        CountingBggProvider.writeCount.set(0)
+        Robolectric.setupContentProvider(CountingBggProvider::class.java, BggContract.CONTENT_AUTHORITY)
+        PreferencesUtils.setSyncStatuses(application, arrayOf(BggService.COLLECTION_QUERY_STATUS_OWN))
+        PreferencesUtils.setSyncPlays(application)
+        PreferencesUtils.setSyncBuddies(application)
+        PreferenceManager.getDefaultSharedPreferences(application).edit()
+                .putBoolean("sync_notifications", true)
+                .putBoolean("sync_errors", true)
+                .commit()
+        FirebaseRemoteConfig.getInstance().setDefaults(mapOf<String, Any>(
+                RemoteConfig.KEY_SYNC_COLLECTION_FETCH_INTERVAL_DAYS to 0,
+                RemoteConfig.KEY_SYNC_GAMES_PER_FETCH to GAMES_PER_FETCH,
+                RemoteConfig.KEY_SYNC_GAMES_FETCH_MAX_UNUPDATED to itemCount / GAMES_PER_FETCH + 1,
+                RemoteConfig.KEY_SYNC_GAMES_FETCH_PAUSE_MILLIS to 0,
+                RemoteConfig.KEY_SYNC_PLAYS_FETCH_PAUSE_MILLIS to 0,
+                RemoteConfig.KEY_SYNC_BUDDIES_FETCH_INTERVAL_DAYS to 0,
+                RemoteConfig.KEY_SYNC_BUDDIES_FETCH_PAUSE_MILLIS to 0,
+                RemoteConfig.KEY_RETRY_202_INITIAL_INTERVAL_MILLIS to 100,
+                RemoteConfig.KEY_RETRY_202_RANDOMIZATION_FACTOR to 0.0,
+                RemoteConfig.KEY_RETRY_202_MULTIPLIER to 1.5,
+                RemoteConfig.KEY_RETRY_202_MAX_INTERVAL_MILLIS to 1000,
+                RemoteConfig.KEY_RETRY_202_MAX_ELAPSED_MILLIS to 10000,
+                RemoteConfig.KEY_RETRY_429_MAX_BACKOFF_COUNT to 1
+        ))
+        server.setDispatcher(bgg)
+        server.start()
+        service = Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(HttpUtils.getHttpClient())
+                .addConverterFactory(SimpleXmlConverterFactory.createNonStrict())
+                .build()
+                .create(BggService::class.java)
+    }
+
+    @After
+    fun tearDown() {
+        server.shutdown()
+    }
+
+    @Test
+    fun syncsAccount() {
+        bgg.respondNext(PATH_COLLECTION, 202)
+        val collection = sync("new collection", SyncCollectionComplete(application, service, SyncResult(), account))
+        assertEquals(itemCount.toLong(), collection.syncResult.stats.numUpdates)
+        assertEquals(itemCount, count(Collection.CONTENT_URI, Collection._ID))
+        // the retried boardgame request, then the empty accessory request
+        assertEquals(3, bgg.requestCount(PATH_COLLECTION))
+
+        val games = sync("game", SyncGamesUnupdated(application, service, SyncResult()))
+        assertEquals(itemCount.toLong(), games.syncResult.stats.numUpdates)
+        assertEquals(0, count(Games.CONTENT_URI, Games.GAME_ID, SelectionBuilder.whereZeroOrNull("games.${Games.UPDATED}")))
+
+        val plays = sync("play", SyncPlays(application, service, SyncResult(), account))
+        assertEquals(itemCount, count(Plays.CONTENT_URI, Plays.PLAY_ID))
+
+        val buddies = sync("buddy", SyncBuddiesList(application, service, SyncResult(), account))
+        assertEquals(buddyCount + 1, count(Buddies.CONTENT_URI, Buddies.BUDDY_ID))
+        val buddyDetails = sync("buddy detail", SyncBuddiesDetailUnupdated(application, service, SyncResult()))
+        assertEquals((buddyCount + 1).toLong(), buddyDetails.syncResult.stats.numUpdates)
+
+        bgg.respondNext(PATH_COLLECTION, 429)
+        val unchanged = sync("unchanged collection", SyncCollectionComplete(application, service, SyncResult(), account))
+        assertEquals(itemCount.toLong(), unchanged.syncResult.stats.numUpdates)
+        assertEquals(itemCount, count(Collection.CONTENT_URI, Collection._ID))
+        assertEquals(6, bgg.requestCount(PATH_COLLECTION))
+        // one batch touches the timestamps of the page's items and games
+        assertTrue("${unchanged.contentNotificationCount} content notifications", unchanged.contentNotificationCount <= 2)
+
+        listOf(collection, games, plays, buddies, buddyDetails, unchanged).forEach {
+            assertEquals("${it.description} errors", 0L, it.syncResult.stats.numIoExceptions + it.syncResult.stats.numParseExceptions)
+        }
+    }
+
+    private class Pass(val description: String, val syncResult: SyncResult, val contentNotificationCount: Int)
+
+    private fun sync(description: String, task: SyncTask): Pass {
+        val notifiedUris = shadowOf(application.contentResolver).notifiedUris
+        val startNotificationCount = notifiedUris.size
+        val startWriteCount = CountingBggProvider.writeCount.get()
+        val statistics = SyncStatistics(task.javaClass.simpleName, task.syncResult)
+        task.statistics = statistics
+
+        val startTime = SystemClock.elapsedRealtime()
+        task.execute()
+        statistics.finish()
+        val durationMillis = SystemClock.elapsedRealtime() - startTime
+
+        val stats = task.syncResult.stats
+        val items = stats.numInserts + stats.numUpdates + stats.numDeletes + stats.numEntries
+        val itemsPerSecond = if (durationMillis > 0) items * 1000.0 / durationMillis else 0.0
+        val writeCount = CountingBggProvider.writeCount.get() - startWriteCount
+        val contentNotificationCount = notifiedUris.size - startNotificationCount
+        println(String.format(Locale.US, "%,d-item account, %s: %,d items in %,d ms (%,.1f items/s, including pauses between requests), %,d DB writes, %,d content notifications, %,d status bar notifications, peak heap %,d KB",
+                itemCount, description, items, durationMillis, itemsPerSecond, writeCount, contentNotificationCount, statistics.notificationCount, statistics.peakHeapBytes / 1024))
+        return Pass(description, task.syncResult, contentNotificationCount)
+    }
+
+    private fun count(uri: Uri, column: String, selection: String? = null): Int {
+        return application.contentResolver.query(uri, arrayOf(column), selection, null, null)?.use { it.count } ?: 0
+    }
+
+    /**
+     * Counts the inserts, updates, and deletes, including those applied in batches, which apply each operation through
+     * these.
+     */
+    class CountingBggProvider : BggProvider() {
+        override fun insert(uri: Uri, values: ContentValues?): Uri? {
+            writeCount.incrementAndGet()
+            return super.insert(uri, values)
+        }
+
+        override fun update(uri: Uri, values: ContentValues?, selection: String?, selectionArgs: Array<String>?): Int {
+            writeCount.incrementAndGet()
+            return super.update(uri, values, selection, selectionArgs)
+        }
+
+        override fun delete(uri: Uri, selection: String?, selectionArgs: Array<String>?): Int {
+            writeCount.incrementAndGet()
+            return super.delete(uri, selection, selectionArgs)
+        }
+
+        companion object {
+            val writeCount = AtomicInteger()
+        }
+    }
+
+    /**
+     * Serves the synthetic account at the paths of the XML API. A status queued with [respondNext] is returned instead
+     * of the next response for its path.
+     */
+    private inner class FakeBgg : Dispatcher() {
+        private val thingItem by lazy {
+            val thing = Fixtures.readText(Fixtures.THING)
+            thing.substring(thing.indexOf("<item "), thing.lastIndexOf("</item>") + "</item>".length)
+        }
+        private val queuedStatuses = mutableMapOf<String, MutableList<Int>>()
+        private val requestCounts = mutableMapOf<String, Int>()
+
+        @Synchronized
+        fun respondNext(path: String, status: Int) {
+            queuedStatuses.getOrPut(path) { mutableListOf() }.add(status)
+        }
+
+        @Synchronized
+        fun requestCount(path: String) = requestCounts[path] ?: 0
+
+        override fun dispatch(request: RecordedRequest): MockResponse {
+            val url = request.requestUrl
+            val path = url.encodedPath()
+            synchronized(this) {
+                requestCounts[path] = requestCount(path) + 1
+                val status = queuedStatuses[path]?.let { if (it.isEmpty()) null else it.removeAt(0) }
+                if (status != null) return MockResponse().setResponseCode(status)
+            }
+            val body = when (path) {
+                PATH_COLLECTION -> createCollection(if (url.queryParameter(BggService.COLLECTION_QUERY_KEY_SUBTYPE) == null) itemCount else 0)
+                PATH_THING -> createThing(url.queryParameter("id").orEmpty().split(",").mapNotNull { it.toIntOrNull() })
+                PATH_PLAYS -> createPlays(url.queryParameter("mindate"), url.queryParameter("maxdate"), url.queryParameter("page")?.toIntOrNull() ?: 1)
+                PATH_USER -> createUser(url.queryParameter("name").orEmpty(), url.queryParameter("buddies") == "1")
+                else -> return MockResponse().setResponseCode(404)
+            }
+            return MockResponse().setBody(body)
+        }
+
+        private fun createCollection(count: Int): String {
+            val sb = StringBuilder()
+            sb.append("<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"yes\"?>\n")
+            sb.append("<items totalitems=\"$count\" termsofuse=\"https://boardgamegeek.com/xmlapi/termsofuse\" pubdate=\"Sat, 19 Jan 2019 16:24:31 +0000\">\n")
+            for (i in 1..count) {
+                sb.append("""
+                    <item objecttype="thing" objectid="$i" subtype="boardgame" collid="${100000 + i}">
+                        <name sortindex="1">Game $i</name>
+                        <yearpublished>${1990 + i % 30}</yearpublished>
+                        <image>https://cf.geekdo-images.com/original/img/pic$i.jpg</image>
+                        <thumbnail>https://cf.geekdo-images.com/thumb/img/pic${i}_t.jpg</thumbnail>
+                        <stats minplayers="2" maxplayers="${2 + i % 4}" minplaytime="30" maxplaytime="90" playingtime="90" numowned="${1000 + i}">
+                            <rating value="${5 + i % 5}">
+                                <usersrated value="${100 + i}"/>
+                                <average value="7.5"/>
+                                <bayesaverage value="7.1"/>
+                                <stddev value="1.2"/>
+                                <median value="0"/>
+                                <ranks>
+                                    <rank type="subtype" id="1" name="boardgame" friendlyname="Board Game Rank" value="$i" bayesaverage="7.1"/>
+                                </ranks>
+                            </rating>
+                        </stats>
+                        <status own="1" prevowned="0" fortrade="0" want="0" wanttoplay="0" wanttobuy="0" wishlist="0" preordered="0" lastmodified="2018-06-01 12:00:00"/>
+                        <numplays>1</numplays>
+                        <privateinfo pp_currency="USD" pricepaid="39.99" cv_currency="" currvalue="" quantity="1" acquisitiondate="2018-01-01" acquiredfrom="" inventorylocation=""/>
+                    </item>
+                    """.trimIndent()).append("\n")
+            }
+            sb.append("</items>\n")
+            return sb.toString()
+        }
+
+        private fun createThing(ids: List<Int>): String {
+            val sb = StringBuilder()
+            sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+            sb.append("<items termsofuse=\"https://boardgamegeek.com/xmlapi/termsofuse\">\n")
+            for (id in ids) {
+                sb.append(thingItem
+                        .replace("id=\"$THING_FIXTURE_ID\"", "id=\"$id\"")
+                        .replace("value=\"$THING_FIXTURE_NAME\"", "value=\"Game $id\""))
+                        .append("\n")
+            }
+            sb.append("</items>\n")
+            return sb.toString()
+        }
+
+        /**
+         * Plays are numbered from the oldest, one a day, and served most recent first, like BGG does.
+         */
+        private fun createPlays(minDate: String?, maxDate: String?, page: Int): String {
+            val plays = (itemCount downTo 1)
+                    .map { it to playDate(it) }
+                    .filter { (_, date) -> (minDate == null || date >= minDate) && (maxDate == null || date <= maxDate) }
+            val sb = StringBuilder()
+            sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+            sb.append("<plays username=\"$ACCOUNT_NAME\" userid=\"1\" total=\"${plays.size}\" page=\"$page\" termsofuse=\"https://boardgamegeek.com/xmlapi/termsofuse\">\n")
+            for ((id, date) in plays.drop((page - 1) * PLAYS_PER_PAGE).take(PLAYS_PER_PAGE)) {
+                sb.append("""
+                    <play id="$id" date="$date" quantity="1" length="${30 + id % 90}" incomplete="0" nowinstats="0" location="Location ${id % 10}">
+                        <item name="Game $id" objecttype="thing" objectid="$id">
+                            <subtypes>
+                                <subtype value="boardgame"/>
+                            </subtypes>
+                        </item>
+                        <players>
+                            <player username="$ACCOUNT_NAME" userid="1" name="Harness" startposition="1" color="Red" score="${id % 50}" new="0" rating="0" win="1"/>
+                            <player username="" userid="0" name="Player ${id % 20}" startposition="2" color="Blue" score="${id % 40}" new="0" rating="0" win="0"/>
+                        </players>
+                    </play>
+                    """.trimIndent()).append("\n")
+            }
+            sb.append("</plays>\n")
+            return sb.toString()
+        }
+
+        private fun playDate(id: Int): String {
+            val calendar = Calendar.getInstance()
+            calendar.set(1971, Calendar.JANUARY, 1)
+            calendar.add(Calendar.DAY_OF_YEAR, id)
+            return String.format(Locale.US, "%1\$tY-%1\$tm-%1\$td", calendar)
+        }
+
+        /**
+         * The account's user lists every buddy; a buddy's user has none.
+         */
+        private fun createUser(name: String, includeBuddies: Boolean): String {
+            val id = if (name == ACCOUNT_NAME) 1 else name.removePrefix("buddy").toIntOrNull()?.plus(1) ?: 0
+            val sb = StringBuilder()
+            sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+            sb.append("""
+                <user id="$id" name="$name" termsofuse="https://boardgamegeek.com/xmlapi/termsofuse">
+                    <firstname value="First $id"/>
+                    <lastname value="Last $id"/>
+                    <avatarlink value="N/A"/>
+                    <yearregistered value="2010"/>
+                    <lastlogin value="2019-01-19"/>
+                    <stateorprovince value=""/>
+                    <country value=""/>
+                    <webaddress value=""/>
+                    <xboxaccount value=""/>
+                    <wiiaccount value=""/>
+                    <psnaccount value=""/>
+                    <battlenetaccount value=""/>
+                    <steamaccount value=""/>
+                    <traderating value="0"/>
+                """.trimIndent()).append("\n")
+            if (includeBuddies && name == ACCOUNT_NAME) {
+                sb.append("<buddies total=\"$buddyCount\" page=\"1\">\n")
+                for (i in 1..buddyCount) sb.append("<buddy id=\"${i + 1}\" name=\"buddy$i\"/>\n")
+                sb.append("</buddies>\n")
+            }
+            sb.append("</user>\n")
+            return sb.toString()
+        }
+    }
+
+    companion object {
+        private const val ACCOUNT_NAME = "harness"
+        private const val ACCOUNT_TYPE = "com.boardgamegeek"
+        private const val ITEMS_PER_BUDDY = 50
+        private const val GAMES_PER_FETCH = 20
+        private const val PLAYS_PER_PAGE = 100
+        private const val THING_FIXTURE_ID = 84876
+        private const val THING_FIXTURE_NAME = "The Castles of Burgundy"
+        private const val PATH_COLLECTION = "/xmlapi2/collection"
+        private const val PATH_THING = "/xmlapi2/thing"
+        private const val PATH_PLAYS = "/xmlapi2/plays"
+        private const val PATH_USER = "/xmlapi2/user"
+
+        @JvmStatic
+        @ParameterizedRobolectricTestRunner.Parameters(name = "{0} items")
+        fun itemCounts() = listOf(arrayOf<Any>(500), arrayOf<Any>(5000), arrayOf<Any>(20000))
+    }
+}
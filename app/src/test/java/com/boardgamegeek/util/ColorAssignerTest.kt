@@ -0,0 +1,115 @@
+package com.boardgamegeek.util
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Random
+
+class ColorAssignerTest {
+    private val colors = listOf("Red", "Blue", "Green")
+
+    @Test
+    fun assignsUniqueTopChoicesInColorOrder() {
+        val assigner = ColorAssigner(colors, Random(SEED))
+        assigner.addPlayer("Alice")
+        assigner.addPlayer("Bob")
+        assigner.addChoice("Alice", "Blue", 1)
+        assigner.addChoice("Bob", "Red", 1)
+
+        val assignments = assigner.assign()
+
+        assertEquals(listOf("Bob" to "Red", "Alice" to "Blue"), assignments.map { it.player to it.color })
+        assignments.forEach {
+            assertEquals("top choice", it.reason)
+            assertEquals(1, it.round)
+        }
+    }
+
+    @Test
+    fun givesContestedColorToThePlayerWhoPrefersItMost() {
+        val assigner = ColorAssigner(colors, Random(SEED))
+        assigner.addPlayer("Alice")
+        assigner.addPlayer("Bob")
+        assigner.addChoice("Alice", "Red", 1)
+        assigner.addChoice("Alice", "Blue", 2)
+        assigner.addChoice("Bob", "Red", 1)
+
+        val assignments = assigner.assign()
+
+        assertEquals(2, assignments.size)
+        assertEquals("Bob", assignments[0].player)
+        assertEquals("Red", assignments[0].color)
+        assertTrue(assignments[0].reason.startsWith("most preferred ("))
+        assertEquals(1, assignments[0].round)
+        assertEquals("Alice", assignments[1].player)
+        assertEquals("Blue", assignments[1].color)
+        assertEquals("top choice", assignments[1].reason)
+        assertEquals(2, assignments[1].round)
+    }
+
+    @Test
+    fun breaksTiesTheSameWayWithTheSameSeed() {
+        val first = assignTied(Random(SEED))
+        val second = assignTied(Random(SEED))
+
+        assertEquals(first.map { it.player to it.color }, second.map { it.player to it.color })
+        assertEquals("Red", first[0].color)
+        assertTrue(first[0].reason.startsWith("most preferred, but randomly chosen in a tie breaker"))
+        assertEquals("random", first[1].reason)
+        assertTrue(first[1].color in listOf("Blue", "Green"))
+    }
+
+    @Test
+    fun assignsRandomColorsWithoutChoices() {
+        val assigner = ColorAssigner(colors, Random(SEED))
+        assigner.addPlayer("Alice")
+        assigner.addPlayer("Bob")
+        assigner.addPlayer("Carol")
+
+        val assignments = assigner.assign()
+
+        assertEquals(setOf("Alice", "Bob", "Carol"), assignments.map { it.player }.toSet())
+        assertEquals(colors.toSet(), assignments.map { it.color }.toSet())
+        assignments.forEach { assertEquals("random", it.reason) }
+    }
+
+    @Test
+    fun ignoresDuplicatePlayersAndUnavailableColors() {
+        val assigner = ColorAssigner(colors, Random(SEED))
+        assertTrue(assigner.addPlayer("Alice"))
+        assertFalse(assigner.addPlayer("Alice"))
+        assigner.addChoice("Alice", "Purple", 1)
+        assigner.addChoice("Alice", null, 1)
+        assigner.addChoice("Bob", "Red", 1)
+        assigner.addChoice("Alice", "Green", 2)
+
+        val assignments = assigner.assign()
+
+        assertEquals(1, assignments.size)
+        assertEquals("Alice", assignments[0].player)
+        assertEquals("Green", assignments[0].color)
+        assertEquals("top choice", assignments[0].reason)
+    }
+
+    @Test(expected = IllegalStateException::class)
+    fun requiresAColorForEachPlayer() {
+        val assigner = ColorAssigner(listOf("Red"), Random(SEED))
+        assigner.addPlayer("Alice")
+        assigner.addPlayer("Bob")
+        assigner.assign()
+    }
+
+    private fun assignTied(random: Random): List<ColorAssigner.Assignment> {
+        val assigner = ColorAssigner(colors, random)
+        assigner.addPlayer("Alice")
+        assigner.addPlayer("Bob")
+        assigner.addChoice("Alice", "Red", 1)
+        assigner.addChoice("Bob", "Red", 1)
+        return assigner.assign()
+    }
+
+    companion object {
+        private const val SEED = 42L
+    }
+}